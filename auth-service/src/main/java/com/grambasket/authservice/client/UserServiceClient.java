@@ -1,5 +1,7 @@
 package com.grambasket.authservice.client;
 
+import com.grambasket.authservice.dto.BatchCreateUserRequest;
+import com.grambasket.authservice.dto.BatchCreateUserResponse;
 import com.grambasket.authservice.dto.InternalCreateUserRequest;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -8,4 +10,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 public interface UserServiceClient {
     @PostMapping("/api/user-service/users/internal/create")
     void createUserProfile(@RequestBody InternalCreateUserRequest request);
-}
\ No newline at end of file
+
+    @PostMapping("/api/user-service/users/internal/create/batch")
+    BatchCreateUserResponse createUserProfiles(@RequestBody BatchCreateUserRequest request);
+}
@@ -0,0 +1,27 @@
+package com.grambasket.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "auth.security")
+@Data
+public class AuthSecurityProperties {
+
+    /**
+     * When enabled, the authenticated principal is built from the verified access-token claims and a cached
+     * user-state snapshot instead of loading the full user document on every request.
+     */
+    private boolean statelessPrincipal = false;
+
+    private UserStateCache userStateCache = new UserStateCache();
+
+    @Data
+    public static class UserStateCache {
+        private Duration ttl = Duration.ofMinutes(5);
+        private long maxSize = 10_000;
+    }
+}
@@ -11,4 +11,11 @@ public class JwtProperties {
     private long expiration;
     private long refreshExpiration;
     private String issuer;
-}
\ No newline at end of file
+    private VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache();
+
+    @Data
+    public static class VerifiedTokenCache {
+        private boolean enabled = true;
+        private long maxSize = 10_000;
+    }
+}
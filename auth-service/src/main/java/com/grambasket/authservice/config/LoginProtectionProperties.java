@@ -0,0 +1,45 @@
+package com.grambasket.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "auth.login-protection")
+@Data
+public class LoginProtectionProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Length of the sliding window over which failed logins are counted.
+     */
+    private Duration window = Duration.ofMinutes(15);
+
+    private int maxFailuresPerEmail = 10;
+
+    private int maxFailuresPerIp = 100;
+
+    /**
+     * Counters per sketch row; memory per tracked dimension is {@code 2 * width * depth * 4} bytes.
+     */
+    private int sketchWidth = 16_384;
+
+    private int sketchDepth = 4;
+
+    /**
+     * Take the client address from the X-Forwarded-For entry appended by gateway-service. Only honoured when the
+     * immediate peer is one of {@link #trustedProxies}; any other caller could pick its own rate-limit key.
+     */
+    private boolean trustForwardedFor = true;
+
+    /**
+     * Addresses or CIDR ranges of the gateway instances, e.g. {@code 10.0.0.0/16}. They may set X-Forwarded-For
+     * and are never rate-limited by their own address. Defaults to a gateway on the same host.
+     */
+    private List<String> trustedProxies = new ArrayList<>(List.of("127.0.0.1/32", "::1/128"));
+}
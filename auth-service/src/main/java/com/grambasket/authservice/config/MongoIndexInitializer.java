@@ -0,0 +1,50 @@
+package com.grambasket.authservice.config;
+
+import com.grambasket.authservice.model.OutboxEvent;
+import com.grambasket.authservice.model.RefreshTokenFamily;
+import com.grambasket.authservice.model.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the indexes declared on the auth documents at startup, since Spring Boot no longer enables
+ * automatic index creation. The unique email index, the outbox polling index and the TTL index that
+ * expires refresh-token families all depend on it.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.mongo.ensure-indexes", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexInitializer {
+
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(User.class, OutboxEvent.class, RefreshTokenFamily.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        MongoPersistentEntityIndexResolver resolver =
+                new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> document : INDEXED_DOCUMENTS) {
+            IndexOperations indexOperations = mongoTemplate.indexOps(document);
+            try {
+                resolver.resolveIndexFor(document).forEach(indexOperations::createIndex);
+                log.info("Ensured indexes for collection '{}'.", mongoTemplate.getCollectionName(document));
+            } catch (DataAccessException e) {
+                log.error("Could not ensure indexes for collection '{}': {}",
+                        mongoTemplate.getCollectionName(document), e.getMessage());
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.grambasket.authservice.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+
+/**
+ * Makes {@code @Transactional} and the auto-configured {@code TransactionTemplate} run real MongoDB transactions,
+ * so a user and the outbox event recording its profile creation are written together or not at all.
+ * Transactions need a replica set, so the default connection string names {@code replicaSet=rs0}; the
+ * repository's docker-compose.yml starts a matching single-node one for local development.
+ */
+@Configuration
+public class MongoTransactionConfig {
+
+    @Bean
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory mongoDatabaseFactory) {
+        return new MongoTransactionManager(mongoDatabaseFactory);
+    }
+}
@@ -0,0 +1,31 @@
+package com.grambasket.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "auth.outbox")
+@Data
+public class OutboxProperties {
+
+    private boolean relayEnabled = true;
+
+    /**
+     * Events claimed per relay run and sent to user-service in one bulk create call (at most 500).
+     */
+    private int batchSize = 50;
+
+    /**
+     * How long a claimed event stays invisible to other relay instances before it may be retried.
+     */
+    private Duration lease = Duration.ofSeconds(30);
+
+    private int maxAttempts = 10;
+
+    private Duration initialBackoff = Duration.ofSeconds(2);
+
+    private Duration maxBackoff = Duration.ofMinutes(5);
+}
@@ -0,0 +1,41 @@
+package com.grambasket.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "auth.password-hashing")
+@Data
+public class PasswordHashingProperties {
+
+    /**
+     * Threads dedicated to password hashing. Defaults to the number of available processors.
+     */
+    private int poolSize = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Hash requests allowed to wait for a free thread before new ones are rejected with 503.
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * Longest a request thread waits for its hash before giving up with 503.
+     */
+    private Duration timeout = Duration.ofSeconds(5);
+
+    /**
+     * Value of the Retry-After header sent when the pool is saturated.
+     */
+    private Duration retryAfter = Duration.ofSeconds(2);
+
+    /**
+     * Encoder used for new hashes: bcrypt, pbkdf2 or argon2 (argon2 requires BouncyCastle on the classpath).
+     * Stored hashes using another encoder or a weaker bcrypt strength are re-hashed on the next successful login.
+     */
+    private String encoderId = "bcrypt";
+
+    private int bcryptStrength = 10;
+}
@@ -0,0 +1,23 @@
+package com.grambasket.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "auth.refresh-tokens")
+@Data
+public class RefreshTokenProperties {
+
+    /**
+     * Periodically pull families revoked by other auth-service instances into the local revocation filter.
+     */
+    private boolean revocationSyncEnabled = true;
+
+    /**
+     * Sizing of the revocation Bloom filter; beyond this many live revocations the false-positive rate grows.
+     */
+    private int expectedRevocations = 100_000;
+
+    private double falsePositiveRate = 0.01;
+}
@@ -3,7 +3,9 @@ package com.grambasket.authservice.controller;
 import com.grambasket.authservice.dto.AuthResponse;
 import com.grambasket.authservice.dto.LoginRequest;
 import com.grambasket.authservice.dto.RegisterRequest;
+import com.grambasket.authservice.security.LoginAttemptLimiter;
 import com.grambasket.authservice.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +15,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.Duration;
@@ -25,6 +28,7 @@ import java.util.Map;
 public class AuthController {
 
     private final AuthService authService;
+    private final LoginAttemptLimiter loginAttemptLimiter;
 
     @Value("${app.security.cookie.secure:true}")
     private boolean useSecureCookie;
@@ -38,9 +42,22 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request, HttpServletResponse response) {
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest, HttpServletResponse response) {
         log.info("Processing login attempt for email: {}", request.getEmail());
-        AuthResponse fullAuthResponse = authService.login(request);
+        String clientIp = loginAttemptLimiter.resolveClientIp(httpRequest);
+        LoginAttemptLimiter.Attempt attempt = loginAttemptLimiter.reserve(request.getEmail(), clientIp);
+
+        AuthResponse fullAuthResponse;
+        try {
+            fullAuthResponse = authService.login(request);
+        } catch (BadCredentialsException e) {
+            // The reserved attempt stays counted as a failed login.
+            throw e;
+        } catch (RuntimeException e) {
+            attempt.release();
+            throw e;
+        }
+        attempt.release();
         log.info("User with email {} logged in successfully.", request.getEmail());
         return buildClientResponse(fullAuthResponse, response, HttpStatus.OK);
     }
@@ -57,8 +74,12 @@ public class AuthController {
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<Map<String, String>> logout(HttpServletResponse response) {
+    public ResponseEntity<Map<String, String>> logout(
+            @CookieValue(name = "gmbasket-refresh-token", required = false) String refreshToken,
+            HttpServletResponse response
+    ) {
         log.info("Processing logout request.");
+        authService.logout(refreshToken);
         clearRefreshTokenCookie(response);
         log.info("User logged out successfully.");
         return ResponseEntity.ok(Map.of("message", "User has been logged out successfully."));
@@ -0,0 +1,10 @@
+package com.grambasket.authservice.dto;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class BatchCreateUserRequest {
+    List<InternalCreateUserRequest> users;
+}
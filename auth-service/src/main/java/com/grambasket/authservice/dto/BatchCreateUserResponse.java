@@ -0,0 +1,30 @@
+package com.grambasket.authservice.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class BatchCreateUserResponse {
+    private List<ItemResult> results = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    public static class ItemResult {
+        private String authId;
+        private String status;
+        private String conflictingKey;
+        private String error;
+
+        /**
+         * A profile exists for this authId. A duplicate email alone means another profile holds the address,
+         * so the item was not delivered.
+         */
+        public boolean isPersisted() {
+            return "CREATED".equals(status) || ("ALREADY_EXISTS".equals(status) && "AUTH_ID".equals(conflictingKey));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.grambasket.authservice.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -25,6 +26,23 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(clientMessage, HttpStatus.SERVICE_UNAVAILABLE, request);
     }
 
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingUnavailable(PasswordHashingUnavailableException ex, HttpServletRequest request) {
+        log.warn("Password hashing capacity exhausted for path: {}", request.getRequestURI());
+        ResponseEntity<ErrorResponse> response = buildErrorResponse(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE, request);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(response.getBody());
+    }
+
+    @ExceptionHandler(TooManyLoginAttemptsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyLoginAttempts(TooManyLoginAttemptsException ex, HttpServletRequest request) {
+        ResponseEntity<ErrorResponse> response = buildErrorResponse(ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS, request);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(response.getBody());
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ErrorResponse> handleAccessDenied(AccessDeniedException ex, HttpServletRequest request) {
         log.warn("Access Denied: {} for path: {}", ex.getMessage(), request.getRequestURI());
@@ -0,0 +1,22 @@
+package com.grambasket.authservice.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+
+/**
+ * Thrown when the dedicated password-hashing pool is saturated and a hash cannot be computed in time.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+@Getter
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public PasswordHashingUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,22 @@
+package com.grambasket.authservice.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+
+/**
+ * Thrown when an email address or client IP exceeded the allowed number of failed logins.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+@Getter
+public class TooManyLoginAttemptsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyLoginAttemptsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,62 @@
+package com.grambasket.authservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A side effect recorded in the auth database next to the change that caused it and delivered later by
+ * the outbox relay. The id is derived from the event type and aggregate, so each side effect is recorded
+ * at most once.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "outbox_events")
+@CompoundIndex(name = "status_next_attempt", def = "{'status': 1, 'nextAttemptAt': 1}")
+public class OutboxEvent {
+
+    @Id
+    private String id;
+
+    private OutboxEventType type;
+
+    private String aggregateId;
+
+    private String email;
+
+    @Builder.Default
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    private int attempts;
+
+    private Instant nextAttemptAt;
+
+    private Instant lockedUntil;
+
+    // Set by each claim; outcomes recorded on behalf of a claim only apply while it still holds the event.
+    private String claimId;
+
+    private String lastError;
+
+    private Instant createdAt;
+
+    public static OutboxEvent profileCreation(User user) {
+        Instant now = Instant.now();
+        return OutboxEvent.builder()
+                .id(OutboxEventType.PROFILE_CREATION.name() + ":" + user.getId())
+                .type(OutboxEventType.PROFILE_CREATION)
+                .aggregateId(user.getId())
+                .email(user.getEmail())
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,5 @@
+package com.grambasket.authservice.model;
+
+public enum OutboxEventType {
+    PROFILE_CREATION
+}
@@ -0,0 +1,7 @@
+package com.grambasket.authservice.model;
+
+public enum OutboxStatus {
+    PENDING,
+    IN_FLIGHT,
+    FAILED
+}
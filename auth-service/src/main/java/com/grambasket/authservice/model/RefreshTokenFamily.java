@@ -0,0 +1,47 @@
+package com.grambasket.authservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * The chain of refresh tokens issued from a single login. Only the token whose jti matches
+ * {@code currentJti} may be exchanged; presenting an older token of the family means it was stolen or
+ * replayed, and the whole family is revoked.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "refresh_token_families")
+public class RefreshTokenFamily {
+
+    @Id
+    private String id;
+
+    @Indexed
+    private String userId;
+
+    private String currentJti;
+
+    private boolean revoked;
+
+    @Indexed(sparse = true)
+    private Instant revokedAt;
+
+    private String revocationReason;
+
+    private Instant createdAt;
+
+    private Instant rotatedAt;
+
+    // Families are useless once their newest refresh token has expired; Mongo removes them after that.
+    @Indexed(expireAfter = "0s")
+    private Instant expiresAt;
+}
@@ -33,6 +33,9 @@ public class User implements UserDetails {
     @Builder.Default
     private Set<Role> roles = Set.of(Role.USER);
 
+    // Bumped on every role change so access tokens carrying an older version can be rejected.
+    private long rolesVersion;
+
     @Builder.Default
     private boolean accountNonExpired = true;
     @Builder.Default
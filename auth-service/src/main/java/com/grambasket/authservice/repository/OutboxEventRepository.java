@@ -0,0 +1,7 @@
+package com.grambasket.authservice.repository;
+
+import com.grambasket.authservice.model.OutboxEvent;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface OutboxEventRepository extends MongoRepository<OutboxEvent, String> {
+}
@@ -0,0 +1,7 @@
+package com.grambasket.authservice.repository;
+
+import com.grambasket.authservice.model.RefreshTokenFamily;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface RefreshTokenFamilyRepository extends MongoRepository<RefreshTokenFamily, String> {
+}
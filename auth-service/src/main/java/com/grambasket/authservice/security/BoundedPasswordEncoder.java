@@ -0,0 +1,157 @@
+package com.grambasket.authservice.security;
+
+import com.grambasket.authservice.config.PasswordHashingProperties;
+import com.grambasket.authservice.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.util.ClassUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs password hashing on a dedicated, size-bounded pool so that login and registration storms cannot
+ * starve the servlet container's request threads. When both the pool and its queue are full, callers fail
+ * fast with {@link PasswordHashingUnavailableException}, which is rendered as 503 with Retry-After.
+ * <p>
+ * Hashes are produced by a {@link DelegatingPasswordEncoder}, so {@link #upgradeEncoding(String)} reports
+ * hashes created with another algorithm or a weaker bcrypt strength and Spring Security re-hashes them on login.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final String ARGON2_ENGINE = "org.bouncycastle.crypto.generators.Argon2BytesGenerator";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final PasswordHashingProperties properties;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    public BoundedPasswordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.delegate = createDelegate(properties);
+        this.executor = new ThreadPoolExecutor(
+                properties.getPoolSize(),
+                properties.getPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.encodeTimer = Timer.builder("auth.password.hash.duration")
+                .description("Time spent computing password hashes")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hash.duration")
+                .description("Time spent computing password hashes")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.hash.rejected")
+                .description("Hash requests rejected because the hashing pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.queue.depth", executor, e -> e.getQueue().size())
+                .description("Hash requests waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashing threads currently busy")
+                .register(meterRegistry);
+
+        log.info("Password hashing pool initialised with {} threads, queue capacity {} and encoder '{}'.",
+                properties.getPoolSize(), properties.getQueueCapacity(), properties.getEncoderId());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> encodeTimer.recordCallable(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> matchesTimer.recordCallable(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Password hashing pool saturated ({} queued). Rejecting request.", executor.getQueue().size());
+            throw unavailable();
+        }
+
+        try {
+            return future.get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            log.warn("Password hash did not complete within {}. Rejecting request.", properties.getTimeout());
+            throw unavailable();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw unavailable();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private PasswordHashingUnavailableException unavailable() {
+        return new PasswordHashingUnavailableException(
+                "The service is handling too many sign-in requests. Please try again shortly.",
+                properties.getRetryAfter()
+        );
+    }
+
+    private static PasswordEncoder createDelegate(PasswordHashingProperties properties) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(properties.getBcryptStrength());
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (ClassUtils.isPresent(ARGON2_ENGINE, BoundedPasswordEncoder.class.getClassLoader())) {
+            encoders.put("argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        }
+        if (!encoders.containsKey(properties.getEncoderId())) {
+            throw new IllegalStateException("Unsupported or unavailable password encoder: " + properties.getEncoderId());
+        }
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(properties.getEncoderId(), encoders);
+        // Hashes stored before encoder ids were introduced are plain bcrypt without a "{bcrypt}" prefix.
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+}
@@ -1,6 +1,9 @@
 package com.grambasket.authservice.security;
 
+import com.grambasket.authservice.config.AuthSecurityProperties;
 import com.grambasket.authservice.repository.UserRepository;
+import com.grambasket.identity.TrustedIdentity;
+import com.grambasket.identity.TrustedIdentityVerifier;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,6 +12,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -16,6 +21,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
@@ -27,6 +34,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserRepository userRepository;
+    private final UserStateCache userStateCache;
+    private final AuthSecurityProperties securityProperties;
+    private final TrustedIdentityVerifier trustedIdentityVerifier;
 
     @Override
     protected void doFilterInternal(
@@ -37,6 +47,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader(AUTH_HEADER);
 
+        if (authHeader == null && trustedIdentityVerifier.isEnabled()) {
+            trustedIdentityVerifier.resolve(request::getHeader).ifPresent(identity -> authenticateFromIdentityHeaders(identity, request));
+        }
+
         if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
             log.trace("No JWT token found for request to '{}'. Proceeding with filter chain.", request.getRequestURI());
             filterChain.doFilter(request, response);
@@ -45,30 +59,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             final String jwt = authHeader.substring(BEARER_PREFIX.length());
-            final String userId = jwtService.extractUsername(jwt);
-
-            if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                log.debug("JWT token found for user ID: {}. Attempting to authenticate.", userId);
-
-                UserDetails userDetails = this.userRepository.findById(userId)
-                        .orElse(null);
-
-                if (userDetails == null) {
-                    log.warn("User with ID '{}' from token not found in the database.", userId);
-                } else if (jwtService.isTokenValid(jwt, userDetails)) {
-                    log.info("Token is valid for user ID: {}. Setting security context.", userId);
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
-                    authToken.setDetails(
-                            new WebAuthenticationDetailsSource().buildDetails(request)
-                    );
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+            final ParsedToken parsedToken = jwtService.parseToken(jwt).orElse(null);
+
+            if (parsedToken == null) {
+                // The JwtService already logs the specific reason for invalidity (e.g., expired)
+                log.warn("Token validation failed for request to '{}'.", request.getRequestURI());
+            } else if (parsedToken.getSubject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                if (securityProperties.isStatelessPrincipal()) {
+                    authenticateFromClaims(parsedToken, request);
                 } else {
-                    // The JwtService already logs the specific reason for invalidity (e.g., expired)
-                    log.warn("Token validation failed for user ID: {}.", userId);
+                    authenticateFromDatabase(parsedToken.getSubject(), request);
                 }
             }
         } catch (Exception e) {
@@ -79,4 +79,62 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private void authenticateFromDatabase(String userId, HttpServletRequest request) {
+        log.debug("JWT token found for user ID: {}. Attempting to authenticate.", userId);
+
+        UserDetails userDetails = this.userRepository.findById(userId)
+                .orElse(null);
+
+        if (userDetails == null) {
+            log.warn("User with ID '{}' from token not found in the database.", userId);
+            return;
+        }
+        log.info("Token is valid for user ID: {}. Setting security context.", userId);
+        setAuthentication(userDetails, userDetails.getAuthorities(), request);
+    }
+
+    private void authenticateFromClaims(ParsedToken parsedToken, HttpServletRequest request) {
+        String userId = parsedToken.getSubject();
+        log.debug("JWT token found for user ID: {}. Building principal from token claims.", userId);
+
+        UserState userState = userStateCache.get(userId);
+        if (!userState.accepts(parsedToken)) {
+            log.warn("Token for user ID '{}' rejected: account missing, disabled, locked or roles changed since issuance.", userId);
+            return;
+        }
+        log.info("Token is valid for user ID: {}. Setting security context.", userId);
+        List<SimpleGrantedAuthority> authorities = parsedToken.getRoles().stream()
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+        setAuthentication(userId, authorities, request);
+    }
+
+    private void authenticateFromIdentityHeaders(TrustedIdentity identity, HttpServletRequest request) {
+        String userId = identity.getUserId();
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            return;
+        }
+        if (!userStateCache.get(userId).accepts(identity.getRolesVersion())) {
+            log.warn("Gateway identity for user ID '{}' rejected: account missing, disabled, locked or roles changed since issuance.", userId);
+            return;
+        }
+        log.debug("Authenticated user ID: {} from gateway identity headers.", userId);
+        List<SimpleGrantedAuthority> authorities = identity.getRoles().stream()
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+        setAuthentication(userId, authorities, request);
+    }
+
+    private void setAuthentication(Object principal, Collection<? extends GrantedAuthority> authorities, HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                authorities
+        );
+        authToken.setDetails(
+                new WebAuthenticationDetailsSource().buildDetails(request)
+        );
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
+}
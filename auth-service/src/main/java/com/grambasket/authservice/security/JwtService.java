@@ -1,5 +1,8 @@
 package com.grambasket.authservice.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.grambasket.authservice.config.JwtProperties;
 import com.grambasket.authservice.model.User;
 import io.jsonwebtoken.*;
@@ -14,9 +17,16 @@ import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -25,6 +35,10 @@ import java.util.stream.Collectors;
 @Slf4j
 public class JwtService {
 
+    private static final String ROLES_CLAIM = "roles";
+    private static final String ROLES_VERSION_CLAIM = "rv";
+    private static final String FAMILY_CLAIM = "fam";
+
     @Value("${spring.security.oauth2.resourceserver.jwt.secret-key}")
     private String jwtSecret;
 
@@ -32,6 +46,11 @@ public class JwtService {
 
     private Key signInKey;
 
+    private JwtParser jwtParser;
+
+    // Keyed by a SHA-256 digest of the compact token; entries expire together with the token itself.
+    private Cache<String, ParsedToken> verifiedTokenCache;
+
     @PostConstruct
     public void init() {
         byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
@@ -39,11 +58,54 @@ public class JwtService {
             throw new IllegalArgumentException("Secret key must be at least 64 bytes for HS512");
         }
         this.signInKey = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
+
+        JwtProperties.VerifiedTokenCache cacheProperties = jwtProperties.getVerifiedTokenCache();
+        if (cacheProperties.isEnabled()) {
+            this.verifiedTokenCache = Caffeine.newBuilder()
+                    .maximumSize(cacheProperties.getMaxSize())
+                    .expireAfter(new TokenExpiry())
+                    .build();
+            log.info("Verified-token cache enabled with a maximum of {} entries.", cacheProperties.getMaxSize());
+        }
         log.info("JWT signing key initialized for use with HS512 algorithm.");
     }
 
+    /**
+     * Verifies the signature and expiry of the given token exactly once and returns its claims.
+     * Tokens that were verified before are served from the verified-token cache until they expire.
+     *
+     * @return the parsed token, or empty if the token is malformed, tampered with or expired
+     */
+    public Optional<ParsedToken> parseToken(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        if (verifiedTokenCache == null) {
+            return Optional.ofNullable(verify(token));
+        }
+
+        String cacheKey = digest(token);
+        ParsedToken cached = verifiedTokenCache.getIfPresent(cacheKey);
+        if (cached != null) {
+            if (!cached.isExpired(Instant.now())) {
+                return Optional.of(cached);
+            }
+            verifiedTokenCache.invalidate(cacheKey);
+            return Optional.empty();
+        }
+
+        ParsedToken parsed = verify(token);
+        if (parsed != null) {
+            verifiedTokenCache.put(cacheKey, parsed);
+        }
+        return Optional.ofNullable(parsed);
+    }
+
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return parseToken(token).map(ParsedToken::getSubject).orElse(null);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -52,23 +114,33 @@ public class JwtService {
     }
 
     public String generateAccessToken(UserDetails userDetails) {
-        String subject = ((User) userDetails).getId();
         List<String> roles = userDetails.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toList());
 
-        Map<String, Object> claims = Map.of("roles", roles);
+        Map<String, Object> claims = Map.of(
+                ROLES_CLAIM, roles,
+                ROLES_VERSION_CLAIM, ((User) userDetails).getRolesVersion()
+        );
         return buildToken(claims, userDetails, jwtProperties.getExpiration());
     }
 
-    public String generateRefreshToken(UserDetails userDetails) {
-        return buildToken(Map.of(), userDetails, jwtProperties.getRefreshExpiration());
+    /**
+     * Issues a refresh token that belongs to the given rotation family and carries {@code tokenId} as its jti.
+     */
+    public String generateRefreshToken(UserDetails userDetails, String familyId, String tokenId) {
+        return buildToken(Map.of(FAMILY_CLAIM, familyId), userDetails, jwtProperties.getRefreshExpiration(), tokenId);
     }
 
     private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration) {
+        return buildToken(extraClaims, userDetails, expiration, null);
+    }
+
+    private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration, String tokenId) {
         String subject = ((User) userDetails).getId();
         return Jwts.builder()
                 .setClaims(extraClaims)
+                .setId(tokenId)
                 .setSubject(subject)
                 .setIssuer(jwtProperties.getIssuer())
                 .setIssuedAt(new Date())
@@ -78,34 +150,81 @@ public class JwtService {
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        try {
-            String subject = extractUsername(token);
-            return subject != null && subject.equals(((User) userDetails).getId()) && !isTokenExpired(token);
-        } catch (Exception e) {
-            log.warn("Token validation failed: {}", e.getMessage());
-            return false;
-        }
+        return parseToken(token)
+                .map(parsed -> parsed.getSubject() != null && parsed.getSubject().equals(((User) userDetails).getId()))
+                .orElse(false);
     }
 
-    private boolean isTokenExpired(String token) {
-        Date expiration = extractExpiration(token);
-        return expiration != null && expiration.before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private ParsedToken verify(String token) {
+        Claims claims = extractAllClaims(token);
+        if (claims == null) {
+            return null;
+        }
+        return ParsedToken.builder()
+                .subject(claims.getSubject())
+                .tokenId(claims.getId())
+                .familyId(claims.get(FAMILY_CLAIM, String.class))
+                .roles(extractRoles(claims))
+                .rolesVersion(extractRolesVersion(claims))
+                .issuer(claims.getIssuer())
+                .issuedAt(toInstant(claims.getIssuedAt()))
+                .expiresAt(toInstant(claims.getExpiration()))
+                .build();
     }
 
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(signInKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (JwtException | IllegalArgumentException e) {
             log.error("Error extracting JWT claims: {}", e.getMessage());
             return null;
         }
     }
+
+    private static List<String> extractRoles(Claims claims) {
+        Object roles = claims.get(ROLES_CLAIM);
+        if (!(roles instanceof Collection<?> values)) {
+            return List.of();
+        }
+        return values.stream().map(String::valueOf).toList();
+    }
+
+    private static long extractRolesVersion(Claims claims) {
+        Object version = claims.get(ROLES_VERSION_CLAIM);
+        return version instanceof Number number ? number.longValue() : 0L;
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available in this JVM", e);
+        }
+    }
+
+    private static final class TokenExpiry implements Expiry<String, ParsedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, ParsedToken value, long currentTime) {
+            if (value.getExpiresAt() == null) {
+                return 0;
+            }
+            return Math.max(0, Duration.between(Instant.now(), value.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, ParsedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, ParsedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,156 @@
+package com.grambasket.authservice.security;
+
+import com.grambasket.authservice.config.LoginProtectionProperties;
+import com.grambasket.authservice.exception.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Credential-stuffing shield for the login endpoint. Failed logins are counted per email and per client IP
+ * in fixed-memory {@link SlidingWindowSketch}es, and attempts over either limit are rejected before any
+ * database lookup or password hashing takes place. Each attempt is counted before it is compared with the
+ * limits and only taken back once it did not fail, so concurrent attempts cannot slip past a limit together.
+ * <p>
+ * Requests relayed by a trusted proxy are keyed on the client address it forwards; a proxy's own address is
+ * never used as a per-IP key, as it is shared by every client behind it.
+ */
+@Component
+@Slf4j
+public class LoginAttemptLimiter {
+
+    private static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    private final LoginProtectionProperties properties;
+    private final SlidingWindowSketch failuresByEmail;
+    private final SlidingWindowSketch failuresByIp;
+    private final Counter blockedCounter;
+    private final List<IpAddressMatcher> trustedProxies;
+
+    public LoginAttemptLimiter(LoginProtectionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.failuresByEmail = new SlidingWindowSketch(properties.getSketchWidth(), properties.getSketchDepth(), properties.getWindow());
+        this.failuresByIp = new SlidingWindowSketch(properties.getSketchWidth(), properties.getSketchDepth(), properties.getWindow());
+        this.blockedCounter = Counter.builder("auth.login.blocked")
+                .description("Login attempts rejected by the credential-stuffing shield")
+                .register(meterRegistry);
+        this.trustedProxies = properties.getTrustedProxies().stream().map(IpAddressMatcher::new).toList();
+        if (properties.isTrustForwardedFor() && trustedProxies.isEmpty()) {
+            log.warn("auth.login-protection.trust-forwarded-for is set without trusted-proxies; X-Forwarded-For will be ignored.");
+        } else if (!properties.isTrustForwardedFor() && !trustedProxies.isEmpty()) {
+            log.warn("auth.login-protection.trusted-proxies are set but trust-forwarded-for is off; logins through them are only limited per email.");
+        }
+    }
+
+    /**
+     * Counts a login attempt as failed unless it is released, rejecting it if that takes the email or the client
+     * IP over its limit. Release the returned attempt when the login did not fail on the credentials.
+     */
+    public Attempt reserve(String email, String clientIp) {
+        if (!properties.isEnabled()) {
+            return Attempt.NONE;
+        }
+        Attempt attempt = new Attempt(failuresByEmail, failuresByEmail.incrementAndEstimate(normalize(email)),
+                failuresByIp, clientIp == null ? null : failuresByIp.incrementAndEstimate(clientIp));
+        if (attempt.byEmail.estimate() > properties.getMaxFailuresPerEmail()) {
+            attempt.release();
+            reject("Too many failed login attempts for this account. Please try again later.", "email", email);
+        }
+        if (attempt.byIp != null && attempt.byIp.estimate() > properties.getMaxFailuresPerIp()) {
+            attempt.release();
+            reject("Too many failed login attempts from this address. Please try again later.", "ip", clientIp);
+        }
+        return attempt;
+    }
+
+    /**
+     * Returns the address to rate-limit on, or {@code null} when the request came from a trusted proxy that did
+     * not say which client it relays.
+     */
+    public String resolveClientIp(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (!isTrustedProxy(remoteAddr)) {
+            return remoteAddr;
+        }
+        String forwardedFor = properties.isTrustForwardedFor() ? request.getHeader(FORWARDED_FOR_HEADER) : null;
+        if (forwardedFor != null) {
+            // Each proxy appends the address it saw, so walk back past our own proxies; anything before is client-controlled.
+            String[] hops = forwardedFor.split(",");
+            for (int i = hops.length - 1; i >= 0; i--) {
+                String hop = hops[i].trim();
+                if (!hop.isEmpty() && !isTrustedProxy(hop)) {
+                    return hop;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        for (IpAddressMatcher proxy : trustedProxies) {
+            try {
+                if (proxy.matches(address)) {
+                    return true;
+                }
+            } catch (IllegalArgumentException e) {
+                // Not an IP address, e.g. a garbled X-Forwarded-For entry.
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private void reject(String message, String dimension, String key) {
+        blockedCounter.increment();
+        log.warn("Login blocked by credential-stuffing shield ({} limit) for: {}", dimension, key);
+        throw new TooManyLoginAttemptsException(message, properties.getWindow());
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A login attempt counted against the limits by {@link #reserve}.
+     */
+    public static final class Attempt {
+
+        static final Attempt NONE = new Attempt(null, null, null, null);
+
+        private final SlidingWindowSketch emailSketch;
+        private final SlidingWindowSketch.Increment byEmail;
+        private final SlidingWindowSketch ipSketch;
+        private final SlidingWindowSketch.Increment byIp;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Attempt(SlidingWindowSketch emailSketch, SlidingWindowSketch.Increment byEmail,
+                        SlidingWindowSketch ipSketch, SlidingWindowSketch.Increment byIp) {
+            this.emailSketch = emailSketch;
+            this.byEmail = byEmail;
+            this.ipSketch = ipSketch;
+            this.byIp = byIp;
+        }
+
+        /**
+         * Takes the attempt back out of the failure counts.
+         */
+        public void release() {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            if (byEmail != null) {
+                emailSketch.decrement(byEmail);
+            }
+            if (byIp != null) {
+                ipSketch.decrement(byIp);
+            }
+        }
+    }
+}
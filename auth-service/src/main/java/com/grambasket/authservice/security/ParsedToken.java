@@ -0,0 +1,28 @@
+package com.grambasket.authservice.security;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable view of a JWT whose signature and expiry have already been verified.
+ */
+@Value
+@Builder
+public class ParsedToken {
+    String subject;
+    String tokenId;
+    // Refresh-token family; only present on refresh tokens.
+    String familyId;
+    List<String> roles;
+    long rolesVersion;
+    String issuer;
+    Instant issuedAt;
+    Instant expiresAt;
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+}
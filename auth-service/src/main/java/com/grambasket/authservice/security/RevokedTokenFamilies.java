@@ -0,0 +1,57 @@
+package com.grambasket.authservice.security;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * In-memory set of revoked refresh-token families. Lookups first consult a Bloom filter, so the common case
+ * of a family that was never revoked is answered without touching the exact set; filter hits are confirmed
+ * against the exact set, which remembers each family until its last refresh token expires.
+ * <p>
+ * {@link #prune(Instant)} drops expired families and rebuilds the Bloom filter from the survivors, since
+ * Bloom filters cannot forget keys.
+ */
+public class RevokedTokenFamilies {
+
+    private final Supplier<BloomFilter> filterFactory;
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    public RevokedTokenFamilies(int expectedRevocations, double falsePositiveRate) {
+        this.filterFactory = () -> new BloomFilter(expectedRevocations, falsePositiveRate);
+        this.filter = filterFactory.get();
+    }
+
+    public void revoke(String familyId, Instant expiresAt) {
+        revoked.merge(familyId, expiresAt, (existing, added) -> existing.isAfter(added) ? existing : added);
+        filter.add(familyId);
+    }
+
+    public boolean isRevoked(String familyId, Instant now) {
+        if (!filter.mightContain(familyId)) {
+            return false;
+        }
+        Instant expiresAt = revoked.get(familyId);
+        return expiresAt != null && expiresAt.isAfter(now);
+    }
+
+    public int prune(Instant now) {
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        if (revoked.size() == before) {
+            return 0;
+        }
+        BloomFilter rebuilt = filterFactory.get();
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+        // A revocation racing with the rebuild may have gone to the old filter only; re-add it.
+        revoked.keySet().forEach(rebuilt::add);
+        return before - revoked.size();
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+}
@@ -0,0 +1,177 @@
+package com.grambasket.authservice.security;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Approximate per-key event counter over a sliding time window, in fixed memory regardless of the number
+ * of distinct keys. Two Count-Min sketches hold the current and the previous window; the previous window's
+ * count decays linearly as the current one progresses, which approximates a true sliding window.
+ * <p>
+ * Like any Count-Min sketch, estimates never undercount but may overcount on hash collisions; size
+ * {@code width} so that collisions stay rare for the expected number of keys per window.
+ */
+public class SlidingWindowSketch {
+
+    private final int width;
+    private final int depth;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+    private final long seed = ThreadLocalRandom.current().nextLong();
+
+    private volatile Window current;
+    private volatile Window previous;
+
+    public SlidingWindowSketch(int width, int depth, Duration window, LongSupplier nanoClock) {
+        if (width <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("Sketch width and depth must be positive");
+        }
+        this.width = width;
+        this.depth = depth;
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+        long now = nanoClock.getAsLong();
+        this.current = new Window(now, width * depth);
+        this.previous = new Window(now - windowNanos, width * depth);
+    }
+
+    public SlidingWindowSketch(int width, int depth, Duration window) {
+        this(width, depth, window, System::nanoTime);
+    }
+
+    public void increment(String key) {
+        long now = nanoClock.getAsLong();
+        Window window = windowAt(now);
+        long hash = hash(key);
+        for (int row = 0; row < depth; row++) {
+            window.counters.incrementAndGet(index(hash, row));
+        }
+    }
+
+    /**
+     * Counts an event for {@code key} and returns the estimate including it. Concurrent callers each see their own
+     * event, so a limit cannot be overrun the way a separate estimate followed by an increment can.
+     */
+    public Increment incrementAndEstimate(String key) {
+        long now = nanoClock.getAsLong();
+        Window window = windowAt(now);
+        Window before = previous;
+        long hash = hash(key);
+
+        int currentCount = Integer.MAX_VALUE;
+        int previousCount = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = index(hash, row);
+            currentCount = Math.min(currentCount, window.counters.incrementAndGet(index));
+            previousCount = Math.min(previousCount, before.counters.get(index));
+        }
+        return new Increment(window, hash, weighted(now, window, currentCount, previousCount));
+    }
+
+    /**
+     * Takes back an event counted by {@link #incrementAndEstimate}. The event is removed from the window it was
+     * counted in, even if that window has rotated since.
+     */
+    public void decrement(Increment increment) {
+        for (int row = 0; row < depth; row++) {
+            increment.window.counters.decrementAndGet(index(increment.hash, row));
+        }
+    }
+
+    /**
+     * Estimated number of events for {@code key} during the last window length.
+     */
+    public double estimate(String key) {
+        long now = nanoClock.getAsLong();
+        Window window = windowAt(now);
+        Window before = previous;
+        long hash = hash(key);
+
+        int currentCount = Integer.MAX_VALUE;
+        int previousCount = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = index(hash, row);
+            currentCount = Math.min(currentCount, window.counters.get(index));
+            previousCount = Math.min(previousCount, before.counters.get(index));
+        }
+
+        return weighted(now, window, currentCount, previousCount);
+    }
+
+    private double weighted(long now, Window window, int currentCount, int previousCount) {
+        double elapsed = (double) (now - window.startNanos) / windowNanos;
+        double previousWeight = Math.max(0d, 1d - elapsed);
+        return currentCount + previousCount * previousWeight;
+    }
+
+    private Window windowAt(long now) {
+        Window window = current;
+        if (now - window.startNanos < windowNanos) {
+            return window;
+        }
+        synchronized (this) {
+            window = current;
+            long elapsed = now - window.startNanos;
+            if (elapsed >= windowNanos) {
+                long windowsPassed = elapsed / windowNanos;
+                long start = window.startNanos + windowsPassed * windowNanos;
+                // After two or more idle windows the previous window carries no weight either.
+                previous = windowsPassed == 1 ? window : new Window(start - windowNanos, width * depth);
+                current = new Window(start, width * depth);
+            }
+            return current;
+        }
+    }
+
+    private int index(long hash, int row) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        int combined = h1 + row * h2;
+        return row * width + Math.floorMod(combined, width);
+    }
+
+    private long hash(String key) {
+        // 64-bit FNV-1a over the UTF-8 bytes, seeded per instance and finished with a murmur-style mix.
+        long hash = 0xcbf29ce484222325L ^ seed;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * An event counted by {@link #incrementAndEstimate}, with the estimate that included it.
+     */
+    public static final class Increment {
+        private final Window window;
+        private final long hash;
+        private final double estimate;
+
+        private Increment(Window window, long hash, double estimate) {
+            this.window = window;
+            this.hash = hash;
+            this.estimate = estimate;
+        }
+
+        public double estimate() {
+            return estimate;
+        }
+    }
+
+    private static final class Window {
+        private final long startNanos;
+        private final AtomicIntegerArray counters;
+
+        private Window(long startNanos, int size) {
+            this.startNanos = startNanos;
+            this.counters = new AtomicIntegerArray(size);
+        }
+    }
+}
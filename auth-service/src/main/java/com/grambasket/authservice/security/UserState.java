@@ -0,0 +1,37 @@
+package com.grambasket.authservice.security;
+
+import com.grambasket.authservice.model.User;
+import lombok.Value;
+
+/**
+ * The subset of a user's account state needed to accept a token without loading the user document.
+ */
+@Value
+public class UserState {
+
+    static final UserState MISSING = new UserState(false, false, false, -1);
+
+    boolean exists;
+    boolean enabled;
+    boolean accountNonLocked;
+    long rolesVersion;
+
+    static UserState of(User user) {
+        return new UserState(true, user.isEnabled(), user.isAccountNonLocked() && user.isAccountNonExpired(), user.getRolesVersion());
+    }
+
+    public boolean isActive() {
+        return exists && enabled && accountNonLocked;
+    }
+
+    public boolean accepts(ParsedToken token) {
+        return accepts(token.getRolesVersion());
+    }
+
+    /**
+     * @param tokenRolesVersion the {@code rv} claim of the access token, directly or as relayed by the gateway
+     */
+    public boolean accepts(long tokenRolesVersion) {
+        return isActive() && rolesVersion == tokenRolesVersion;
+    }
+}
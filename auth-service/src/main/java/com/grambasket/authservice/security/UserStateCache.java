@@ -0,0 +1,42 @@
+package com.grambasket.authservice.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.grambasket.authservice.config.AuthSecurityProperties;
+import com.grambasket.authservice.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Small per-instance cache of {@link UserState} snapshots used by the stateless principal mode.
+ * Entries are invalidated on role changes and credential deletion; the TTL bounds how long a change
+ * made through another auth-service instance can go unnoticed here.
+ */
+@Component
+@Slf4j
+public class UserStateCache {
+
+    private final LoadingCache<String, UserState> cache;
+
+    public UserStateCache(UserRepository userRepository, AuthSecurityProperties securityProperties) {
+        AuthSecurityProperties.UserStateCache properties = securityProperties.getUserStateCache();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .build(userId -> {
+                    log.debug("USER STATE CACHE MISS: Loading account state for user ID: {}", userId);
+                    return userRepository.findById(userId)
+                            .map(UserState::of)
+                            .orElse(UserState.MISSING);
+                });
+    }
+
+    public UserState get(String userId) {
+        return cache.get(userId);
+    }
+
+    public void invalidate(String userId) {
+        log.debug("USER STATE CACHE EVICT for user ID: {}", userId);
+        cache.invalidate(userId);
+    }
+}
@@ -11,6 +11,7 @@ public interface AuthService {
     AuthResponse register(RegisterRequest request);
     AuthResponse login(LoginRequest request);
     AuthResponse refreshToken(String refreshToken);
+    void logout(String refreshToken);
     void updateUserRoles(String email, Set<Role> newRoles);
     void deleteUserCredentials(String authId);
 }
\ No newline at end of file
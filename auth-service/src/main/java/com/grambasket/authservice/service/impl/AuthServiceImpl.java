@@ -1,22 +1,26 @@
 package com.grambasket.authservice.service.impl;
 
-import com.grambasket.authservice.client.UserServiceClient;
 import com.grambasket.authservice.dto.AuthResponse;
-import com.grambasket.authservice.dto.InternalCreateUserRequest;
 import com.grambasket.authservice.dto.LoginRequest;
 import com.grambasket.authservice.dto.RegisterRequest;
 import com.grambasket.authservice.exception.ProfileCreationException;
 import com.grambasket.authservice.exception.TokenValidationException;
 import com.grambasket.authservice.exception.UserNotFoundException;
 import com.grambasket.authservice.exception.UsernameAlreadyExistsException;
+import com.grambasket.authservice.model.OutboxEvent;
+import com.grambasket.authservice.model.RefreshTokenFamily;
 import com.grambasket.authservice.model.Role;
 import com.grambasket.authservice.model.User;
+import com.grambasket.authservice.repository.OutboxEventRepository;
 import com.grambasket.authservice.repository.UserRepository;
 import com.grambasket.authservice.security.JwtService;
+import com.grambasket.authservice.security.ParsedToken;
+import com.grambasket.authservice.security.UserStateCache;
 import com.grambasket.authservice.service.AuthService;
-import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -25,6 +29,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Set;
 
@@ -36,10 +41,12 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
-    private final UserServiceClient userServiceClient;
+    private final OutboxEventRepository outboxEventRepository;
+    private final UserStateCache userStateCache;
+    private final RefreshTokenRotationService refreshTokenRotationService;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
-    @Transactional
     public AuthResponse register(RegisterRequest request) {
         log.info("Attempting to register new user with email: {}", request.getEmail());
         if (userRepository.findByEmail(request.getEmail()).isPresent()) {
@@ -53,28 +60,26 @@ public class AuthServiceImpl implements AuthService {
                 .roles(Set.of(Role.USER))
                 .build();
 
-        User savedUser = userRepository.save(user);
-        log.info("User '{}' saved in auth-db with ID: {}.", savedUser.getUsername(), savedUser.getId());
-
-        triggerProfileCreation(savedUser.getId(), savedUser.getUsername());
+        // The password is hashed above, outside the transaction, so the transaction only spans the two writes.
+        User savedUser = saveWithProfileCreation(user);
+        log.info("User '{}' saved in auth-db with ID: {}; profile creation recorded in the outbox.", savedUser.getUsername(), savedUser.getId());
 
-        String accessToken = jwtService.generateAccessToken(savedUser);
-        String refreshToken = jwtService.generateRefreshToken(savedUser);
-        return new AuthResponse(accessToken, refreshToken);
+        return issueTokens(savedUser);
     }
 
-    private void triggerProfileCreation(String authId, String email) {
+    private User saveWithProfileCreation(User user) {
         try {
-            log.info("Triggering profile creation for authId: {}", authId);
-            InternalCreateUserRequest profileRequest = new InternalCreateUserRequest(authId, email);
-            userServiceClient.createUserProfile(profileRequest);
-            log.info("Successfully triggered profile creation for authId: {}", authId);
-        } catch (FeignException e) {
-            log.error("CRITICAL: Feign client failed to create user profile for authId: {}. Status: {}, Response: {}",
-                    authId, e.status(), e.contentUTF8(), e);
-            log.warn("Initiating rollback. Deleting user with authId '{}' from auth-db due to profile creation failure.", authId);
-            userRepository.deleteById(authId);
-            throw new ProfileCreationException("User registration failed during profile creation. The registration has been rolled back.", e);
+            return transactionTemplate.execute(status -> {
+                User savedUser = userRepository.save(user);
+                outboxEventRepository.save(OutboxEvent.profileCreation(savedUser));
+                return savedUser;
+            });
+        } catch (DuplicateKeyException e) {
+            log.warn("Registration failed. Email '{}' was registered concurrently.", user.getEmail());
+            throw new UsernameAlreadyExistsException("An account with this email already exists: " + user.getEmail());
+        } catch (DataAccessException e) {
+            log.error("CRITICAL: Could not save user '{}' together with its profile-creation event.", user.getEmail(), e);
+            throw new ProfileCreationException("User registration failed while scheduling profile creation. Nothing was saved.", e);
         }
     }
 
@@ -88,9 +93,7 @@ public class AuthServiceImpl implements AuthService {
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
             log.info("User '{}' authenticated successfully.", userDetails.getUsername());
 
-            String accessToken = jwtService.generateAccessToken(userDetails);
-            String refreshToken = jwtService.generateRefreshToken(userDetails);
-            return new AuthResponse(accessToken, refreshToken);
+            return issueTokens((User) userDetails);
         } catch (BadCredentialsException e) {
             log.warn("Authentication failed for user '{}': Invalid credentials.", request.getEmail());
             throw e;
@@ -100,25 +103,42 @@ public class AuthServiceImpl implements AuthService {
     @Override
     public AuthResponse refreshToken(String refreshToken) {
         log.info("Attempting to refresh token.");
-        String email = jwtService.extractUsername(refreshToken);
-        UserDetails userDetails = userRepository.findByEmail(email)
+        ParsedToken parsedToken = jwtService.parseToken(refreshToken)
+                .orElseThrow(() -> new TokenValidationException("Invalid or expired refresh token"));
+        String nextTokenId = refreshTokenRotationService.rotate(parsedToken);
+
+        String userId = parsedToken.getSubject();
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> {
-                    log.error("User not found during token refresh for email: {}", email);
-                    return new UserNotFoundException("User not found: " + email);
+                    log.error("User not found during token refresh for ID: {}", userId);
+                    return new UserNotFoundException("User not found: " + userId);
                 });
-
-        if (!jwtService.isTokenValid(refreshToken, userDetails)) {
-            log.warn("Refresh token validation failed for user: {}", email);
+        if (!user.isEnabled() || !user.isAccountNonLocked()) {
+            log.warn("Refresh rejected for disabled or locked user: {}", userId);
+            refreshTokenRotationService.revoke(parsedToken.getFamilyId(), "ACCOUNT_INACTIVE");
             throw new TokenValidationException("Invalid or expired refresh token");
         }
 
-        log.info("Refresh token validated successfully for user: {}", email);
-        String newAccessToken = jwtService.generateAccessToken(userDetails);
-        String newRefreshToken = jwtService.generateRefreshToken(userDetails);
-        log.info("New access and refresh tokens generated for user: {}", email);
+        log.info("Refresh token rotated successfully for user: {}", userId);
+        String newAccessToken = jwtService.generateAccessToken(user);
+        String newRefreshToken = jwtService.generateRefreshToken(user, parsedToken.getFamilyId(), nextTokenId);
         return new AuthResponse(newAccessToken, newRefreshToken);
     }
 
+    @Override
+    public void logout(String refreshToken) {
+        jwtService.parseToken(refreshToken)
+                .map(ParsedToken::getFamilyId)
+                .ifPresent(familyId -> refreshTokenRotationService.revoke(familyId, "LOGOUT"));
+    }
+
+    private AuthResponse issueTokens(User user) {
+        RefreshTokenFamily family = refreshTokenRotationService.startFamily(user.getId());
+        String accessToken = jwtService.generateAccessToken(user);
+        String refreshToken = jwtService.generateRefreshToken(user, family.getId(), family.getCurrentJti());
+        return new AuthResponse(accessToken, refreshToken);
+    }
+
     @Override
     @Transactional
     public void updateUserRoles(String email, Set<Role> newRoles) {
@@ -127,7 +147,9 @@ public class AuthServiceImpl implements AuthService {
                 .orElseThrow(() -> new UserNotFoundException("User not found with email: " + email));
 
         user.setRoles(newRoles);
+        user.setRolesVersion(user.getRolesVersion() + 1);
         userRepository.save(user);
+        userStateCache.invalidate(user.getId());
         log.info("Successfully updated roles for user: {}", email);
     }
 
@@ -139,6 +161,7 @@ public class AuthServiceImpl implements AuthService {
                 .orElseThrow(() -> new UserNotFoundException("No user found with authId: " + authId + " to delete."));
 
         userRepository.delete(user);
+        userStateCache.invalidate(authId);
         log.info("Successfully deleted credentials for authId: {}", authId);
     }
 }
\ No newline at end of file
@@ -1,15 +1,19 @@
 package com.grambasket.authservice.service.impl;
 
+import com.grambasket.authservice.model.User;
 import com.grambasket.authservice.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+@Slf4j
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepository userRepository;
 
     @Override
@@ -17,4 +21,16 @@ public class CustomUserDetailsService implements UserDetailsService {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
     }
-}
\ No newline at end of file
+
+    /**
+     * Called by the authentication provider after a successful login whose stored hash uses an outdated
+     * encoder or cost factor, so hashes migrate gradually without a bulk migration.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newEncodedPassword) {
+        User user = (User) userDetails;
+        user.setPassword(newEncodedPassword);
+        log.info("Re-hashed password with the current encoder for user ID: {}", user.getId());
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,158 @@
+package com.grambasket.authservice.service.impl;
+
+import com.grambasket.authservice.client.UserServiceClient;
+import com.grambasket.authservice.config.OutboxProperties;
+import com.grambasket.authservice.dto.BatchCreateUserRequest;
+import com.grambasket.authservice.dto.BatchCreateUserResponse;
+import com.grambasket.authservice.dto.InternalCreateUserRequest;
+import com.grambasket.authservice.model.OutboxEvent;
+import com.grambasket.authservice.model.OutboxEventType;
+import com.grambasket.authservice.model.OutboxStatus;
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drains profile-creation events from the outbox to user-service. Events are claimed with an atomic
+ * find-and-modify lease, so several auth-service instances can relay concurrently without double delivery
+ * in the common case. Each claimed batch is sent in one call to the bulk create endpoint; profiles that
+ * user-service reports as already existing for the same authId are treated as delivered, while an email held
+ * by another profile is retried like any other failure. Outcomes are only recorded while the run still holds
+ * the lease, so a slow run cannot overwrite or delete an event that another instance has claimed since.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProfileCreationOutboxRelay {
+
+    private final MongoTemplate mongoTemplate;
+    private final UserServiceClient userServiceClient;
+    private final OutboxProperties outboxProperties;
+
+    @Scheduled(fixedDelayString = "${auth.outbox.poll-interval:2s}")
+    public void relayPendingEvents() {
+        if (!outboxProperties.isRelayEnabled()) {
+            return;
+        }
+        try {
+            String claimId = UUID.randomUUID().toString();
+            List<OutboxEvent> batch = claimBatch(claimId);
+            if (!batch.isEmpty()) {
+                log.info("OUTBOX: Relaying {} profile-creation event(s) to user-service.", batch.size());
+                deliver(batch, claimId);
+            }
+        } catch (Exception e) {
+            log.error("OUTBOX: Relay run failed: {}", e.getMessage());
+        }
+    }
+
+    private List<OutboxEvent> claimBatch(String claimId) {
+        Instant now = Instant.now();
+        Query claimable = new Query(new Criteria().andOperator(
+                Criteria.where("type").is(OutboxEventType.PROFILE_CREATION),
+                new Criteria().orOperator(
+                        Criteria.where("status").is(OutboxStatus.PENDING).and("nextAttemptAt").lte(now),
+                        Criteria.where("status").is(OutboxStatus.IN_FLIGHT).and("lockedUntil").lte(now)
+                )
+        )).with(Sort.by(Sort.Direction.ASC, "nextAttemptAt"));
+        Update claim = new Update()
+                .set("status", OutboxStatus.IN_FLIGHT)
+                .set("lockedUntil", now.plus(outboxProperties.getLease()))
+                .set("claimId", claimId)
+                .inc("attempts", 1);
+
+        List<OutboxEvent> batch = new ArrayList<>();
+        for (int i = 0; i < outboxProperties.getBatchSize(); i++) {
+            OutboxEvent event = mongoTemplate.findAndModify(claimable, claim,
+                    FindAndModifyOptions.options().returnNew(true), OutboxEvent.class);
+            if (event == null) {
+                break;
+            }
+            batch.add(event);
+        }
+        return batch;
+    }
+
+    private void deliver(List<OutboxEvent> batch, String claimId) {
+        BatchCreateUserRequest request = new BatchCreateUserRequest(batch.stream()
+                .map(event -> new InternalCreateUserRequest(event.getAggregateId(), event.getEmail()))
+                .toList());
+
+        BatchCreateUserResponse response;
+        try {
+            response = userServiceClient.createUserProfiles(request);
+        } catch (FeignException e) {
+            batch.forEach(event -> markFailedAttempt(event, claimId, "HTTP " + e.status() + ": " + e.getMessage()));
+            return;
+        } catch (Exception e) {
+            batch.forEach(event -> markFailedAttempt(event, claimId, e.getMessage()));
+            return;
+        }
+
+        Map<String, BatchCreateUserResponse.ItemResult> resultsByAuthId = response.getResults().stream()
+                .collect(Collectors.toMap(BatchCreateUserResponse.ItemResult::getAuthId, Function.identity(), (first, second) -> first));
+        List<OutboxEvent> delivered = new ArrayList<>();
+        for (OutboxEvent event : batch) {
+            BatchCreateUserResponse.ItemResult result = resultsByAuthId.get(event.getAggregateId());
+            if (result == null) {
+                markFailedAttempt(event, claimId, "No result returned by user-service");
+            } else if (result.isPersisted()) {
+                delivered.add(event);
+            } else {
+                markFailedAttempt(event, claimId, result.getStatus() + ": " + result.getError());
+            }
+        }
+        markDelivered(delivered, claimId);
+    }
+
+    private void markDelivered(List<OutboxEvent> delivered, String claimId) {
+        if (delivered.isEmpty()) {
+            return;
+        }
+        List<String> ids = delivered.stream().map(OutboxEvent::getId).toList();
+        mongoTemplate.remove(Query.query(Criteria.where("_id").in(ids).and("claimId").is(claimId)), OutboxEvent.class);
+        log.info("OUTBOX: Profile creation delivered for {} authId(s).", delivered.size());
+    }
+
+    private void markFailedAttempt(OutboxEvent event, String claimId, String error) {
+        Update update = new Update().set("lastError", error).unset("lockedUntil");
+        if (event.getAttempts() >= outboxProperties.getMaxAttempts()) {
+            update.set("status", OutboxStatus.FAILED);
+            log.error("OUTBOX: Giving up on profile creation for authId {} after {} attempts. Last error: {}",
+                    event.getAggregateId(), event.getAttempts(), error);
+        } else {
+            Instant nextAttempt = Instant.now().plus(backoff(event.getAttempts()));
+            update.set("status", OutboxStatus.PENDING).set("nextAttemptAt", nextAttempt);
+            log.warn("OUTBOX: Profile creation for authId {} failed (attempt {}). Retrying at {}. Error: {}",
+                    event.getAggregateId(), event.getAttempts(), nextAttempt, error);
+        }
+        mongoTemplate.updateFirst(claimed(event.getId(), claimId), update, OutboxEvent.class);
+    }
+
+    private static Query claimed(String eventId, String claimId) {
+        return Query.query(Criteria.where("_id").is(eventId).and("claimId").is(claimId));
+    }
+
+    private Duration backoff(int attempts) {
+        long multiplier = 1L << Math.min(attempts - 1, 20);
+        Duration backoff = outboxProperties.getInitialBackoff().multipliedBy(multiplier);
+        return backoff.compareTo(outboxProperties.getMaxBackoff()) > 0 ? outboxProperties.getMaxBackoff() : backoff;
+    }
+}
@@ -0,0 +1,156 @@
+package com.grambasket.authservice.service.impl;
+
+import com.grambasket.authservice.config.JwtProperties;
+import com.grambasket.authservice.config.RefreshTokenProperties;
+import com.grambasket.authservice.exception.TokenValidationException;
+import com.grambasket.authservice.model.RefreshTokenFamily;
+import com.grambasket.authservice.repository.RefreshTokenFamilyRepository;
+import com.grambasket.authservice.security.ParsedToken;
+import com.grambasket.authservice.security.RevokedTokenFamilies;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Keeps track of refresh-token families and enforces single use of every refresh token.
+ * <p>
+ * Rotation is a compare-and-set on the family's current jti in MongoDB, so exactly one of several concurrent
+ * exchanges of the same token succeeds no matter which instance serves it; any other exchange is treated as
+ * reuse and revokes the family. Revoked families are additionally kept in an in-memory filter, which lets
+ * replayed or logged-out tokens be rejected without a database round trip. Revocations made by other
+ * instances reach the local filter with the periodic sync; until then the compare-and-set still rejects them.
+ */
+@Service
+@Slf4j
+public class RefreshTokenRotationService {
+
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(5);
+
+    private final MongoTemplate mongoTemplate;
+    private final RefreshTokenFamilyRepository familyRepository;
+    private final JwtProperties jwtProperties;
+    private final RefreshTokenProperties refreshTokenProperties;
+    private final RevokedTokenFamilies revokedFamilies;
+
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    public RefreshTokenRotationService(MongoTemplate mongoTemplate, RefreshTokenFamilyRepository familyRepository,
+                                       JwtProperties jwtProperties, RefreshTokenProperties refreshTokenProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.familyRepository = familyRepository;
+        this.jwtProperties = jwtProperties;
+        this.refreshTokenProperties = refreshTokenProperties;
+        this.revokedFamilies = new RevokedTokenFamilies(
+                refreshTokenProperties.getExpectedRevocations(), refreshTokenProperties.getFalsePositiveRate());
+    }
+
+    /**
+     * Starts a new family for a fresh login and returns it; its {@code currentJti} is the jti of the first
+     * refresh token.
+     */
+    public RefreshTokenFamily startFamily(String userId) {
+        Instant now = Instant.now();
+        RefreshTokenFamily family = RefreshTokenFamily.builder()
+                .id(UUID.randomUUID().toString())
+                .userId(userId)
+                .currentJti(UUID.randomUUID().toString())
+                .createdAt(now)
+                .rotatedAt(now)
+                .expiresAt(now.plusMillis(jwtProperties.getRefreshExpiration()))
+                .build();
+        return familyRepository.save(family);
+    }
+
+    /**
+     * Consumes the presented refresh token and returns the jti for its successor.
+     *
+     * @throws TokenValidationException if the token was revoked, already used or does not belong to a family
+     */
+    public String rotate(ParsedToken refreshToken) {
+        String familyId = refreshToken.getFamilyId();
+        if (familyId == null || refreshToken.getTokenId() == null) {
+            throw new TokenValidationException("Invalid refresh token");
+        }
+        Instant now = Instant.now();
+        if (revokedFamilies.isRevoked(familyId, now)) {
+            log.warn("Rejected refresh token of revoked family {} for user {}.", familyId, refreshToken.getSubject());
+            throw new TokenValidationException("Refresh token has been revoked");
+        }
+
+        String nextJti = UUID.randomUUID().toString();
+        Query current = Query.query(Criteria.where("_id").is(familyId)
+                .and("userId").is(refreshToken.getSubject())
+                .and("currentJti").is(refreshToken.getTokenId())
+                .and("revoked").is(false));
+        Update rotation = new Update()
+                .set("currentJti", nextJti)
+                .set("rotatedAt", now)
+                .set("expiresAt", now.plusMillis(jwtProperties.getRefreshExpiration()));
+        RefreshTokenFamily rotated = mongoTemplate.findAndModify(current, rotation,
+                FindAndModifyOptions.options().returnNew(true), RefreshTokenFamily.class);
+        if (rotated != null) {
+            return nextJti;
+        }
+
+        RefreshTokenFamily family = familyRepository.findById(familyId).orElse(null);
+        if (family == null || !family.getUserId().equals(refreshToken.getSubject())) {
+            throw new TokenValidationException("Invalid refresh token");
+        }
+        if (!family.isRevoked()) {
+            log.warn("SECURITY: Reuse of a rotated refresh token detected for user {}. Revoking token family {}.",
+                    refreshToken.getSubject(), familyId);
+            revoke(familyId, "REUSE_DETECTED");
+        } else {
+            revokedFamilies.revoke(familyId, family.getExpiresAt());
+        }
+        throw new TokenValidationException("Refresh token has been revoked");
+    }
+
+    public void revoke(String familyId, String reason) {
+        Instant now = Instant.now();
+        Update revocation = new Update()
+                .set("revoked", true)
+                .set("revokedAt", now)
+                .set("revocationReason", reason);
+        RefreshTokenFamily family = mongoTemplate.findAndModify(Query.query(Criteria.where("_id").is(familyId)), revocation,
+                FindAndModifyOptions.options().returnNew(true), RefreshTokenFamily.class);
+        if (family != null) {
+            revokedFamilies.revoke(familyId, family.getExpiresAt());
+            log.info("Revoked refresh token family {} for user {} ({}).", familyId, family.getUserId(), reason);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.refresh-tokens.revocation-sync-interval:5s}")
+    public void syncRevocations() {
+        if (!refreshTokenProperties.isRevocationSyncEnabled()) {
+            return;
+        }
+        try {
+            Instant now = Instant.now();
+            Instant since = lastSync.minus(SYNC_OVERLAP);
+            Query revokedSince = Query.query(Criteria.where("revoked").is(true)
+                    .and("revokedAt").gte(since)
+                    .and("expiresAt").gt(now));
+            revokedSince.fields().include("_id", "expiresAt");
+            mongoTemplate.find(revokedSince, RefreshTokenFamily.class)
+                    .forEach(family -> revokedFamilies.revoke(family.getId(), family.getExpiresAt()));
+            lastSync = now;
+
+            int pruned = revokedFamilies.prune(now);
+            if (pruned > 0) {
+                log.debug("Pruned {} expired refresh token families from the revocation filter.", pruned);
+            }
+        } catch (Exception e) {
+            log.error("Refresh token revocation sync failed: {}", e.getMessage());
+        }
+    }
+}
@@ -3,7 +3,11 @@ package com.grambasket.authservice;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+        "auth.outbox.relay-enabled=false",
+        "auth.refresh-tokens.revocation-sync-enabled=false",
+        "auth.mongo.ensure-indexes=false"
+})
 class AuthServiceApplicationTests {
 
     @Test
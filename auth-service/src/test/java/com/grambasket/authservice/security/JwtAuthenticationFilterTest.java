@@ -0,0 +1,160 @@
+package com.grambasket.authservice.security;
+
+import com.grambasket.authservice.config.AuthSecurityProperties;
+import com.grambasket.authservice.config.JwtProperties;
+import com.grambasket.authservice.model.Role;
+import com.grambasket.authservice.model.User;
+import com.grambasket.authservice.repository.UserRepository;
+import com.grambasket.identity.IdentityHeaders;
+import com.grambasket.identity.TrustedIdentityProperties;
+import com.grambasket.identity.TrustedIdentityVerifier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String JWT_SECRET = "mysupersecurekeymysupersecurekeymysupersecurekeymysupersecurekey12";
+    private static final String IDENTITY_SIGNING_KEY = "identity-signing-key-identity-signing-key";
+
+    private final User user = userBuilder().build();
+
+    private JwtService jwtService;
+    private UserRepository userRepository;
+    private UserStateCache userStateCache;
+    private AuthSecurityProperties securityProperties;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setExpiration(3_600_000);
+        jwtProperties.setIssuer("grambasket-auth-service");
+        jwtService = new JwtService(jwtProperties);
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", JWT_SECRET);
+        jwtService.init();
+
+        userRepository = mock(UserRepository.class);
+        securityProperties = new AuthSecurityProperties();
+        securityProperties.setStatelessPrincipal(true);
+        userStateCache = new UserStateCache(userRepository, securityProperties);
+        filter = new JwtAuthenticationFilter(jwtService, userRepository, userStateCache, securityProperties,
+                new TrustedIdentityVerifier(new TrustedIdentityProperties()));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void statelessModeBuildsThePrincipalFromClaimsAndCachesTheUserState() throws Exception {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        String token = jwtService.generateAccessToken(user);
+
+        Authentication first = authenticate(token);
+        Authentication second = authenticate(token);
+
+        assertEquals(user.getId(), first.getPrincipal());
+        assertEquals(List.of("USER"), first.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        assertEquals(user.getId(), second.getPrincipal());
+        verify(userRepository, times(1)).findById(user.getId());
+    }
+
+    @Test
+    void statelessModeRejectsTokensIssuedBeforeARoleChange() throws Exception {
+        String token = jwtService.generateAccessToken(user);
+        User promoted = userBuilder().roles(Set.of(Role.USER, Role.ADMIN)).rolesVersion(3).build();
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(promoted));
+
+        assertNull(authenticate(token));
+    }
+
+    @Test
+    void statelessModeRejectsDisabledAndMissingAccounts() throws Exception {
+        String token = jwtService.generateAccessToken(user);
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(userBuilder().enabled(false).build()));
+        assertNull(authenticate(token));
+
+        userStateCache.invalidate(user.getId());
+        when(userRepository.findById(user.getId())).thenReturn(Optional.empty());
+        assertNull(authenticate(token));
+    }
+
+    @Test
+    void userStateAcceptsOnlyActiveAccountsWithTheTokenRolesVersion() {
+        ParsedToken token = ParsedToken.builder().subject(user.getId()).rolesVersion(2).build();
+
+        assertTrue(UserState.of(user).accepts(token));
+        assertFalse(UserState.of(userBuilder().rolesVersion(3).build()).accepts(token));
+        assertFalse(UserState.of(userBuilder().enabled(false).build()).accepts(token));
+        assertFalse(UserState.of(userBuilder().accountNonLocked(false).build()).accepts(token));
+        assertFalse(UserState.of(userBuilder().accountNonExpired(false).build()).accepts(token));
+        assertFalse(UserState.MISSING.accepts(token));
+    }
+
+    @Test
+    void relayedIdentityIsRejectedWhenItsRolesVersionIsStale() throws Exception {
+        TrustedIdentityProperties identityProperties = new TrustedIdentityProperties();
+        identityProperties.setSigningKey(IDENTITY_SIGNING_KEY);
+        identityProperties.getTrustedHeaders().setEnabled(true);
+        JwtAuthenticationFilter relayFilter = new JwtAuthenticationFilter(jwtService, userRepository, userStateCache,
+                securityProperties, new TrustedIdentityVerifier(identityProperties));
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        assertNull(authenticateRelayed(relayFilter, 1));
+        assertEquals(user.getId(), authenticateRelayed(relayFilter, 2).getPrincipal());
+    }
+
+    private static User.UserBuilder userBuilder() {
+        return User.builder()
+                .id("65f1c0ffee0000000000beef")
+                .email("stateless.user@grambasket.com")
+                .password("hashed")
+                .roles(Set.of(Role.USER))
+                .rolesVersion(2);
+    }
+
+    private Authentication authenticateRelayed(JwtAuthenticationFilter relayFilter, long rolesVersion) throws Exception {
+        SecurityContextHolder.clearContext();
+        long expiresAt = Instant.now().plusSeconds(60).getEpochSecond();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/auth-service/me");
+        request.addHeader(IdentityHeaders.USER_ID, user.getId());
+        request.addHeader(IdentityHeaders.ROLES, "USER");
+        request.addHeader(IdentityHeaders.ROLES_VERSION, String.valueOf(rolesVersion));
+        request.addHeader(IdentityHeaders.EXPIRES_AT, String.valueOf(expiresAt));
+        request.addHeader(IdentityHeaders.SIGNATURE,
+                new IdentityHeaders(IDENTITY_SIGNING_KEY).sign(user.getId(), "USER", rolesVersion, expiresAt));
+        relayFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/auth-service/me");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
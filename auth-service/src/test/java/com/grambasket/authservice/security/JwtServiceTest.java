@@ -0,0 +1,101 @@
+package com.grambasket.authservice.security;
+
+import com.grambasket.authservice.config.JwtProperties;
+import com.grambasket.authservice.model.Role;
+import com.grambasket.authservice.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtServiceTest {
+
+    private static final String JWT_SECRET = "mysupersecurekeymysupersecurekeymysupersecurekeymysupersecurekey12";
+
+    private final User user = User.builder()
+            .id("65f1c0ffee0000000000beef")
+            .email("jwt.user@grambasket.com")
+            .password("hashed")
+            .roles(Set.of(Role.USER))
+            .rolesVersion(3)
+            .build();
+
+    @Test
+    void parseTokenReturnsTheVerifiedClaims() {
+        JwtService jwtService = jwtService(3_600_000, true);
+        String token = jwtService.generateAccessToken(user);
+
+        ParsedToken parsed = jwtService.parseToken(token).orElseThrow();
+
+        assertEquals(user.getId(), parsed.getSubject());
+        assertEquals(List.of("USER"), parsed.getRoles());
+        assertEquals(3, parsed.getRolesVersion());
+        assertEquals("grambasket-auth-service", parsed.getIssuer());
+        assertTrue(parsed.getExpiresAt().isAfter(Instant.now()));
+        assertTrue(jwtService.isTokenValid(token, user));
+    }
+
+    @Test
+    void parseTokenRejectsTamperedMalformedAndBlankTokens() {
+        JwtService jwtService = jwtService(3_600_000, true);
+        String token = jwtService.generateAccessToken(user);
+        int signatureStart = token.lastIndexOf('.') + 1;
+        char replacement = token.charAt(signatureStart) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, signatureStart) + replacement + token.substring(signatureStart + 1);
+
+        assertEquals(Optional.empty(), jwtService.parseToken(tampered));
+        assertEquals(Optional.empty(), jwtService.parseToken("not-a-jwt"));
+        assertEquals(Optional.empty(), jwtService.parseToken(" "));
+        assertEquals(Optional.empty(), jwtService.parseToken(null));
+    }
+
+    @Test
+    void repeatedTokensAreServedFromTheDigestCache() {
+        JwtService caching = jwtService(3_600_000, true);
+        JwtService uncached = jwtService(3_600_000, false);
+        String token = caching.generateAccessToken(user);
+
+        assertSame(caching.parseToken(token).orElseThrow(), caching.parseToken(token).orElseThrow());
+        assertNotSame(uncached.parseToken(token).orElseThrow(), uncached.parseToken(token).orElseThrow());
+
+        String otherToken = caching.generateRefreshToken(user, "family-1", "token-1");
+        assertEquals("family-1", caching.parseToken(otherToken).orElseThrow().getFamilyId());
+        assertEquals(user.getId(), caching.parseToken(token).orElseThrow().getSubject());
+    }
+
+    @Test
+    void cachedTokenIsRejectedOnceItsExpiryPasses() throws InterruptedException {
+        JwtService jwtService = jwtService(2_000, true);
+        String token = jwtService.generateAccessToken(user);
+        ParsedToken parsed = jwtService.parseToken(token).orElseThrow();
+
+        // The exp claim has second precision; wait until it has passed.
+        long waitMillis = parsed.getExpiresAt().toEpochMilli() - System.currentTimeMillis() + 50;
+        Thread.sleep(Math.max(0, waitMillis));
+
+        assertFalse(jwtService.parseToken(token).isPresent());
+        assertFalse(jwtService.isTokenValid(token, user));
+    }
+
+    private static JwtService jwtService(long expirationMillis, boolean verifiedTokenCache) {
+        JwtProperties properties = new JwtProperties();
+        properties.setExpiration(expirationMillis);
+        properties.setRefreshExpiration(604_800_000);
+        properties.setIssuer("grambasket-auth-service");
+        properties.getVerifiedTokenCache().setEnabled(verifiedTokenCache);
+
+        JwtService jwtService = new JwtService(properties);
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", JWT_SECRET);
+        jwtService.init();
+        return jwtService;
+    }
+}
@@ -0,0 +1,69 @@
+package com.grambasket.authservice.security;
+
+import com.grambasket.authservice.config.LoginProtectionProperties;
+import com.grambasket.authservice.exception.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoginAttemptLimiterTest {
+
+    @Test
+    void forwardedForIsHonouredByDefaultOnlyFromALocalGateway() {
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(new LoginProtectionProperties(), new SimpleMeterRegistry());
+
+        assertEquals("198.51.100.1", limiter.resolveClientIp(request("127.0.0.1", "198.51.100.1")));
+        assertEquals("203.0.113.7", limiter.resolveClientIp(request("203.0.113.7", "198.51.100.1")));
+    }
+
+    @Test
+    void trustedProxyIsNeverUsedAsTheClientAddress() {
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(new LoginProtectionProperties(), new SimpleMeterRegistry());
+
+        assertNull(limiter.resolveClientIp(request("127.0.0.1", null)));
+        assertNull(limiter.resolveClientIp(request("127.0.0.1", "127.0.0.1")));
+        assertEquals("198.51.100.1", limiter.resolveClientIp(request("127.0.0.1", "198.51.100.1, 127.0.0.1")));
+    }
+
+    @Test
+    void failedAttemptsCountTowardsTheLimitButReleasedOnesDoNot() {
+        LoginProtectionProperties properties = new LoginProtectionProperties();
+        properties.setMaxFailuresPerEmail(2);
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(properties, new SimpleMeterRegistry());
+
+        limiter.reserve("alice@example.com", "198.51.100.1").release();
+        limiter.reserve("alice@example.com", "198.51.100.1");
+        limiter.reserve("Alice@example.com", "198.51.100.2");
+
+        assertThrows(TooManyLoginAttemptsException.class, () -> limiter.reserve("alice@example.com", "198.51.100.3"));
+        // The rejected attempt is not counted either.
+        assertThrows(TooManyLoginAttemptsException.class, () -> limiter.reserve("alice@example.com", "198.51.100.3"));
+        limiter.reserve("bob@example.com", "198.51.100.3");
+    }
+
+    @Test
+    void forwardedForIsHonouredOnlyFromTrustedProxies() {
+        LoginProtectionProperties properties = new LoginProtectionProperties();
+        properties.setTrustForwardedFor(true);
+        properties.setTrustedProxies(List.of("10.0.0.0/16"));
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(properties, new SimpleMeterRegistry());
+
+        assertEquals("198.51.100.1", limiter.resolveClientIp(request("10.0.4.2", "192.0.2.99, 198.51.100.1")));
+        assertEquals("203.0.113.7", limiter.resolveClientIp(request("203.0.113.7", "198.51.100.1")));
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth-service/login");
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,56 @@
+package com.grambasket.authservice.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RevokedTokenFamiliesTest {
+
+    private final Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Test
+    void revokedFamilyIsRejectedUntilItExpires() {
+        RevokedTokenFamilies families = new RevokedTokenFamilies(1_000, 0.01);
+        families.revoke("family-1", now.plus(Duration.ofDays(7)));
+
+        assertTrue(families.isRevoked("family-1", now));
+        assertFalse(families.isRevoked("family-2", now));
+        assertFalse(families.isRevoked("family-1", now.plus(Duration.ofDays(8))));
+    }
+
+    @Test
+    void pruneForgetsExpiredFamiliesAndKeepsLiveOnes() {
+        RevokedTokenFamilies families = new RevokedTokenFamilies(1_000, 0.01);
+        families.revoke("expired", now.minusSeconds(1));
+        families.revoke("live", now.plus(Duration.ofHours(1)));
+
+        assertEquals(1, families.prune(now));
+        assertEquals(1, families.size());
+        assertTrue(families.isRevoked("live", now));
+        assertFalse(families.isRevoked("expired", now));
+    }
+
+    @Test
+    void bloomFilterNeverMissesAddedKeys() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("family-" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("family-" + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,71 @@
+package com.grambasket.authservice.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SlidingWindowSketchTest {
+
+    private static final Duration WINDOW = Duration.ofMinutes(10);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SlidingWindowSketch sketch = new SlidingWindowSketch(1024, 4, WINDOW, clock::get);
+
+    @Test
+    void countsEventsPerKeyWithinTheCurrentWindow() {
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("alice@example.com");
+        }
+        sketch.increment("bob@example.com");
+
+        assertEquals(5, sketch.estimate("alice@example.com"));
+        assertEquals(1, sketch.estimate("bob@example.com"));
+        assertEquals(0, sketch.estimate("carol@example.com"));
+    }
+
+    @Test
+    void previousWindowDecaysLinearlyAsTheCurrentWindowProgresses() {
+        for (int i = 0; i < 10; i++) {
+            sketch.increment("alice@example.com");
+        }
+
+        advance(WINDOW);
+        assertEquals(10, sketch.estimate("alice@example.com"), 0.001);
+
+        advance(WINDOW.dividedBy(2));
+        assertEquals(5, sketch.estimate("alice@example.com"), 0.001);
+
+        sketch.increment("alice@example.com");
+        assertEquals(6, sketch.estimate("alice@example.com"), 0.001);
+    }
+
+    @Test
+    void forgetsEventsOnceTwoFullWindowsHavePassed() {
+        for (int i = 0; i < 10; i++) {
+            sketch.increment("alice@example.com");
+        }
+
+        advance(WINDOW.multipliedBy(2));
+
+        assertEquals(0, sketch.estimate("alice@example.com"));
+    }
+
+    @Test
+    void incrementAndEstimateIncludesTheNewEventAndCanBeTakenBack() {
+        sketch.increment("alice@example.com");
+
+        SlidingWindowSketch.Increment increment = sketch.incrementAndEstimate("alice@example.com");
+        assertEquals(2, increment.estimate());
+
+        advance(WINDOW);
+        sketch.decrement(increment);
+        assertEquals(1, sketch.estimate("alice@example.com"), 0.001);
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+}
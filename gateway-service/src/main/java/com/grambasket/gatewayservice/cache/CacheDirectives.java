@@ -0,0 +1,63 @@
+package com.grambasket.gatewayservice.cache;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The directives of one or more {@code Cache-Control} header values, e.g. {@code max-age} or {@code no-store}.
+ */
+public final class CacheDirectives {
+
+    private static final CacheDirectives NONE = new CacheDirectives(Map.of());
+
+    private final Map<String, String> directives;
+
+    private CacheDirectives(Map<String, String> directives) {
+        this.directives = directives;
+    }
+
+    public static CacheDirectives parse(List<String> headerValues) {
+        if (headerValues == null || headerValues.isEmpty()) {
+            return NONE;
+        }
+        Map<String, String> directives = new HashMap<>();
+        for (String headerValue : headerValues) {
+            for (String directive : headerValue.split(",")) {
+                String trimmed = directive.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                int equals = trimmed.indexOf('=');
+                String name = (equals < 0 ? trimmed : trimmed.substring(0, equals)).trim().toLowerCase(Locale.ROOT);
+                String value = equals < 0 ? "" : trimmed.substring(equals + 1).trim().replace("\"", "");
+                directives.putIfAbsent(name, value);
+            }
+        }
+        return new CacheDirectives(directives);
+    }
+
+    public boolean isEmpty() {
+        return directives.isEmpty();
+    }
+
+    public boolean has(String name) {
+        return directives.containsKey(name);
+    }
+
+    /**
+     * The value of a delta-seconds directive such as {@code max-age}, or -1 if it is absent or malformed.
+     */
+    public long seconds(String name) {
+        String value = directives.get(name);
+        if (value == null || value.isEmpty()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.grambasket.gatewayservice.cache;
+
+import lombok.Value;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * A response kept by the gateway response cache. It is fresh for {@code freshMillis} after it was stored and
+ * may then be served stale for another {@code staleMillis} while it is revalidated in the background.
+ */
+@Value
+public class CachedResponse {
+
+    private static final int HEADER_OVERHEAD = 64;
+
+    int status;
+    HttpHeaders headers;
+    byte[] body;
+    long storedAt;
+    long freshMillis;
+    long staleMillis;
+
+    public boolean isFresh(long now) {
+        return now - storedAt < freshMillis;
+    }
+
+    public boolean isServableStale(long now) {
+        return now - storedAt < freshMillis + staleMillis;
+    }
+
+    public long ageSeconds(long now) {
+        return Math.max(0, (now - storedAt) / 1000);
+    }
+
+    public int weight() {
+        int weight = body.length + HEADER_OVERHEAD;
+        for (var header : headers.headerSet()) {
+            weight += header.getKey().length();
+            for (String value : header.getValue()) {
+                weight += value.length();
+            }
+        }
+        return weight;
+    }
+}
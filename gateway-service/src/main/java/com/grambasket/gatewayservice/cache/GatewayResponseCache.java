@@ -0,0 +1,139 @@
+package com.grambasket.gatewayservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Storage behind the {@code ResponseCache} route filter. Responses are kept in one Caffeine cache bounded by
+ * {@code grambasket.gateway.response-cache.max-size} and weighed by their size. Responses that carry a
+ * {@code Vary} header are stored once per combination of the listed request header values; the header names
+ * are remembered per resource so a lookup can build the variant key before the response is known.
+ * <p>
+ * Lookups are counted per route and result ({@code hit}, {@code stale}, {@code miss}, {@code bypass}) as
+ * {@code gateway.response.cache.requests}, and the body bytes served from the cache as
+ * {@code gateway.response.cache.bytes.saved}.
+ */
+@Component
+public class GatewayResponseCache {
+
+    private static final int MAX_RESOURCES = 100_000;
+
+    private final Cache<String, CachedResponse> responses;
+    private final Cache<String, List<String>> varyByResource;
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final Meter.MeterProvider<Counter> lookupCounters;
+    private final Meter.MeterProvider<Counter> bytesSavedCounters;
+    private final int maxEntrySize;
+
+    public GatewayResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.lookupCounters = Counter.builder("gateway.response.cache.requests")
+                .description("Response cache lookups per route and result")
+                .withRegistry(meterRegistry);
+        this.bytesSavedCounters = Counter.builder("gateway.response.cache.bytes.saved")
+                .description("Body bytes served from the response cache instead of upstream")
+                .baseUnit("bytes")
+                .withRegistry(meterRegistry);
+        this.maxEntrySize = (int) Math.min(Integer.MAX_VALUE, properties.getMaxEntrySize().toBytes());
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.weight())
+                .expireAfter(new ServableLifetime())
+                .build();
+        this.varyByResource = Caffeine.newBuilder()
+                .maximumSize(MAX_RESOURCES)
+                .expireAfterAccess(Duration.ofHours(1))
+                .build();
+        Gauge.builder("gateway.response.cache.size", responses, cache -> cache.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L))
+                .description("Bytes held by the gateway response cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("gateway.response.cache.entries", responses, Cache::estimatedSize)
+                .description("Responses held by the gateway response cache")
+                .register(meterRegistry);
+    }
+
+    public int getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    /**
+     * The key of the stored variant of {@code resource} that matches the request headers.
+     */
+    public String variantKey(String resource, HttpHeaders requestHeaders) {
+        List<String> vary = varyByResource.getIfPresent(resource);
+        return vary == null ? resource : variantKey(resource, vary, requestHeaders);
+    }
+
+    public CachedResponse get(String variantKey) {
+        return responses.getIfPresent(variantKey);
+    }
+
+    public void put(String resource, HttpHeaders requestHeaders, CachedResponse response) {
+        List<String> vary = response.getHeaders().getVary();
+        if (vary.isEmpty()) {
+            varyByResource.invalidate(resource);
+            responses.put(resource, response);
+        } else {
+            varyByResource.put(resource, vary);
+            responses.put(variantKey(resource, vary, requestHeaders), response);
+        }
+    }
+
+    /**
+     * Claims the background revalidation of a stale entry; only one caller gets {@code true} until it is released.
+     */
+    public boolean beginRevalidation(String variantKey) {
+        return revalidating.add(variantKey);
+    }
+
+    public void endRevalidation(String variantKey) {
+        revalidating.remove(variantKey);
+    }
+
+    public void recordLookup(String routeId, String result) {
+        lookupCounters.withTags("route", routeId, "result", result).increment();
+    }
+
+    public void recordBytesSaved(String routeId, int bytes) {
+        bytesSavedCounters.withTags("route", routeId).increment(bytes);
+    }
+
+    private static String variantKey(String resource, List<String> vary, HttpHeaders requestHeaders) {
+        StringBuilder key = new StringBuilder(resource);
+        for (String header : vary) {
+            key.append('\n').append(header).append(':').append(String.join(",", requestHeaders.getOrEmpty(header)));
+        }
+        return key.toString();
+    }
+
+    private static final class ServableLifetime implements Expiry<String, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+            return Duration.ofMillis(value.getFreshMillis() + value.getStaleMillis()).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.grambasket.gatewayservice.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@Component
+@ConfigurationProperties(prefix = "grambasket.gateway.response-cache")
+@Data
+public class ResponseCacheProperties {
+
+    /**
+     * Memory budget shared by all cached responses (body plus headers). Entries are evicted by size and frequency.
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Responses with a larger body are forwarded but never cached.
+     */
+    private DataSize maxEntrySize = DataSize.ofKilobytes(512);
+}
@@ -1,71 +1,89 @@
 package com.grambasket.gatewayservice.config;
 
+import com.grambasket.gatewayservice.filter.PrefixRewriteGatewayFilterFactory;
+import com.grambasket.gatewayservice.filter.RequestCoalescingGatewayFilterFactory;
+import com.grambasket.gatewayservice.filter.ResponseCacheGatewayFilterFactory;
+import com.grambasket.gatewayservice.route.GatewayRouteProperties;
+import com.grambasket.gatewayservice.route.GatewayRouteProperties.PrefixRoute;
+import com.grambasket.gatewayservice.route.PrefixRoutePredicateHandlerMapping;
+import com.grambasket.gatewayservice.route.PrefixRouteTable;
+import com.grambasket.gatewayservice.route.PrefixTrie;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping;
+import org.springframework.cloud.gateway.route.Route;
 import org.springframework.cloud.gateway.route.RouteLocator;
-import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 public class GatewayConfig {
 
+    /**
+     * Builds the routes from {@code grambasket.gateway.routes}. For each route:
+     * 1. prefix: The public-facing path prefix the gateway listens for.
+     * 2. target-prefix: Replaces the prefix to match the internal API path of the microservice.
+     * 3. uri: Forwards the request to the service using its name from Eureka (lb:// means load-balanced).
+     * 4. response-cache / coalescing: Optional GET response cache and request coalescing, in that order.
+     */
     @Bean
-    public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
-        return builder.routes()
-                // The pattern for each route is:
-                // 1. path(): The public-facing URL the gateway will listen for.
-                // 2. filters(): Rewrites the path to match the internal API path of the microservice.
-                // 3. uri(): Forwards the request to the correct service using its name from Eureka (lb:// means load-balanced).
-
-                .route("auth-service", r -> r
-                        .path("/grambasket/api/auth-service/**")
-                        .filters(f -> f.rewritePath("/grambasket/api/auth-service/(?<segment>.*)", "/api/auth-service/${segment}"))
-                        .uri("lb://auth-service"))
-
-                .route("user-service", r -> r
-                        .path("/grambasket/api/user-service/**")
-                        .filters(f -> f.rewritePath("/grambasket/api/user-service/(?<segment>.*)", "/api/user-service/${segment}"))
-                        .uri("lb://user-service"))
-
-                .route("product-service", r -> r
-                        .path("/grambasket/api/product-service/**")
-                        .filters(f -> f.rewritePath("/grambasket/api/product-service/(?<segment>.*)", "/api/product-service/${segment}"))
-                        .uri("lb://product-service"))
-
-                .route("inventory-service", r -> r
-                        .path("/grambasket/api/inventory-service/**")
-                        .filters(f -> f.rewritePath("/grambasket/api/inventory-service/(?<segment>.*)", "/api/inventory-service/${segment}"))
-                        .uri("lb://inventory-service"))
-
-                .route("cart-service", r -> r
-                        .path("/grambasket/api/cart-service/**")
-                        .filters(f -> f.rewritePath("/grambasket/api/cart-service/(?<segment>.*)", "/api/cart-service/${segment}"))
-                        .uri("lb://cart-service"))
+    public PrefixRouteTable prefixRouteTable(GatewayRouteProperties properties, PrefixRewriteGatewayFilterFactory prefixRewrite,
+                                             ResponseCacheGatewayFilterFactory responseCache,
+                                             RequestCoalescingGatewayFilterFactory requestCoalescing) {
+        List<Route> routes = new ArrayList<>();
+        PrefixTrie<Route> trie = new PrefixTrie<>();
+        for (PrefixRoute definition : properties.getRoutes()) {
+            if (!StringUtils.hasText(definition.getId()) || !StringUtils.hasText(definition.getPrefix()) || definition.getUri() == null) {
+                throw new IllegalStateException("Gateway route " + definition + " needs an id, a prefix and a uri");
+            }
+            List<GatewayFilter> filters = new ArrayList<>();
+            if (definition.getTargetPrefix() != null) {
+                filters.add(prefixRewrite.apply(c -> {
+                    c.setPrefix(definition.getPrefix());
+                    c.setReplacement(definition.getTargetPrefix());
+                }));
+            }
+            if (definition.getResponseCache() != null) {
+                filters.add(responseCache.apply(definition.getResponseCache()));
+            }
+            if (definition.getCoalescing() != null) {
+                filters.add(requestCoalescing.apply(definition.getCoalescing()));
+            }
 
-                .route("order-service", r -> r
-                        .path("/grambasket/api/order-service/**")
-                        .filters(f -> f.rewritePath("/grambasket/api/order-service/(?<segment>.*)", "/api/order-service/${segment}"))
-                        .uri("lb://order-service"))
-
-                .route("payment-service", r -> r
-                        .path("/grambasket/api/payment-service/**")
-                        .filters(f -> f.rewritePath("/grambasket/api/payment-service/(?<segment>.*)", "/api/payment-service/${segment}"))
-                        .uri("lb://payment-service"))
-
-                .route("notification-service", r -> r
-                        .path("/grambasket/api/notification-service/**")
-                        .filters(f -> f.rewritePath("/grambasket/api/notification-service/(?<segment>.*)", "/api/notification-service/${segment}"))
-                        .uri("lb://notification-service"))
-
-                .route("delivery-service", r -> r
-                        .path("/grambasket/api/delivery-service/**")
-                        .filters(f -> f.rewritePath("/grambasket/api/delivery-service/(?<segment>.*)", "/api/delivery-service/${segment}"))
-                        .uri("lb://delivery-service"))
+            String prefix = StringUtils.trimTrailingCharacter(definition.getPrefix(), '/');
+            List<GatewayFilter> orderedFilters = new ArrayList<>(filters.size());
+            for (int i = 0; i < filters.size(); i++) {
+                // Same ordering as routes defined in spring.cloud.gateway.routes: filters run in declaration order.
+                orderedFilters.add(new OrderedGatewayFilter(filters.get(i), i + 1));
+            }
+            Route route = Route.async()
+                    .id(definition.getId())
+                    .uri(definition.getUri())
+                    // Only consulted when the prefix table has no match; mirrors the table's segment-wise prefix match.
+                    .predicate(exchange -> hasPrefix(exchange.getRequest().getURI().getRawPath(), prefix))
+                    .filters(orderedFilters)
+                    .build();
+            trie.put(prefix, route);
+            routes.add(route);
+        }
+        return new PrefixRouteTable(routes, trie);
+    }
 
-                .route("review-rating-service", r -> r
-                        .path("/grambasket/api/review-rating-service/**")
-                        .filters(f -> f.rewritePath("/grambasket/api/review-rating-service/(?<segment>.*)", "/api/review-rating-service/${segment}"))
-                        .uri("lb://review-rating-service"))
+    @Bean
+    public RoutePredicateHandlerMapping prefixRoutePredicateHandlerMapping(FilteringWebHandler webHandler, RouteLocator routeLocator,
+                                                                           GlobalCorsProperties globalCorsProperties,
+                                                                           Environment environment, PrefixRouteTable prefixRouteTable) {
+        return new PrefixRoutePredicateHandlerMapping(webHandler, routeLocator, globalCorsProperties, environment, prefixRouteTable);
+    }
 
-                .build();
+    private static boolean hasPrefix(String path, String prefix) {
+        return path.startsWith(prefix) && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/');
     }
-}
\ No newline at end of file
+}
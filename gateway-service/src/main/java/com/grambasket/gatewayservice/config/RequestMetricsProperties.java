@@ -0,0 +1,51 @@
+package com.grambasket.gatewayservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "grambasket.gateway.observability")
+@Data
+public class RequestMetricsProperties {
+
+    /**
+     * Lower bound of the latency histogram buckets; faster requests all fall into the first bucket.
+     */
+    private Duration minimumExpectedLatency = Duration.ofMillis(1);
+
+    /**
+     * Upper bound of the latency histogram buckets; slower requests all fall into the last bucket.
+     */
+    private Duration maximumExpectedLatency = Duration.ofSeconds(30);
+
+    private AccessLog accessLog = new AccessLog();
+
+    @Data
+    public static class AccessLog {
+
+        private boolean enabled = true;
+
+        /**
+         * File of the access log, read by {@code logback-spring.xml}; rolled daily and at 100MB.
+         */
+        private String file = "logs/gateway-access.log";
+
+        /**
+         * Fraction of ordinary requests written to the access log, between 0 and 1.
+         */
+        private double sampleRate = 0.01;
+
+        /**
+         * Requests that fail with a 5xx status or an error are always logged, regardless of the sample rate.
+         */
+        private boolean alwaysLogErrors = true;
+
+        /**
+         * Requests slower than this are always logged, regardless of the sample rate.
+         */
+        private Duration slowThreshold = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,93 @@
+package com.grambasket.gatewayservice.filter;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Copies the body of a response while it streams to the client, so it can be replayed to other requests later
+ * with {@link #write}. Subclasses decide per response whether to capture it, once status and headers are final.
+ * Bodies larger than {@link #maxCaptureSize()} are passed through without being handed over.
+ */
+abstract class CapturingResponseDecorator extends ServerHttpResponseDecorator {
+
+    // Connection-level headers that describe the original transfer, not the response that is replayed.
+    private static final List<String> TRANSFER_HEADERS = List.of(
+            HttpHeaders.CONNECTION, HttpHeaders.TRANSFER_ENCODING, "Keep-Alive", HttpHeaders.CONTENT_LENGTH);
+
+    CapturingResponseDecorator(ServerHttpResponse delegate) {
+        super(delegate);
+    }
+
+    /**
+     * Returns the consumer of the complete body, or {@code null} if this response must not be captured.
+     */
+    protected abstract Consumer<byte[]> capturedBodyConsumer();
+
+    protected abstract long maxCaptureSize();
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        return super.writeWith(capture(Flux.from(body)));
+    }
+
+    protected Flux<? extends DataBuffer> capture(Flux<? extends DataBuffer> body) {
+        Consumer<byte[]> consumer = capturedBodyConsumer();
+        if (consumer == null) {
+            return body;
+        }
+        long limit = maxCaptureSize();
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        boolean[] tooLarge = {false};
+        return body
+                .doOnNext(buffer -> {
+                    int length = buffer.readableByteCount();
+                    if (tooLarge[0] || copy.size() + length > limit) {
+                        tooLarge[0] = true;
+                        return;
+                    }
+                    ByteBuffer bytes = ByteBuffer.allocate(length);
+                    buffer.toByteBuffer(buffer.readPosition(), bytes, 0, length);
+                    copy.write(bytes.array(), 0, length);
+                })
+                .doOnComplete(() -> {
+                    if (!tooLarge[0]) {
+                        consumer.accept(copy.toByteArray());
+                    }
+                });
+    }
+
+    /**
+     * Read-only copy of {@code headers} without the transfer headers and the given extra ones, ready to replay.
+     */
+    static HttpHeaders replayableHeaders(HttpHeaders headers, String... alsoRemoved) {
+        HttpHeaders copy = new HttpHeaders();
+        copy.putAll(headers);
+        TRANSFER_HEADERS.forEach(copy::remove);
+        for (String header : alsoRemoved) {
+            copy.remove(header);
+        }
+        return HttpHeaders.readOnlyHttpHeaders(copy);
+    }
+
+    /**
+     * Writes a captured response to another client. Headers already set on {@code response} are kept unless the
+     * captured ones replace them.
+     */
+    static Mono<Void> write(ServerHttpResponse response, HttpStatusCode status, HttpHeaders headers, byte[] body) {
+        response.setStatusCode(status);
+        response.getHeaders().putAll(headers);
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body)));
+    }
+}
@@ -0,0 +1,70 @@
+package com.grambasket.gatewayservice.filter;
+
+import com.grambasket.gatewayservice.security.GatewayTokenVerifier;
+import com.grambasket.gatewayservice.security.IdentityRelayProperties;
+import com.grambasket.gatewayservice.security.VerifiedIdentity;
+import com.grambasket.identity.IdentityHeaders;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Verifies the bearer token once at the edge and forwards signed identity headers instead of the token.
+ * Client-supplied identity headers are always removed so they cannot be spoofed. Requests with a missing
+ * or invalid token are forwarded anonymously and left to the downstream authorization rules.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdentityRelayGlobalFilter implements GlobalFilter, Ordered {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final IdentityRelayProperties properties;
+    private final GatewayTokenVerifier tokenVerifier;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.getRelay().isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        VerifiedIdentity identity = authHeader != null && authHeader.startsWith(BEARER_PREFIX)
+                ? tokenVerifier.verify(authHeader.substring(BEARER_PREFIX.length())).orElse(null)
+                : null;
+
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    IdentityHeaders.ALL.forEach(headers::remove);
+                    if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
+                        headers.remove(HttpHeaders.AUTHORIZATION);
+                    }
+                    if (identity != null) {
+                        headers.set(IdentityHeaders.USER_ID, identity.getUserId());
+                        headers.set(IdentityHeaders.ROLES, identity.getRoles());
+                        headers.set(IdentityHeaders.ROLES_VERSION, String.valueOf(identity.getRolesVersion()));
+                        headers.set(IdentityHeaders.EXPIRES_AT, String.valueOf(identity.getExpiresAt().getEpochSecond()));
+                        headers.set(IdentityHeaders.SIGNATURE, identity.getSignature());
+                    }
+                })
+                .build();
+
+        if (identity == null && authHeader != null) {
+            log.debug("Forwarding request to '{}' anonymously: bearer token was rejected.", request.getPath());
+        }
+        return chain.filter(exchange.mutate().request(request).build());
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+}
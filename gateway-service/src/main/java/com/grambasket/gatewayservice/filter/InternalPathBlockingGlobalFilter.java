@@ -0,0 +1,42 @@
+package com.grambasket.gatewayservice.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Answers 404 for any path with an {@code internal} segment, so the service-to-service endpoints of the
+ * downstream services (profile creation and lookup, credential deletion, cache invalidation) are never reachable
+ * from outside. Segments are compared decoded and without matrix parameters, so {@code %69nternal} or
+ * {@code internal;x=1} do not slip through.
+ */
+@Component
+@Slf4j
+public class InternalPathBlockingGlobalFilter implements GlobalFilter, Ordered {
+
+    private static final String INTERNAL_SEGMENT = "internal";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        boolean internal = exchange.getRequest().getPath().elements().stream()
+                .anyMatch(element -> element instanceof PathContainer.PathSegment segment
+                        && INTERNAL_SEGMENT.equalsIgnoreCase(segment.valueToMatch()));
+        if (!internal) {
+            return chain.filter(exchange);
+        }
+        log.warn("Blocked external request to internal path '{}'.", exchange.getRequest().getPath());
+        exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+        return exchange.getResponse().setComplete();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
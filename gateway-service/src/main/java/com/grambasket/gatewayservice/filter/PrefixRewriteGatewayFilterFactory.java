@@ -0,0 +1,60 @@
+package com.grambasket.gatewayservice.filter;
+
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.addOriginalRequestUrl;
+
+/**
+ * Replaces a leading path prefix, e.g. {@code /grambasket/api/user-service/users/me} to
+ * {@code /api/user-service/users/me} with {@code prefix=/grambasket/api/user-service} and
+ * {@code replacement=/api/user-service}. Does the job of a {@code RewritePath} with a {@code (?<segment>.*)}
+ * pattern without running a regex on every request. Paths that do not start with the prefix on a segment
+ * boundary are forwarded unchanged.
+ */
+@Component
+public class PrefixRewriteGatewayFilterFactory extends AbstractGatewayFilterFactory<PrefixRewriteGatewayFilterFactory.Config> {
+
+    public PrefixRewriteGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("prefix", "replacement");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String prefix = stripTrailingSlash(config.getPrefix());
+        String replacement = stripTrailingSlash(config.getReplacement() != null ? config.getReplacement() : "");
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String path = request.getURI().getRawPath();
+            if (!path.startsWith(prefix) || (path.length() > prefix.length() && path.charAt(prefix.length()) != '/')) {
+                return chain.filter(exchange);
+            }
+            String newPath = replacement + path.substring(prefix.length());
+            addOriginalRequestUrl(exchange, request.getURI());
+            ServerHttpRequest rewritten = request.mutate().path(newPath.isEmpty() ? "/" : newPath).build();
+            exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, rewritten.getURI());
+            return chain.filter(exchange.mutate().request(rewritten).build());
+        };
+    }
+
+    private static String stripTrailingSlash(String path) {
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    @Data
+    public static class Config {
+        private String prefix;
+        private String replacement;
+    }
+}
@@ -0,0 +1,166 @@
+package com.grambasket.gatewayservice.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Collapses identical concurrent GETs onto one upstream call. The first request for a key is forwarded and its
+ * response body is copied while it streams to that client; requests for the same key that arrive meanwhile wait
+ * for it and get the same status, headers and body.
+ * <p>
+ * The key is the route, raw path and query, the configured {@code keyHeaders} and a digest of the request's
+ * credentials, so authenticated users only share responses with their own concurrent requests. Waiting requests
+ * fall back to their own upstream call if the shared response is larger than {@code maxBodySize}, sets a cookie,
+ * is streamed, fails, or takes longer than {@code maxWait}.
+ * <p>
+ * Requests are counted as {@code gateway.request.coalescing.requests} per route and result ({@code leader},
+ * {@code joined}, {@code fallback}); {@code gateway.request.coalescing.in.flight} is the number of upstream calls
+ * that requests can currently join.
+ */
+@Component
+public class RequestCoalescingGatewayFilterFactory extends AbstractGatewayFilterFactory<RequestCoalescingGatewayFilterFactory.Config> {
+
+    private static final SharedResponse NOT_SHARED = new SharedResponse(null, HttpHeaders.EMPTY, new byte[0]);
+
+    private final Map<String, Sinks.One<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Meter.MeterProvider<Counter> requestCounters;
+
+    public RequestCoalescingGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.requestCounters = Counter.builder("gateway.request.coalescing.requests")
+                .description("GETs handled by request coalescing per route and result")
+                .withRegistry(meterRegistry);
+        Gauge.builder("gateway.request.coalescing.in.flight", inFlight, Map::size)
+                .description("Distinct GETs currently forwarded on behalf of identical concurrent requests")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            if (exchange.getRequest().getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+            String routeId = RequestKeys.routeId(exchange);
+            String key = key(exchange, config);
+            Sinks.One<SharedResponse> call = Sinks.one();
+            Sinks.One<SharedResponse> leader = inFlight.putIfAbsent(key, call);
+
+            if (leader != null) {
+                return leader.asMono()
+                        .timeout(config.getMaxWait(), Mono.just(NOT_SHARED))
+                        .flatMap(shared -> {
+                            if (shared == NOT_SHARED) {
+                                record(routeId, "fallback");
+                                return chain.filter(exchange);
+                            }
+                            record(routeId, "joined");
+                            return CapturingResponseDecorator.write(exchange.getResponse(), shared.getStatus(), shared.getHeaders(), shared.getBody());
+                        });
+            }
+
+            record(routeId, "leader");
+            SharingResponse response = new SharingResponse(exchange.getResponse(), config.getMaxBodySize().toBytes(), call);
+            return chain.filter(exchange.mutate().response(response).build())
+                    .doFinally(signal -> {
+                        inFlight.remove(key, call);
+                        // No-op if the response was already shared; otherwise releases the waiting requests.
+                        call.tryEmitValue(NOT_SHARED);
+                    });
+        };
+    }
+
+    private static String key(ServerWebExchange exchange, Config config) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        StringBuilder key = new StringBuilder(RequestKeys.resource(exchange));
+        for (String header : config.getKeyHeaders()) {
+            key.append('\n').append(header).append(':').append(String.join(",", headers.getOrEmpty(header)));
+        }
+        String credentials = RequestKeys.credentials(headers);
+        if (credentials != null) {
+            key.append('\n').append(RequestKeys.digest(credentials));
+        }
+        return key.toString();
+    }
+
+    private void record(String routeId, String result) {
+        requestCounters.withTags("route", routeId, "result", result).increment();
+    }
+
+    @Data
+    public static class Config {
+        /**
+         * Request headers that select a different response and therefore belong to the key.
+         */
+        private List<String> keyHeaders = List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING, HttpHeaders.ACCEPT_LANGUAGE);
+
+        /**
+         * Responses with a larger body are not shared; waiting requests then make their own upstream call.
+         */
+        private DataSize maxBodySize = DataSize.ofMegabytes(1);
+
+        /**
+         * How long a request waits for the in-flight call before it makes its own.
+         */
+        private Duration maxWait = Duration.ofSeconds(5);
+    }
+
+    @Value
+    private static class SharedResponse {
+        HttpStatusCode status;
+        HttpHeaders headers;
+        byte[] body;
+    }
+
+    /**
+     * Copies the body of the leading request's response while it streams to its client and hands the
+     * complete response to the waiting requests.
+     */
+    private static final class SharingResponse extends CapturingResponseDecorator {
+
+        private final long maxBodySize;
+        private final Sinks.One<SharedResponse> call;
+
+        private SharingResponse(ServerHttpResponse delegate, long maxBodySize, Sinks.One<SharedResponse> call) {
+            super(delegate);
+            this.maxBodySize = maxBodySize;
+            this.call = call;
+        }
+
+        @Override
+        protected Consumer<byte[]> capturedBodyConsumer() {
+            HttpStatusCode status = getStatusCode();
+            if (status == null || getHeaders().containsKey(HttpHeaders.SET_COOKIE)) {
+                return null;
+            }
+            HttpHeaders headers = replayableHeaders(getHeaders());
+            return body -> call.tryEmitValue(new SharedResponse(status, headers, body));
+        }
+
+        @Override
+        protected long maxCaptureSize() {
+            return maxBodySize;
+        }
+    }
+}
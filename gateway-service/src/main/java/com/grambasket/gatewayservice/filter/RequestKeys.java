@@ -0,0 +1,54 @@
+package com.grambasket.gatewayservice.filter;
+
+import com.grambasket.identity.IdentityHeaders;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Building blocks for the keys under which the route filters share responses between requests.
+ */
+final class RequestKeys {
+
+    private RequestKeys() {
+    }
+
+    static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    /**
+     * The route, raw path and raw query of the request, e.g. {@code product-service /api/products?page=2}.
+     */
+    static String resource(ServerWebExchange exchange) {
+        String query = exchange.getRequest().getURI().getRawQuery();
+        return routeId(exchange) + ' ' + exchange.getRequest().getURI().getRawPath() + '?' + (query != null ? query : "");
+    }
+
+    /**
+     * The bearer token or relayed user id the request is made with, or {@code null} for anonymous requests.
+     */
+    static String credentials(HttpHeaders headers) {
+        String authorization = headers.getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization != null) {
+            return authorization;
+        }
+        return headers.getFirst(IdentityHeaders.USER_ID);
+    }
+
+    static String digest(String credentials) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(credentials.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available in this JVM", e);
+        }
+    }
+}
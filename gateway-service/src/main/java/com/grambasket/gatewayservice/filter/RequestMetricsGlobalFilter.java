@@ -0,0 +1,146 @@
+package com.grambasket.gatewayservice.filter;
+
+import com.grambasket.gatewayservice.config.RequestMetricsProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every request through the gateway, from the first filter until the response is complete:
+ * <ul>
+ *     <li>{@code gateway.requests}: latency histogram per route, upstream instance ({@code host:port}, or
+ *     {@code none} if the gateway answered itself, e.g. from the response cache) and outcome. It is published
+ *     with percentile buckets, so p50/p99/p999 per route come from {@code histogram_quantile} in Prometheus.</li>
+ *     <li>{@code gateway.responses}: count per route and exact status code.</li>
+ * </ul>
+ * A sample of the requests, plus all failed and slow ones, is written as key-value pairs to the
+ * {@code gateway.access} logger, which {@code logback-spring.xml} sends through an asynchronous appender so
+ * the event loop never waits on log I/O.
+ */
+@Component
+public class RequestMetricsGlobalFilter implements GlobalFilter, Ordered {
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("gateway.access");
+    private static final String NONE = "none";
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+    // Recorded when the client goes away before the response is complete, as nginx does.
+    private static final int CLIENT_CLOSED_REQUEST = 499;
+
+    private final RequestMetricsProperties properties;
+    private final Meter.MeterProvider<Timer> requestTimers;
+    private final Meter.MeterProvider<Counter> responseCounters;
+
+    public RequestMetricsGlobalFilter(RequestMetricsProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.requestTimers = Timer.builder("gateway.requests")
+                .description("Latency of requests through the gateway per route and upstream instance")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(properties.getMinimumExpectedLatency())
+                .maximumExpectedValue(properties.getMaximumExpectedLatency())
+                .withRegistry(meterRegistry);
+        this.responseCounters = Counter.builder("gateway.responses")
+                .description("Responses of the gateway per route and status code")
+                .withRegistry(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doOnSuccess(done -> record(exchange, start, null, false))
+                .doOnError(error -> record(exchange, start, error, false))
+                .doOnCancel(() -> record(exchange, start, null, true));
+    }
+
+    private void record(ServerWebExchange exchange, long start, Throwable error, boolean cancelled) {
+        long durationNanos = System.nanoTime() - start;
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : NONE;
+        String instance = upstreamInstance(exchange);
+        int status = cancelled ? CLIENT_CLOSED_REQUEST : status(exchange, error);
+
+        requestTimers.withTags("route", routeId, "instance", instance, "outcome", outcome(status))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        responseCounters.withTags("route", routeId, "status", String.valueOf(status)).increment();
+
+        if (shouldLog(status, error, durationNanos)) {
+            LoggingEventBuilder event = ACCESS_LOG.atInfo()
+                    .addKeyValue("method", exchange.getRequest().getMethod().name())
+                    .addKeyValue("path", exchange.getRequest().getPath().value())
+                    .addKeyValue("route", routeId)
+                    .addKeyValue("instance", instance)
+                    .addKeyValue("status", status)
+                    .addKeyValue("duration_ms", TimeUnit.NANOSECONDS.toMillis(durationNanos));
+            String cacheStatus = exchange.getResponse().getHeaders().getFirst(CACHE_STATUS_HEADER);
+            if (cacheStatus != null) {
+                event = event.addKeyValue("cache", cacheStatus);
+            }
+            if (error != null) {
+                event = event.addKeyValue("error", error.getClass().getSimpleName());
+            }
+            event.log();
+        }
+    }
+
+    boolean shouldLog(int status, Throwable error, long durationNanos) {
+        RequestMetricsProperties.AccessLog accessLog = properties.getAccessLog();
+        if (!accessLog.isEnabled() || !ACCESS_LOG.isInfoEnabled()) {
+            return false;
+        }
+        if (accessLog.isAlwaysLogErrors() && (error != null || status >= 500)) {
+            return true;
+        }
+        return durationNanos >= accessLog.getSlowThreshold().toNanos()
+                || ThreadLocalRandom.current().nextDouble() < accessLog.getSampleRate();
+    }
+
+    // Only requests that were forwarded have an upstream; the request URL is then the chosen instance.
+    private static String upstreamInstance(ServerWebExchange exchange) {
+        URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (!ServerWebExchangeUtils.isAlreadyRouted(exchange) || requestUrl == null || requestUrl.getHost() == null) {
+            return NONE;
+        }
+        return requestUrl.getPort() < 0 ? requestUrl.getHost() : requestUrl.getHost() + ':' + requestUrl.getPort();
+    }
+
+    private static int status(ServerWebExchange exchange, Throwable error) {
+        if (error instanceof ResponseStatusException statusException) {
+            return statusException.getStatusCode().value();
+        }
+        if (error != null) {
+            return HttpStatus.INTERNAL_SERVER_ERROR.value();
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        return status != null ? status.value() : HttpStatus.OK.value();
+    }
+
+    private static String outcome(int status) {
+        HttpStatus.Series series = HttpStatus.Series.resolve(status);
+        return series != null ? series.name() : "UNKNOWN";
+    }
+
+    // Runs before the identity relay, so the timing includes token verification.
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 5;
+    }
+}
@@ -0,0 +1,306 @@
+package com.grambasket.gatewayservice.filter;
+
+import com.grambasket.gatewayservice.cache.CacheDirectives;
+import com.grambasket.gatewayservice.cache.CachedResponse;
+import com.grambasket.gatewayservice.cache.GatewayResponseCache;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Caches GET responses of a route in the gateway, following the {@code Cache-Control} and {@code Vary} headers
+ * of the upstream response:
+ * <ul>
+ *     <li>Only 200 responses without {@code Set-Cookie}, {@code no-store}, {@code no-cache} or {@code Vary: *} are
+ *     stored. They stay fresh for {@code s-maxage}, else {@code max-age}, else the route's {@code timeToLive}.</li>
+ *     <li>Once stale, a response is served for {@code stale-while-revalidate} (or the route default) more while
+ *     one request refreshes it in the background.</li>
+ *     <li>Requests that carry a bearer token or relayed identity headers bypass the cache unless the route sets
+ *     {@code cacheAuthorized}; the cache key then includes a digest of the credentials and {@code private}
+ *     responses may be stored.</li>
+ * </ul>
+ * Requests with {@code Cache-Control: no-store} bypass the cache and {@code no-cache} forces a refresh.
+ */
+@Component
+@Slf4j
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private final GatewayResponseCache cache;
+
+    public ResponseCacheGatewayFilterFactory(GatewayResponseCache cache) {
+        super(Config.class);
+        this.cache = cache;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+            String routeId = RequestKeys.routeId(exchange);
+            String credentials = RequestKeys.credentials(request.getHeaders());
+            CacheDirectives requestDirectives = CacheDirectives.parse(request.getHeaders().get(HttpHeaders.CACHE_CONTROL));
+            if ((credentials != null && !config.isCacheAuthorized()) || requestDirectives.has("no-store")) {
+                cache.recordLookup(routeId, "bypass");
+                return chain.filter(exchange);
+            }
+
+            String resource = RequestKeys.resource(exchange) + (credentials != null ? ' ' + RequestKeys.digest(credentials) : "");
+            String variantKey = cache.variantKey(resource, request.getHeaders());
+            CachedResponse cached = requestDirectives.has("no-cache") ? null : cache.get(variantKey);
+            long now = System.currentTimeMillis();
+
+            if (cached != null && cached.isFresh(now)) {
+                cache.recordLookup(routeId, "hit");
+                cache.recordBytesSaved(routeId, cached.getBody().length);
+                return write(exchange.getResponse(), cached, now, "HIT");
+            }
+            if (cached != null && cached.isServableStale(now)) {
+                cache.recordLookup(routeId, "stale");
+                cache.recordBytesSaved(routeId, cached.getBody().length);
+                Mono<Void> serveStale = write(exchange.getResponse(), cached, now, "STALE");
+                if (!cache.beginRevalidation(variantKey)) {
+                    return serveStale;
+                }
+                return serveStale.doFinally(signal -> revalidate(exchange, chain, resource, variantKey, config));
+            }
+
+            cache.recordLookup(routeId, "miss");
+            CachingResponse response = new CachingResponse(exchange.getResponse(), false, resource, request.getHeaders(), config);
+            return chain.filter(exchange.mutate().response(response).build());
+        };
+    }
+
+    /**
+     * Sends the request upstream again after the stale copy has been written to the client. The upstream
+     * response is only captured for the cache. The revalidation gets its own copy of the exchange attributes,
+     * so the routing filters do not see the original request as already routed, and an empty request body.
+     */
+    private void revalidate(ServerWebExchange exchange, GatewayFilterChain chain, String resource, String variantKey, Config config) {
+        ServerHttpRequest request = new ServerHttpRequestDecorator(exchange.getRequest()) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return Flux.empty();
+            }
+        };
+        CachingResponse response = new CachingResponse(exchange.getResponse(), true, resource, request.getHeaders(), config);
+        Map<String, Object> attributes = new ConcurrentHashMap<>(exchange.getAttributes());
+        List.of(ServerWebExchangeUtils.GATEWAY_ALREADY_ROUTED_ATTR, ServerWebExchangeUtils.CLIENT_RESPONSE_ATTR,
+                ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR, ServerWebExchangeUtils.CLIENT_RESPONSE_HEADER_NAMES)
+                .forEach(attributes::remove);
+        ServerWebExchange revalidation = new ServerWebExchangeDecorator(exchange) {
+            @Override
+            public ServerHttpRequest getRequest() {
+                return request;
+            }
+
+            @Override
+            public ServerHttpResponse getResponse() {
+                return response;
+            }
+
+            @Override
+            public Map<String, Object> getAttributes() {
+                return attributes;
+            }
+        };
+        chain.filter(revalidation)
+                .doFinally(signal -> cache.endRevalidation(variantKey))
+                .subscribe(null, error -> log.warn("Background revalidation of '{}' failed: {}", resource, error.getMessage()));
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, CachedResponse cached, long now, String cacheStatus) {
+        response.getHeaders().set(HttpHeaders.AGE, String.valueOf(cached.ageSeconds(now)));
+        response.getHeaders().set(CACHE_STATUS_HEADER, cacheStatus);
+        return CapturingResponseDecorator.write(response, HttpStatusCode.valueOf(cached.getStatus()), cached.getHeaders(), cached.getBody());
+    }
+
+    @Data
+    public static class Config {
+        /**
+         * Freshness of responses without {@code max-age} or {@code s-maxage}; unset means they are not cached.
+         */
+        private Duration timeToLive;
+
+        /**
+         * How long a stale response may still be served while it is refreshed, unless the response sets
+         * {@code stale-while-revalidate} itself.
+         */
+        private Duration staleWhileRevalidate = Duration.ZERO;
+
+        /**
+         * Also cache requests that carry credentials, keyed per credential.
+         */
+        private boolean cacheAuthorized = false;
+    }
+
+    /**
+     * Copies the body of a cacheable response while it streams to the client and stores it once complete.
+     * A detached response only feeds the cache and never touches the client connection.
+     */
+    private final class CachingResponse extends CapturingResponseDecorator {
+
+        private final boolean detached;
+        private final String resource;
+        private final HttpHeaders requestHeaders;
+        private final Config config;
+        private final HttpHeaders detachedHeaders = new HttpHeaders();
+        private final MultiValueMap<String, ResponseCookie> detachedCookies = new LinkedMultiValueMap<>();
+        private HttpStatusCode detachedStatus = HttpStatus.OK;
+
+        private CachingResponse(ServerHttpResponse delegate, boolean detached, String resource, HttpHeaders requestHeaders, Config config) {
+            super(delegate);
+            this.detached = detached;
+            this.resource = resource;
+            this.requestHeaders = requestHeaders;
+            this.config = config;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return detached ? capture(Flux.from(body)).doOnNext(DataBufferUtils::release).then() : super.writeWith(body);
+        }
+
+        // Streamed responses such as server-sent events are passed through and never cached.
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            if (detached) {
+                return Flux.from(body).concatMap(Flux::from).doOnNext(DataBufferUtils::release).then();
+            }
+            return super.writeAndFlushWith(body);
+        }
+
+        @Override
+        protected Consumer<byte[]> capturedBodyConsumer() {
+            CachedResponse metadata = cacheable(System.currentTimeMillis());
+            if (metadata == null) {
+                return null;
+            }
+            return body -> cache.put(resource, requestHeaders, new CachedResponse(metadata.getStatus(), metadata.getHeaders(),
+                    body, metadata.getStoredAt(), metadata.getFreshMillis(), metadata.getStaleMillis()));
+        }
+
+        @Override
+        protected long maxCaptureSize() {
+            return cache.getMaxEntrySize();
+        }
+
+        /**
+         * Decides from status and headers whether the response may be stored and returns its cache metadata
+         * without a body, or {@code null} if it must not be cached.
+         */
+        private CachedResponse cacheable(long now) {
+            HttpStatusCode status = getStatusCode();
+            HttpHeaders headers = getHeaders();
+            if (status == null || status.value() != HttpStatus.OK.value() || headers.containsKey(HttpHeaders.SET_COOKIE)
+                    || headers.getVary().contains("*") || headers.getContentLength() > cache.getMaxEntrySize()) {
+                return null;
+            }
+            CacheDirectives directives = CacheDirectives.parse(headers.get(HttpHeaders.CACHE_CONTROL));
+            if (directives.has("no-store") || directives.has("no-cache") || (directives.has("private") && !config.isCacheAuthorized())) {
+                return null;
+            }
+            long freshSeconds = directives.seconds("s-maxage");
+            if (freshSeconds < 0) {
+                freshSeconds = directives.seconds("max-age");
+            }
+            long freshMillis = freshSeconds >= 0 ? freshSeconds * 1000
+                    : config.getTimeToLive() != null ? config.getTimeToLive().toMillis() : 0;
+            String upstreamAge = headers.getFirst(HttpHeaders.AGE);
+            if (upstreamAge != null && !upstreamAge.isEmpty() && upstreamAge.chars().allMatch(Character::isDigit)) {
+                freshMillis -= Long.parseLong(upstreamAge) * 1000;
+            }
+            if (freshMillis <= 0) {
+                return null;
+            }
+            long staleSeconds = directives.seconds("stale-while-revalidate");
+            long staleMillis = directives.has("must-revalidate") || directives.has("proxy-revalidate") ? 0
+                    : staleSeconds >= 0 ? staleSeconds * 1000 : config.getStaleWhileRevalidate().toMillis();
+
+            HttpHeaders stored = replayableHeaders(headers, HttpHeaders.AGE, CACHE_STATUS_HEADER);
+            return new CachedResponse(status.value(), stored, new byte[0], now, freshMillis, staleMillis);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return detached ? detachedHeaders : super.getHeaders();
+        }
+
+        @Override
+        public boolean setStatusCode(HttpStatusCode status) {
+            if (detached) {
+                detachedStatus = status;
+                return true;
+            }
+            return super.setStatusCode(status);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return detached ? detachedStatus : super.getStatusCode();
+        }
+
+        @Override
+        public MultiValueMap<String, ResponseCookie> getCookies() {
+            return detached ? detachedCookies : super.getCookies();
+        }
+
+        @Override
+        public void addCookie(ResponseCookie cookie) {
+            if (detached) {
+                detachedCookies.add(cookie.getName(), cookie);
+            } else {
+                super.addCookie(cookie);
+            }
+        }
+
+        @Override
+        public boolean isCommitted() {
+            return !detached && super.isCommitted();
+        }
+
+        @Override
+        public void beforeCommit(Supplier<? extends Mono<Void>> action) {
+            if (!detached) {
+                super.beforeCommit(action);
+            }
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            return detached ? Mono.empty() : super.setComplete();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.grambasket.gatewayservice.route;
+
+import com.grambasket.gatewayservice.filter.RequestCoalescingGatewayFilterFactory;
+import com.grambasket.gatewayservice.filter.ResponseCacheGatewayFilterFactory;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "grambasket.gateway")
+@Data
+public class GatewayRouteProperties {
+
+    /**
+     * The route table. A request goes to the route with the longest matching {@code prefix}.
+     */
+    private List<PrefixRoute> routes = new ArrayList<>();
+
+    @Data
+    public static class PrefixRoute {
+
+        private String id;
+
+        /**
+         * Public path prefix, matched segment by segment, e.g. {@code /grambasket/api/user-service}.
+         */
+        private String prefix;
+
+        /**
+         * Replaces {@code prefix} in the forwarded path, e.g. {@code /api/user-service}; unset forwards the path unchanged.
+         */
+        private String targetPrefix;
+
+        private URI uri;
+
+        /**
+         * Caches GET responses of the route; unset disables the response cache.
+         */
+        private ResponseCacheGatewayFilterFactory.Config responseCache;
+
+        /**
+         * Collapses identical concurrent GETs of the route; unset disables coalescing.
+         */
+        private RequestCoalescingGatewayFilterFactory.Config coalescing;
+    }
+}
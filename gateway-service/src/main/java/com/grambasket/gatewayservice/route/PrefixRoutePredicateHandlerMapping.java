@@ -0,0 +1,39 @@
+package com.grambasket.gatewayservice.route;
+
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.core.env.Environment;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_PREDICATE_ROUTE_ATTR;
+
+/**
+ * Resolves requests against the {@link PrefixRouteTable} in one trie lookup. Requests that match none of its
+ * prefixes fall back to evaluating the predicates of all other routes, as the default mapping does.
+ */
+public class PrefixRoutePredicateHandlerMapping extends RoutePredicateHandlerMapping {
+
+    private final PrefixRouteTable routeTable;
+
+    public PrefixRoutePredicateHandlerMapping(FilteringWebHandler webHandler, RouteLocator routeLocator,
+                                              GlobalCorsProperties globalCorsProperties, Environment environment,
+                                              PrefixRouteTable routeTable) {
+        super(webHandler, routeLocator, globalCorsProperties, environment);
+        this.routeTable = routeTable;
+    }
+
+    @Override
+    protected Mono<Route> lookupRoute(ServerWebExchange exchange) {
+        Route route = routeTable.lookup(exchange.getRequest().getURI().getRawPath());
+        if (route == null) {
+            return super.lookupRoute(exchange);
+        }
+        exchange.getAttributes().put(GATEWAY_PREDICATE_ROUTE_ATTR, route.getId());
+        validateRoute(route, exchange);
+        return Mono.just(route);
+    }
+}
@@ -0,0 +1,35 @@
+package com.grambasket.gatewayservice.route;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * The routes of {@link GatewayRouteProperties}, indexed by prefix. {@link PrefixRoutePredicateHandlerMapping}
+ * resolves requests through {@link #lookup(String)} instead of testing every route predicate in turn; the
+ * routes are also published as a {@link RouteLocator} so they show up wherever the gateway lists its routes.
+ */
+public class PrefixRouteTable implements RouteLocator {
+
+    private final List<Route> routes;
+    private final PrefixTrie<Route> trie;
+
+    public PrefixRouteTable(List<Route> routes, PrefixTrie<Route> trie) {
+        this.routes = List.copyOf(routes);
+        this.trie = trie;
+    }
+
+    /**
+     * The route with the longest prefix of the raw request path, or {@code null} if no prefix matches.
+     */
+    public Route lookup(String path) {
+        return trie.longestPrefixMatch(path);
+    }
+
+    @Override
+    public Flux<Route> getRoutes() {
+        return Flux.fromIterable(routes);
+    }
+}
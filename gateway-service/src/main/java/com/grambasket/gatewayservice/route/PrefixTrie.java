@@ -0,0 +1,77 @@
+package com.grambasket.gatewayservice.route;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps path prefixes to values and finds the longest prefix of a path in one pass over its segments, so the
+ * cost of a lookup depends on the length of the path and not on the number of prefixes. Prefixes match whole
+ * segments only: {@code /api/users} matches {@code /api/users} and {@code /api/users/42} but not
+ * {@code /api/users-admin}. Empty segments are ignored.
+ * <p>
+ * Not thread-safe for writes; build it completely before sharing it.
+ */
+public final class PrefixTrie<T> {
+
+    private final Node<T> root = new Node<>();
+    private int size;
+
+    /**
+     * @throws IllegalArgumentException if another value is already registered for the same prefix
+     */
+    public void put(String prefix, T value) {
+        Node<T> node = root;
+        int start = 0;
+        int length = prefix.length();
+        while (start < length) {
+            int end = segmentEnd(prefix, start);
+            if (end > start) {
+                node = node.children.computeIfAbsent(prefix.substring(start, end), segment -> new Node<>());
+            }
+            start = end + 1;
+        }
+        if (node.value != null) {
+            throw new IllegalArgumentException("A value is already registered for prefix '" + prefix + "'");
+        }
+        node.value = value;
+        size++;
+    }
+
+    /**
+     * The value of the longest registered prefix of {@code path}, or {@code null} if there is none.
+     */
+    public T longestPrefixMatch(String path) {
+        Node<T> node = root;
+        T match = root.value;
+        int start = 0;
+        int length = path.length();
+        while (start < length) {
+            int end = segmentEnd(path, start);
+            if (end > start) {
+                node = node.children.get(path.substring(start, end));
+                if (node == null) {
+                    return match;
+                }
+                if (node.value != null) {
+                    match = node.value;
+                }
+            }
+            start = end + 1;
+        }
+        return match;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static int segmentEnd(String path, int start) {
+        int slash = path.indexOf('/', start);
+        return slash < 0 ? path.length() : slash;
+    }
+
+    private static final class Node<T> {
+        private final Map<String, Node<T>> children = new HashMap<>();
+        private T value;
+    }
+}
@@ -0,0 +1,115 @@
+package com.grambasket.gatewayservice.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.grambasket.identity.IdentityHeaders;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Verifies access tokens issued by auth-service and turns them into signed identity headers.
+ * Successful verifications are cached by token digest until the token expires, so a client
+ * reusing the same bearer token costs one HS512 verification for the token's lifetime.
+ */
+@Component
+@Slf4j
+public class GatewayTokenVerifier {
+
+    private static final String ROLES_CLAIM = "roles";
+    private static final String ROLES_VERSION_CLAIM = "rv";
+
+    private final JwtParser jwtParser;
+    private final IdentityHeaders identityHeaders;
+    private final Cache<String, VerifiedIdentity> verifiedTokens;
+
+    public GatewayTokenVerifier(
+            @Value("${spring.security.oauth2.resourceserver.jwt.secret-key}") String jwtSecret,
+            IdentityRelayProperties properties
+    ) {
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        this.identityHeaders = new IdentityHeaders(properties.getSigningKey());
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(properties.getRelay().getCacheMaxSize())
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
+    public Optional<VerifiedIdentity> verify(String token) {
+        String cacheKey = digest(token);
+        VerifiedIdentity cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null) {
+            return cached.isExpired(Instant.now()) ? Optional.empty() : Optional.of(cached);
+        }
+
+        VerifiedIdentity identity = parse(token);
+        if (identity != null) {
+            verifiedTokens.put(cacheKey, identity);
+        }
+        return Optional.ofNullable(identity);
+    }
+
+    private VerifiedIdentity parse(String token) {
+        try {
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                log.warn("Rejecting token without subject or expiry.");
+                return null;
+            }
+            String roles = claims.get(ROLES_CLAIM) instanceof Collection<?> values
+                    ? IdentityHeaders.joinRoles(values)
+                    : "";
+            long rolesVersion = claims.get(ROLES_VERSION_CLAIM) instanceof Number number ? number.longValue() : 0L;
+            Instant expiresAt = claims.getExpiration().toInstant();
+            String signature = identityHeaders.sign(claims.getSubject(), roles, rolesVersion, expiresAt.getEpochSecond());
+            return new VerifiedIdentity(claims.getSubject(), roles, rolesVersion, expiresAt, signature);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Bearer token failed verification at the gateway: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available in this JVM", e);
+        }
+    }
+
+    private static final class TokenExpiry implements Expiry<String, VerifiedIdentity> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedIdentity value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedIdentity value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedIdentity value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
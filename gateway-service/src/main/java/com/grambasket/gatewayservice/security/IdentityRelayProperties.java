@@ -0,0 +1,27 @@
+package com.grambasket.gatewayservice.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "grambasket.identity")
+@Data
+public class IdentityRelayProperties {
+
+    /**
+     * HMAC key shared with the downstream services, used to sign the forwarded identity headers.
+     */
+    private String signingKey;
+
+    private Relay relay = new Relay();
+
+    @Data
+    public static class Relay {
+        /**
+         * When enabled, bearer tokens are verified here and replaced by signed identity headers.
+         */
+        private boolean enabled = false;
+        private long cacheMaxSize = 10_000;
+    }
+}
@@ -0,0 +1,21 @@
+package com.grambasket.gatewayservice.security;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * The outcome of verifying a bearer token once: the identity headers to forward, pre-signed.
+ */
+@Value
+public class VerifiedIdentity {
+    String userId;
+    String roles;
+    long rolesVersion;
+    Instant expiresAt;
+    String signature;
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,52 @@
+package com.grambasket.gatewayservice.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InternalPathBlockingGlobalFilterTest {
+
+    private final InternalPathBlockingGlobalFilter filter = new InternalPathBlockingGlobalFilter();
+
+    @Test
+    void blocksInternalPathsHoweverTheyAreSpelled() {
+        for (String path : new String[]{
+                "/grambasket/api/user-service/users/internal/lookup",
+                "/grambasket/api/user-service/users/%69nternal/lookup",
+                "/grambasket/api/user-service/users/INTERNAL;v=1/lookup",
+                "/grambasket/api/auth-service/internal/users/auth-1"}) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.method(HttpMethod.POST, URI.create(path)).build());
+            AtomicBoolean forwarded = new AtomicBoolean();
+
+            filter.filter(exchange, forwardedExchange -> {
+                forwarded.set(true);
+                return Mono.empty();
+            }).block();
+
+            assertThat(forwarded).as(path).isFalse();
+            assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @Test
+    void forwardsOtherPaths() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/grambasket/api/user-service/users/internals-guide").build());
+        AtomicBoolean forwarded = new AtomicBoolean();
+
+        filter.filter(exchange, forwardedExchange -> {
+            forwarded.set(true);
+            return Mono.empty();
+        }).block();
+
+        assertThat(forwarded).isTrue();
+    }
+}
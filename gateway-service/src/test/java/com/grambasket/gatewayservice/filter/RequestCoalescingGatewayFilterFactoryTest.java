@@ -0,0 +1,101 @@
+package com.grambasket.gatewayservice.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescingGatewayFilterFactoryTest {
+
+    private static final Duration BACKEND_LATENCY = Duration.ofMillis(50);
+    private static final String BODY = "{\"id\":\"p-1\",\"name\":\"Basmati rice\"}";
+
+    private final AtomicInteger backendCalls = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /**
+     * 2,000 identical GETs from 200 concurrent clients against a backend that takes 50ms per call: without
+     * coalescing every request reaches the backend, with it only about one call per 50ms window does.
+     */
+    @Test
+    void concurrentIdenticalGetsShareBackendCalls() {
+        int requests = 2_000;
+        int concurrency = 200;
+
+        List<MockServerWebExchange> direct = load(requests, concurrency, (exchange, chain) -> chain.filter(exchange));
+        int directCalls = backendCalls.getAndSet(0);
+        List<MockServerWebExchange> coalesced = load(requests, concurrency, filter(c -> { }));
+        int coalescedCalls = backendCalls.get();
+
+        assertThat(directCalls).isEqualTo(requests);
+        assertThat(coalescedCalls).isLessThanOrEqualTo(requests / 20);
+        assertThat(coalesced).allSatisfy(exchange -> {
+            assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        });
+        assertThat(direct).hasSize(requests);
+    }
+
+    @Test
+    void differentQueriesAreNotCoalesced() {
+        GatewayFilter filter = filter(c -> { });
+
+        Flux.range(0, 10)
+                .flatMap(i -> filter.filter(get("/api/product-service/products?page=" + i), backend()))
+                .blockLast();
+
+        assertThat(backendCalls).hasValue(10);
+    }
+
+    @Test
+    void waitersFallBackWhenBodyExceedsLimit() {
+        GatewayFilter filter = filter(c -> c.setMaxBodySize(DataSize.ofBytes(8)));
+
+        List<MockServerWebExchange> exchanges = load(20, 20, filter);
+
+        assertThat(backendCalls).hasValue(20);
+        assertThat(exchanges).allSatisfy(exchange -> assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(BODY));
+        assertThat(meterRegistry.counter("gateway.request.coalescing.requests", "route", "unknown", "result", "fallback").count())
+                .isEqualTo(19);
+    }
+
+    private GatewayFilter filter(Consumer<RequestCoalescingGatewayFilterFactory.Config> configurer) {
+        return new RequestCoalescingGatewayFilterFactory(meterRegistry).apply(configurer);
+    }
+
+    private List<MockServerWebExchange> load(int requests, int concurrency, GatewayFilter filter) {
+        return Flux.range(0, requests)
+                .map(i -> get("/api/product-service/products/p-1"))
+                .flatMap(exchange -> filter.filter(exchange, backend()).thenReturn(exchange), concurrency)
+                .collectList()
+                .block(Duration.ofSeconds(30));
+    }
+
+    private static MockServerWebExchange get(String uri) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(uri));
+    }
+
+    private GatewayFilterChain backend() {
+        return exchange -> Mono.delay(BACKEND_LATENCY).then(Mono.defer(() -> {
+            backendCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+        }));
+    }
+}
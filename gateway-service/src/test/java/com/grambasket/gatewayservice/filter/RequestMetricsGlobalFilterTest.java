@@ -0,0 +1,75 @@
+package com.grambasket.gatewayservice.filter;
+
+import com.grambasket.gatewayservice.config.RequestMetricsProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestMetricsGlobalFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestMetricsProperties properties = new RequestMetricsProperties();
+    private final RequestMetricsGlobalFilter filter = new RequestMetricsGlobalFilter(properties, meterRegistry);
+
+    @Test
+    void recordsLatencyPerRouteAndUpstreamInstance() {
+        MockServerWebExchange exchange = productRequest();
+
+        filter.filter(exchange, forwarded -> {
+            forwarded.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, URI.create("http://10.0.0.5:8084/api/product-service/products"));
+            ServerWebExchangeUtils.setAlreadyRouted(forwarded);
+            forwarded.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.empty();
+        }).block();
+
+        assertThat(meterRegistry.get("gateway.requests")
+                .tags("route", "product-service", "instance", "10.0.0.5:8084", "outcome", "SUCCESSFUL").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.responses").tags("route", "product-service", "status", "200").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failureWithoutUpstreamIsRecordedWithItsStatus() {
+        MockServerWebExchange exchange = productRequest();
+
+        assertThatThrownBy(() -> filter.filter(exchange, forwarded ->
+                Mono.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE))).block())
+                .isInstanceOf(ResponseStatusException.class);
+
+        assertThat(meterRegistry.get("gateway.requests")
+                .tags("route", "product-service", "instance", "none", "outcome", "SERVER_ERROR").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.responses").tags("status", "503").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void accessLogSamplesOrdinaryRequestsButKeepsErrorsAndSlowOnes() {
+        properties.getAccessLog().setSampleRate(0);
+        properties.getAccessLog().setSlowThreshold(Duration.ofMillis(500));
+
+        assertThat(filter.shouldLog(200, null, Duration.ofMillis(20).toNanos())).isFalse();
+        assertThat(filter.shouldLog(502, null, Duration.ofMillis(20).toNanos())).isTrue();
+        assertThat(filter.shouldLog(200, new IllegalStateException(), Duration.ofMillis(20).toNanos())).isTrue();
+        assertThat(filter.shouldLog(200, null, Duration.ofSeconds(2).toNanos())).isTrue();
+    }
+
+    private static MockServerWebExchange productRequest() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/grambasket/api/product-service/products"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("product-service")
+                .uri("lb://product-service")
+                .predicate(e -> true)
+                .build());
+        return exchange;
+    }
+}
@@ -0,0 +1,87 @@
+package com.grambasket.gatewayservice.filter;
+
+import com.grambasket.gatewayservice.cache.GatewayResponseCache;
+import com.grambasket.gatewayservice.cache.ResponseCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private String cacheControl = "public, max-age=60";
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ResponseCacheGatewayFilterFactory factory =
+                new ResponseCacheGatewayFilterFactory(new GatewayResponseCache(new ResponseCacheProperties(), meterRegistry));
+        filter = factory.apply(c -> c.setTimeToLive(Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void repeatedGetIsServedFromCache() {
+        MockServerWebExchange first = get("/api/product-service/products?page=1");
+        MockServerWebExchange second = get("/api/product-service/products?page=1");
+
+        filter.filter(first, upstream()).block();
+        filter.filter(second, upstream()).block();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(second.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("products");
+        assertThat(meterRegistry.counter("gateway.response.cache.bytes.saved", "route", "unknown").count()).isEqualTo(8);
+    }
+
+    @Test
+    void requestWithAuthorizationBypassesCache() {
+        filter.filter(get("/api/product-service/products"), upstream()).block();
+        MockServerWebExchange authorized = MockServerWebExchange.from(MockServerHttpRequest.get("/api/product-service/products")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token"));
+
+        filter.filter(authorized, upstream()).block();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(authorized.getResponse().getHeaders().containsKey("X-Cache")).isFalse();
+    }
+
+    @Test
+    void noStoreResponseIsNotCached() {
+        cacheControl = "no-store";
+
+        filter.filter(get("/api/product-service/products"), upstream()).block();
+        filter.filter(get("/api/product-service/products"), upstream()).block();
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    private static MockServerWebExchange get(String uri) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(uri));
+    }
+
+    private GatewayFilterChain upstream() {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().set(HttpHeaders.CACHE_CONTROL, cacheControl);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap("products".getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package com.grambasket.gatewayservice.route;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PrefixTrieTest {
+
+    @Test
+    void longestPrefixWins() {
+        PrefixTrie<String> trie = new PrefixTrie<>();
+        trie.put("/grambasket/api/user-service", "users");
+        trie.put("/grambasket/api/user-service/admin", "admin");
+
+        assertThat(trie.longestPrefixMatch("/grambasket/api/user-service")).isEqualTo("users");
+        assertThat(trie.longestPrefixMatch("/grambasket/api/user-service/users/me")).isEqualTo("users");
+        assertThat(trie.longestPrefixMatch("/grambasket/api/user-service/admin/users")).isEqualTo("admin");
+    }
+
+    @Test
+    void prefixesMatchWholeSegmentsOnly() {
+        PrefixTrie<String> trie = new PrefixTrie<>();
+        trie.put("/grambasket/api/user-service/", "users");
+
+        assertThat(trie.longestPrefixMatch("/grambasket/api/user-service-admin/users")).isNull();
+        assertThat(trie.longestPrefixMatch("/grambasket/api")).isNull();
+        assertThat(trie.longestPrefixMatch("/grambasket/api/user-service/")).isEqualTo("users");
+    }
+
+    @Test
+    void duplicatePrefixIsRejected() {
+        PrefixTrie<String> trie = new PrefixTrie<>();
+        trie.put("/grambasket/api/cart-service", "cart");
+
+        assertThatThrownBy(() -> trie.put("/grambasket/api/cart-service/", "other"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(trie.size()).isEqualTo(1);
+    }
+}
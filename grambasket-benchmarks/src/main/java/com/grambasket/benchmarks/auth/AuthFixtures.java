@@ -0,0 +1,42 @@
+package com.grambasket.benchmarks.auth;
+
+import com.grambasket.authservice.config.JwtProperties;
+import com.grambasket.authservice.model.Role;
+import com.grambasket.authservice.model.User;
+import com.grambasket.authservice.security.JwtService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+/**
+ * Builds auth-service components the same way the Spring context would, without starting one.
+ */
+final class AuthFixtures {
+
+    static final String JWT_SECRET = "mysupersecurekeymysupersecurekeymysupersecurekeymysupersecurekey12";
+
+    private AuthFixtures() {
+    }
+
+    static JwtService jwtService(boolean verifiedTokenCache) {
+        JwtProperties properties = new JwtProperties();
+        properties.setExpiration(3_600_000);
+        properties.setRefreshExpiration(604_800_000);
+        properties.setIssuer("grambasket-auth-service");
+        properties.getVerifiedTokenCache().setEnabled(verifiedTokenCache);
+
+        JwtService jwtService = new JwtService(properties);
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", JWT_SECRET);
+        jwtService.init();
+        return jwtService;
+    }
+
+    static User user() {
+        return User.builder()
+                .id("65f1c0ffee0000000000beef")
+                .email("benchmark.user@grambasket.com")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoO5wz5xZ1uZ5G3Q7bGk8jY1Vf1w5Q0mS2")
+                .roles(Set.of(Role.USER))
+                .build();
+    }
+}
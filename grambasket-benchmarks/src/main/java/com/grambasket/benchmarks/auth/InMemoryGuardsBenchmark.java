@@ -0,0 +1,75 @@
+package com.grambasket.benchmarks.auth;
+
+import com.grambasket.authservice.security.RevokedTokenFamilies;
+import com.grambasket.authservice.security.SlidingWindowSketch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory checks in front of login and refresh: the login-failure sketch and the revoked
+ * refresh-token family filter. Run with several threads, since both are shared by all request threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class InMemoryGuardsBenchmark {
+
+    private static final int REVOKED_FAMILIES = 50_000;
+
+    private SlidingWindowSketch sketch;
+    private RevokedTokenFamilies revokedFamilies;
+    private String revokedFamily;
+    private String liveFamily;
+    private Instant now;
+
+    @Setup
+    public void setUp() {
+        sketch = new SlidingWindowSketch(16_384, 4, Duration.ofMinutes(15));
+        now = Instant.now();
+        revokedFamilies = new RevokedTokenFamilies(100_000, 0.01);
+        for (int i = 0; i < REVOKED_FAMILIES; i++) {
+            revokedFamilies.revoke(UUID.randomUUID().toString(), now.plus(Duration.ofDays(7)));
+        }
+        revokedFamily = UUID.randomUUID().toString();
+        revokedFamilies.revoke(revokedFamily, now.plus(Duration.ofDays(7)));
+        liveFamily = UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public void recordLoginFailure() {
+        sketch.increment("benchmark.user@grambasket.com");
+    }
+
+    @Benchmark
+    public double estimateLoginFailures() {
+        return sketch.estimate("benchmark.user@grambasket.com");
+    }
+
+    @Benchmark
+    public boolean refreshFamilyNotRevoked() {
+        return revokedFamilies.isRevoked(liveFamily, now);
+    }
+
+    @Benchmark
+    public boolean refreshFamilyRevoked() {
+        return revokedFamilies.isRevoked(revokedFamily, now);
+    }
+}
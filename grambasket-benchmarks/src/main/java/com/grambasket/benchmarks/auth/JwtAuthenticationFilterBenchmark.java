@@ -0,0 +1,87 @@
+package com.grambasket.benchmarks.auth;
+
+import com.grambasket.authservice.config.AuthSecurityProperties;
+import com.grambasket.authservice.model.User;
+import com.grambasket.authservice.repository.UserRepository;
+import com.grambasket.authservice.security.JwtAuthenticationFilter;
+import com.grambasket.authservice.security.JwtService;
+import com.grambasket.authservice.security.UserStateCache;
+import com.grambasket.identity.TrustedIdentityProperties;
+import com.grambasket.identity.TrustedIdentityVerifier;
+import jakarta.servlet.ServletException;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through {@link JwtAuthenticationFilter}: header extraction, token verification
+ * and principal construction. The repository is a stub-only mock, so the database-backed mode measures
+ * everything except the Mongo round trip it would add in production.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"false", "true"})
+    private boolean statelessPrincipal;
+
+    @Param({"true", "false"})
+    private boolean verifiedTokenCache;
+
+    private JwtAuthenticationFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        User user = AuthFixtures.user();
+        UserRepository userRepository = Mockito.mock(UserRepository.class, Mockito.withSettings().stubOnly());
+        Mockito.when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        AuthSecurityProperties securityProperties = new AuthSecurityProperties();
+        securityProperties.setStatelessPrincipal(statelessPrincipal);
+        JwtService jwtService = AuthFixtures.jwtService(verifiedTokenCache);
+
+        filter = new JwtAuthenticationFilter(
+                jwtService,
+                userRepository,
+                new UserStateCache(userRepository, securityProperties),
+                securityProperties,
+                new TrustedIdentityVerifier(new TrustedIdentityProperties())
+        );
+        authorizationHeader = "Bearer " + jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/auth-service/me");
+        request.addHeader("Authorization", authorizationHeader);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
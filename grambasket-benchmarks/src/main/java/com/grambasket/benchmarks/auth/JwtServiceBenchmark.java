@@ -0,0 +1,91 @@
+package com.grambasket.benchmarks.auth;
+
+import com.grambasket.authservice.model.User;
+import com.grambasket.authservice.security.JwtService;
+import com.grambasket.authservice.security.ParsedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuance and verification. {@code extractAllClaims} always verifies the HS512 signature, while the
+ * {@code parseToken*} pair shows what the verified-token cache saves on repeated requests with the same token.
+ * {@code legacyAuthenticationPath} is the baseline: the per-request work of the original JwtService, which built
+ * a new parser for every claim lookup and verified the same token three times per authenticated request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private JwtService cachingJwtService;
+    private JwtService jwtService;
+    private User user;
+    private String accessToken;
+    private Key signInKey;
+
+    @Setup
+    public void setUp() {
+        cachingJwtService = AuthFixtures.jwtService(true);
+        jwtService = AuthFixtures.jwtService(false);
+        user = AuthFixtures.user();
+        accessToken = jwtService.generateAccessToken(user);
+        signInKey = Keys.hmacShaKeyFor(AuthFixtures.JWT_SECRET.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public Claims extractAllClaims() {
+        return jwtService.extractClaim(accessToken, claims -> claims);
+    }
+
+    @Benchmark
+    public Optional<ParsedToken> parseTokenUncached() {
+        return jwtService.parseToken(accessToken);
+    }
+
+    @Benchmark
+    public Optional<ParsedToken> parseTokenCached() {
+        return cachingJwtService.parseToken(accessToken);
+    }
+
+    @Benchmark
+    public boolean legacyAuthenticationPath() {
+        // extractUsername, then isTokenValid's extractUsername and extractExpiration, each with a fresh parser.
+        String subject = legacyClaims(accessToken).getSubject();
+        String validatedSubject = legacyClaims(accessToken).getSubject();
+        Date expiration = legacyClaims(accessToken).getExpiration();
+        return subject != null && subject.equals(validatedSubject) && !expiration.before(new Date());
+    }
+
+    private Claims legacyClaims(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(signInKey)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
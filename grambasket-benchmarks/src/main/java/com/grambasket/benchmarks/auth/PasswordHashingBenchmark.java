@@ -0,0 +1,69 @@
+package com.grambasket.benchmarks.auth;
+
+import com.grambasket.authservice.config.PasswordHashingProperties;
+import com.grambasket.authservice.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt verification as done on every login, both directly and through the bounded hashing pool, which
+ * shows the hand-off cost the pool adds on top of the hash itself.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "Str0ng-Benchmark-Passw0rd!";
+
+    @Param({"10", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder bcrypt;
+    private BoundedPasswordEncoder boundedEncoder;
+    private String bcryptHash;
+    private String delegatingHash;
+
+    @Setup
+    public void setUp() {
+        bcrypt = new BCryptPasswordEncoder(strength);
+        bcryptHash = bcrypt.encode(PASSWORD);
+
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setBcryptStrength(strength);
+        boundedEncoder = new BoundedPasswordEncoder(properties, new SimpleMeterRegistry());
+        delegatingHash = boundedEncoder.encode(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        boundedEncoder.destroy();
+    }
+
+    @Benchmark
+    public boolean bcryptMatches() {
+        return bcrypt.matches(PASSWORD, bcryptHash);
+    }
+
+    @Benchmark
+    public boolean boundedEncoderMatches() {
+        return boundedEncoder.matches(PASSWORD, delegatingHash);
+    }
+}
@@ -0,0 +1,127 @@
+package com.grambasket.benchmarks.gateway;
+
+import com.grambasket.gatewayservice.filter.PrefixRewriteGatewayFilterFactory;
+import com.grambasket.gatewayservice.route.PrefixTrie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.RewritePathGatewayFilterFactory;
+import org.springframework.cloud.gateway.handler.predicate.PathRoutePredicateFactory;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Route resolution and path rewrite in the gateway for a table of 10, 100 and 1,000 routes shaped like
+ * {@code /grambasket/api/<service>/**}, with requests spread evenly over all routes.
+ * <ul>
+ *     <li>{@code predicateLookup} tests the {@code Path} predicates in order until one matches, as the default
+ *     route mapping does (without its reactive overhead); {@code trieLookup} is the prefix trie behind the
+ *     {@code grambasket.gateway.routes} table.</li>
+ *     <li>{@code regexRewrite} runs the former {@code RewritePath} filter, {@code prefixRewrite} the
+ *     {@code PrefixRewrite} filter that replaced it, both on the matched route.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RouteLookupBenchmark {
+
+    private static final GatewayFilterChain END_OF_CHAIN = exchange -> Mono.empty();
+
+    @Param({"10", "100", "1000"})
+    private int routes;
+
+    private List<Predicate<ServerWebExchange>> pathPredicates;
+    private PrefixTrie<Integer> trie;
+    private GatewayFilter[] regexRewrites;
+    private GatewayFilter[] prefixRewrites;
+    private MockServerWebExchange[] exchanges;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        PathRoutePredicateFactory pathFactory = new PathRoutePredicateFactory();
+        RewritePathGatewayFilterFactory rewritePathFactory = new RewritePathGatewayFilterFactory();
+        PrefixRewriteGatewayFilterFactory prefixRewriteFactory = new PrefixRewriteGatewayFilterFactory();
+
+        trie = new PrefixTrie<>();
+        regexRewrites = new GatewayFilter[routes];
+        prefixRewrites = new GatewayFilter[routes];
+        exchanges = new MockServerWebExchange[routes];
+        pathPredicates = new ArrayList<>(routes);
+        for (int i = 0; i < routes; i++) {
+            String service = "service-" + i;
+            String prefix = "/grambasket/api/" + service;
+            pathPredicates.add(pathFactory.apply(c -> c.setPatterns(List.of(prefix + "/**"))));
+            trie.put(prefix, i);
+            regexRewrites[i] = rewritePathFactory.apply(c -> c
+                    .setRegexp(prefix + "/(?<segment>.*)")
+                    .setReplacement("/api/" + service + "/${segment}"));
+            prefixRewrites[i] = prefixRewriteFactory.apply(c -> {
+                c.setPrefix(prefix);
+                c.setReplacement("/api/" + service);
+            });
+            exchanges[i] = MockServerWebExchange.from(MockServerHttpRequest.get(prefix + "/products/8f14e45f/reviews?page=2&size=20"));
+        }
+    }
+
+    @Benchmark
+    public int predicateLookup() {
+        ServerWebExchange exchange = nextExchange();
+        // The Path predicate caches the parsed path and template variables on the exchange; start from a fresh request.
+        exchange.getAttributes().clear();
+        for (int i = 0; i < pathPredicates.size(); i++) {
+            if (pathPredicates.get(i).test(exchange)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Benchmark
+    public Integer trieLookup() {
+        return trie.longestPrefixMatch(nextExchange().getRequest().getURI().getRawPath());
+    }
+
+    @Benchmark
+    public Object regexRewrite() {
+        int route = next();
+        return regexRewrites[route].filter(exchanges[route], END_OF_CHAIN);
+    }
+
+    @Benchmark
+    public Object prefixRewrite() {
+        int route = next();
+        return prefixRewrites[route].filter(exchanges[route], END_OF_CHAIN);
+    }
+
+    private ServerWebExchange nextExchange() {
+        return exchanges[next()];
+    }
+
+    private int next() {
+        int route = cursor;
+        cursor = route + 1 == routes ? 0 : route + 1;
+        return route;
+    }
+}
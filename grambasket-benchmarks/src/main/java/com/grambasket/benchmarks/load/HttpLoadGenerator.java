@@ -0,0 +1,140 @@
+package com.grambasket.benchmarks.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load generator for comparing a service in platform-thread and virtual-thread mode:
+ * {@code --connections} concurrent clients each send the next request as soon as the previous one completes.
+ * Prints throughput and latency percentiles as one JSON object (and appends it to {@code --out} if given).
+ * <pre>
+ * java -cp benchmarks.jar com.grambasket.benchmarks.load.HttpLoadGenerator \
+ *     --url http://localhost:8085/api/user-service/users/me --header "Authorization: Bearer ..." \
+ *     --connections 2000 --warmup 30s --duration 120s --label virtual --out load-results.jsonl
+ * </pre>
+ */
+public final class HttpLoadGenerator {
+
+    private HttpLoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(options.url).timeout(Duration.ofSeconds(30)).GET();
+        options.headers.forEach(header -> {
+            int separator = header.indexOf(':');
+            builder.header(header.substring(0, separator).trim(), header.substring(separator + 1).trim());
+        });
+        HttpRequest request = builder.build();
+
+        if (!options.warmup.isZero()) {
+            run(client, request, options.connections, options.warmup);
+        }
+        Result result = run(client, request, options.connections, options.duration);
+
+        String json = String.format(Locale.ROOT,
+                "{\"label\":\"%s\",\"connections\":%d,\"durationSeconds\":%d,\"requests\":%d,\"errors\":%d,"
+                        + "\"throughputPerSecond\":%.1f,\"p50Ms\":%.2f,\"p90Ms\":%.2f,\"p99Ms\":%.2f,\"maxMs\":%.2f}",
+                options.label, options.connections, options.duration.toSeconds(), result.histogram.getTotalCount(),
+                result.errors, result.histogram.getTotalCount() / (double) options.duration.toSeconds(),
+                millis(result.histogram.getValueAtPercentile(50)), millis(result.histogram.getValueAtPercentile(90)),
+                millis(result.histogram.getValueAtPercentile(99)), millis(result.histogram.getMaxValue()));
+        System.out.println(json);
+        if (options.out != null) {
+            Files.writeString(options.out, json + System.lineSeparator(),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int connections, Duration duration)
+            throws InterruptedException {
+        Recorder recorder = new Recorder(TimeUnit.SECONDS.toNanos(60), 3);
+        LongAdder errors = new LongAdder();
+        long deadline = System.nanoTime() + duration.toNanos();
+        CountDownLatch finished = new CountDownLatch(connections);
+        for (int i = 0; i < connections; i++) {
+            sendNext(client, request, recorder, errors, deadline, finished);
+        }
+        finished.await();
+        return new Result(recorder.getIntervalHistogram(), errors.sum());
+    }
+
+    private static void sendNext(HttpClient client, HttpRequest request, Recorder recorder, LongAdder errors,
+                                 long deadline, CountDownLatch finished) {
+        long start = System.nanoTime();
+        if (start >= deadline) {
+            finished.countDown();
+            return;
+        }
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            if (failure != null || response.statusCode() >= 400) {
+                errors.increment();
+            } else {
+                recorder.recordValue(System.nanoTime() - start);
+            }
+            sendNext(client, request, recorder, errors, deadline, finished);
+        });
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000d;
+    }
+
+    private record Result(Histogram histogram, long errors) {
+    }
+
+    private record Options(URI url, List<String> headers, int connections, Duration warmup, Duration duration,
+                           String label, Path out) {
+
+        static Options parse(String[] args) throws IOException {
+            URI url = null;
+            List<String> headers = new ArrayList<>();
+            int connections = 2000;
+            Duration warmup = Duration.ofSeconds(30);
+            Duration duration = Duration.ofSeconds(120);
+            String label = "baseline";
+            Path out = null;
+            for (int i = 0; i < args.length - 1; i += 2) {
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--url" -> url = URI.create(value);
+                    case "--header" -> headers.add(value);
+                    case "--connections" -> connections = Integer.parseInt(value);
+                    case "--warmup" -> warmup = parseDuration(value);
+                    case "--duration" -> duration = parseDuration(value);
+                    case "--label" -> label = value;
+                    case "--out" -> out = Path.of(value);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (url == null) {
+                throw new IllegalArgumentException("--url is required");
+            }
+            return new Options(url, headers, connections, warmup, duration, label, out);
+        }
+
+        private static Duration parseDuration(String value) {
+            return Duration.parse("PT" + value.toUpperCase(Locale.ROOT));
+        }
+    }
+}
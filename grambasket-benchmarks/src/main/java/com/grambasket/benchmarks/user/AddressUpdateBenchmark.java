@@ -0,0 +1,139 @@
+package com.grambasket.benchmarks.user;
+
+import com.grambasket.userservice.model.Address;
+import com.grambasket.userservice.model.UserProfile;
+import com.grambasket.userservice.repository.UserRepositoryImpl;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrent edits of one hot profile: the old load-mutate-save path against the single atomic update.
+ * Every thread edits its own address, so any address that does not hold its thread's last write after an
+ * iteration is a lost update, and is reported on stderr.
+ * <p>
+ * Needs a running MongoDB; the benchmark drops and re-creates the user_profiles collection of the
+ * database in {@code mongoUri}, so do not point it at real data.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(AddressUpdateBenchmark.THREADS)
+@State(Scope.Benchmark)
+public class AddressUpdateBenchmark {
+
+    static final int THREADS = 8;
+    private static final String AUTH_ID = "65f1c0ffee0000000000beef";
+
+    @Param("mongodb://localhost:27017/grambasket-benchmarks")
+    public String mongoUri;
+
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+    private UserRepositoryImpl repository;
+    private final AtomicInteger nextAddress = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mongoClient = MongoClients.create(mongoUri);
+        mongoTemplate = new MongoTemplate(mongoClient, mongoUri.substring(mongoUri.lastIndexOf('/') + 1));
+        repository = new UserRepositoryImpl(mongoTemplate);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetProfile() {
+        mongoTemplate.dropCollection(UserProfile.class);
+        List<Address> addresses = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            addresses.add(Address.builder()
+                    .id("address-" + i)
+                    .type("HOME")
+                    .street(i + " Market Street")
+                    .city("Pune")
+                    .state("Maharashtra")
+                    .postalCode("0")
+                    .country("India")
+                    .build());
+        }
+        UserProfile profile = UserFixtures.userProfile();
+        profile.setAddresses(addresses);
+        mongoTemplate.insert(profile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mongoTemplate.dropCollection(UserProfile.class);
+        mongoClient.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+        String addressId;
+        long writes;
+
+        @Setup(Level.Iteration)
+        public void setUp(AddressUpdateBenchmark benchmark) {
+            addressId = "address-" + (benchmark.nextAddress.getAndIncrement() % THREADS);
+            writes = 0;
+        }
+
+        @TearDown(Level.Iteration)
+        public void checkLastWrite(AddressUpdateBenchmark benchmark) {
+            UserProfile stored = benchmark.findProfile();
+            String postalCode = stored.getAddresses().stream()
+                    .filter(address -> address.getId().equals(addressId))
+                    .findFirst()
+                    .map(Address::getPostalCode)
+                    .orElse(null);
+            if (!String.valueOf(writes).equals(postalCode)) {
+                System.err.printf("Lost update on %s: last write %d, stored %s%n", addressId, writes, postalCode);
+            }
+        }
+    }
+
+    @Benchmark
+    public UserProfile readModifyWrite(Writer writer) {
+        UserProfile profile = findProfile();
+        profile.getAddresses().stream()
+                .filter(address -> address.getId().equals(writer.addressId))
+                .findFirst()
+                .orElseThrow()
+                .setPostalCode(String.valueOf(++writer.writes));
+        profile.setUpdatedAt(LocalDateTime.now());
+        return mongoTemplate.save(profile);
+    }
+
+    @Benchmark
+    public UserProfile atomicUpdate(Writer writer) {
+        Address changes = Address.builder().postalCode(String.valueOf(++writer.writes)).build();
+        return repository.updateAddress(AUTH_ID, writer.addressId, changes).orElseThrow();
+    }
+
+    UserProfile findProfile() {
+        return mongoTemplate.findOne(Query.query(Criteria.where("authId").is(AUTH_ID)), UserProfile.class);
+    }
+}
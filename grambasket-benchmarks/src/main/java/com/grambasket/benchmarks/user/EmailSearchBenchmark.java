@@ -0,0 +1,124 @@
+package com.grambasket.benchmarks.user;
+
+import com.grambasket.userservice.model.UserProfile;
+import com.grambasket.userservice.repository.EmailSearchTokens;
+import com.grambasket.userservice.repository.UserRepositoryImpl;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Admin email search over a large user_profiles collection: the old unanchored case-insensitive regex plus a
+ * full count against the trigram-indexed search with a capped count.
+ * <p>
+ * Needs a running MongoDB. The collection in {@code mongoUri} is seeded once with {@code profiles} documents
+ * (about a minute for a million) and kept between runs while the count matches.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailSearchBenchmark {
+
+    private static final int COUNT_LIMIT = 10_000;
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    @Param("mongodb://localhost:27017/grambasket-benchmarks")
+    public String mongoUri;
+
+    @Param("1000000")
+    public int profiles;
+
+    // One profile, about a hundred profiles, and the domain shared by every profile.
+    @Param({"user.424242@", "user.4242", "grambasket"})
+    public String term;
+
+    private final Pageable firstPage = PageRequest.of(0, 20);
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+    private UserRepositoryImpl repository;
+
+    @Setup
+    public void setUp() {
+        mongoClient = MongoClients.create(mongoUri);
+        mongoTemplate = new MongoTemplate(mongoClient, mongoUri.substring(mongoUri.lastIndexOf('/') + 1));
+        repository = new UserRepositoryImpl(mongoTemplate);
+        if (mongoTemplate.estimatedCount(UserProfile.class) != profiles) {
+            seed();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        mongoClient.close();
+    }
+
+    @Benchmark
+    public Page<UserProfile> regexWithFullCount() {
+        Query query = Query.query(Criteria.where("email").regex(Pattern.quote(term), "i"));
+        List<UserProfile> content = mongoTemplate.find(Query.of(query).with(firstPage), UserProfile.class);
+        long total = mongoTemplate.count(query, UserProfile.class);
+        return new PageImpl<>(content, firstPage, total);
+    }
+
+    @Benchmark
+    public Page<UserProfile> trigramIndexWithCappedCount() {
+        return repository.searchByEmail(term, null, firstPage, COUNT_LIMIT);
+    }
+
+    private void seed() {
+        mongoTemplate.dropCollection(UserProfile.class);
+        String collection = mongoTemplate.getCollectionName(UserProfile.class);
+        List<Document> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < profiles; i++) {
+            // Raw documents: seeding through the mapping layer would dominate the setup time.
+            String email = "User." + i + "@GramBasket.com";
+            String normalized = EmailSearchTokens.normalize(email);
+            batch.add(new Document("_id", new ObjectId())
+                    .append("authId", new ObjectId().toHexString())
+                    .append("email", email)
+                    .append("emailNormalized", normalized)
+                    .append("emailTrigrams", EmailSearchTokens.trigrams(normalized))
+                    .append("active", i % 10 != 0));
+            if (batch.size() == SEED_BATCH_SIZE) {
+                mongoTemplate.getCollection(collection).insertMany(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            mongoTemplate.getCollection(collection).insertMany(batch);
+        }
+        mongoTemplate.indexOps(UserProfile.class).createIndex(new Index().on("email", Sort.Direction.ASC).unique());
+        mongoTemplate.indexOps(UserProfile.class).createIndex(new Index().on("emailNormalized", Sort.Direction.ASC));
+        mongoTemplate.indexOps(UserProfile.class).createIndex(new Index().on("emailTrigrams", Sort.Direction.ASC));
+    }
+}
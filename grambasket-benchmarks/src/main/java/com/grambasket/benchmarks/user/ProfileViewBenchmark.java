@@ -0,0 +1,147 @@
+package com.grambasket.benchmarks.user;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grambasket.userservice.mapper.UserMapper;
+import com.grambasket.userservice.mapper.UserMapperImpl;
+import com.grambasket.userservice.model.Address;
+import com.grambasket.userservice.model.UserProfile;
+import com.grambasket.userservice.repository.UserRepositoryImpl;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end read cost of the full profile against the ?view=summary projection: Mongo read, mapping and
+ * serialization. The response sizes are printed to stderr during setup.
+ * <p>
+ * Needs a running MongoDB; the user_profiles collection of the database in {@code mongoUri} is replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProfileViewBenchmark {
+
+    private static final int PROFILES = 10_000;
+    private static final Pageable ADMIN_PAGE = PageRequest.of(0, 50);
+
+    @Param("mongodb://localhost:27017/grambasket-benchmarks")
+    public String mongoUri;
+
+    // Addresses per profile: the summary view always carries at most one.
+    @Param({"3", "20"})
+    public int addresses;
+
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+    private UserRepositoryImpl repository;
+    private final UserMapper userMapper = new UserMapperImpl();
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final List<String> authIds = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        mongoClient = MongoClients.create(mongoUri);
+        mongoTemplate = new MongoTemplate(mongoClient, mongoUri.substring(mongoUri.lastIndexOf('/') + 1));
+        repository = new UserRepositoryImpl(mongoTemplate);
+        mongoTemplate.dropCollection(UserProfile.class);
+        List<UserProfile> batch = new ArrayList<>();
+        for (int i = 0; i < PROFILES; i++) {
+            UserProfile profile = UserFixtures.userProfile();
+            profile.setId(new ObjectId().toHexString());
+            profile.setAuthId(new ObjectId().toHexString());
+            profile.setEmail("user." + i + "@grambasket.com");
+            profile.setAddresses(addresses(profile.getAddresses().get(0)));
+            authIds.add(profile.getAuthId());
+            batch.add(profile);
+        }
+        mongoTemplate.insertAll(batch);
+        mongoTemplate.indexOps(UserProfile.class).ensureIndex(new Index().on("authId", Sort.Direction.ASC).unique());
+
+        try {
+            System.err.printf("Payload bytes with %d addresses: full profile %d, summary %d, full admin page %d, summary admin page %d%n",
+                    addresses, fullProfile().length, summaryProfile().length, fullAdminPage().length, summaryAdminPage().length);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        mongoTemplate.dropCollection(UserProfile.class);
+        mongoClient.close();
+    }
+
+    @Benchmark
+    public byte[] fullProfile() throws JsonProcessingException {
+        UserProfile profile = mongoTemplate.findOne(Query.query(Criteria.where("authId").is(randomAuthId())), UserProfile.class);
+        return objectMapper.writeValueAsBytes(userMapper.toUserResponse(profile));
+    }
+
+    @Benchmark
+    public byte[] summaryProfile() throws JsonProcessingException {
+        UserProfile profile = repository.findSummaryByAuthId(randomAuthId()).orElseThrow();
+        return objectMapper.writeValueAsBytes(userMapper.toUserSummaryResponse(profile));
+    }
+
+    @Benchmark
+    public byte[] fullAdminPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(
+                repository.findAllProfiles(null, ADMIN_PAGE, 10_000).map(userMapper::toUserResponse).getContent());
+    }
+
+    @Benchmark
+    public byte[] summaryAdminPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(
+                repository.findAllProfileSummaries(null, ADMIN_PAGE, 10_000).map(userMapper::toUserSummaryResponse).getContent());
+    }
+
+    private String randomAuthId() {
+        return authIds.get(ThreadLocalRandom.current().nextInt(authIds.size()));
+    }
+
+    private List<Address> addresses(Address template) {
+        List<Address> result = new ArrayList<>();
+        for (int i = 0; i < addresses; i++) {
+            result.add(Address.builder()
+                    .id("address-" + i)
+                    .type(template.getType())
+                    .street(i + " " + template.getStreet())
+                    .city(template.getCity())
+                    .state(template.getState())
+                    .postalCode(template.getPostalCode())
+                    .country(template.getCountry())
+                    .isDefault(i == addresses / 2)
+                    .build());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,44 @@
+package com.grambasket.benchmarks.user;
+
+import com.grambasket.userservice.model.Address;
+import com.grambasket.userservice.model.UserProfile;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A representative profile: a few phone numbers and addresses, as returned by GET /users/me.
+ */
+public final class UserFixtures {
+
+    private UserFixtures() {
+    }
+
+    public static UserProfile userProfile() {
+        List<Address> addresses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            addresses.add(Address.builder()
+                    .id("address-" + i)
+                    .type(i == 0 ? "HOME" : "WORK")
+                    .street(i + " Market Street")
+                    .city("Pune")
+                    .state("Maharashtra")
+                    .postalCode("41100" + i)
+                    .country("India")
+                    .isDefault(i == 0)
+                    .build());
+        }
+        return UserProfile.builder()
+                .id("65f1c0ffee0000000000cafe")
+                .authId("65f1c0ffee0000000000beef")
+                .firstName("Benchmark")
+                .lastName("User")
+                .email("benchmark.user@grambasket.com")
+                .phoneNumbers(new ArrayList<>(List.of("+91 98765 43210", "+91 91234 56789")))
+                .addresses(addresses)
+                .createdAt(LocalDateTime.of(2025, 1, 1, 10, 0))
+                .updatedAt(LocalDateTime.of(2025, 6, 1, 10, 0))
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.grambasket.benchmarks.user;
+
+import com.grambasket.userservice.dto.UserResponse;
+import com.grambasket.userservice.mapper.UserMapper;
+import com.grambasket.userservice.mapper.UserMapperImpl;
+import com.grambasket.userservice.model.UserProfile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserMapperBenchmark {
+
+    private UserMapper userMapper;
+    private UserProfile userProfile;
+
+    @Setup
+    public void setUp() {
+        userMapper = new UserMapperImpl();
+        userProfile = UserFixtures.userProfile();
+    }
+
+    @Benchmark
+    public UserResponse toUserResponse() {
+        return userMapper.toUserResponse(userProfile);
+    }
+}
@@ -0,0 +1,66 @@
+package com.grambasket.identity;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * HMAC-SHA256 with the shared {@code grambasket.identity.signing-key}, encoded as unpadded Base64-url.
+ */
+final class HmacSha256 {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final ThreadLocal<Mac> macs;
+
+    HmacSha256(String signingKey) {
+        if (signingKey == null || signingKey.getBytes(StandardCharsets.UTF_8).length < 32) {
+            throw new IllegalArgumentException("Identity signing key must be at least 32 bytes for HmacSHA256");
+        }
+        SecretKeySpec key = new SecretKeySpec(signingKey.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        Mac prototype;
+        try {
+            prototype = Mac.getInstance(HMAC_ALGORITHM);
+            prototype.init(key);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialise " + HMAC_ALGORITHM, e);
+        }
+        // With virtual threads every request starts on a fresh thread, so the thread-local is filled per request;
+        // cloning the keyed prototype avoids repeating the provider lookup and key setup each time.
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                return (Mac) prototype.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException(HMAC_ALGORITHM + " implementation cannot be cloned", e);
+            }
+        });
+    }
+
+    String sign(byte[]... parts) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(mac(parts));
+    }
+
+    /**
+     * Checks {@code signature} against the parts in constant time.
+     */
+    boolean verify(String signature, byte[]... parts) {
+        byte[] actual;
+        try {
+            actual = Base64.getUrlDecoder().decode(signature);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(mac(parts), actual);
+    }
+
+    private byte[] mac(byte[]... parts) {
+        Mac mac = macs.get();
+        for (byte[] part : parts) {
+            mac.update(part);
+        }
+        return mac.doFinal();
+    }
+}
@@ -0,0 +1,56 @@
+package com.grambasket.identity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Compact identity headers forwarded by gateway-service to downstream services in place of the bearer token.
+ * The signature is an HMAC-SHA256 over {@code userId \n roles \n rolesVersion \n expiresAt} with the shared
+ * {@code grambasket.identity.signing-key}; the gateway signs and the services verify with the same instance type,
+ * so both sides always agree on the canonical form.
+ */
+public final class IdentityHeaders {
+
+    public static final String USER_ID = "X-Grambasket-User-Id";
+    public static final String ROLES = "X-Grambasket-Roles";
+    // The token's rv claim, so services that track role changes can reject identities issued before one.
+    public static final String ROLES_VERSION = "X-Grambasket-Roles-Version";
+    public static final String EXPIRES_AT = "X-Grambasket-Expires-At";
+    public static final String SIGNATURE = "X-Grambasket-Identity-Signature";
+
+    public static final List<String> ALL = List.of(USER_ID, ROLES, ROLES_VERSION, EXPIRES_AT, SIGNATURE);
+
+    private static final String ROLE_SEPARATOR = ",";
+
+    private final HmacSha256 hmac;
+
+    public IdentityHeaders(String signingKey) {
+        this.hmac = new HmacSha256(signingKey);
+    }
+
+    public String sign(String userId, String roles, long rolesVersion, long expiresAtEpochSecond) {
+        return hmac.sign(payload(userId, roles, rolesVersion, expiresAtEpochSecond));
+    }
+
+    /**
+     * Checks {@code signature} against the header values in constant time.
+     */
+    public boolean verify(String userId, String roles, long rolesVersion, long expiresAtEpochSecond, String signature) {
+        return hmac.verify(signature, payload(userId, roles, rolesVersion, expiresAtEpochSecond));
+    }
+
+    public static String joinRoles(Collection<?> roles) {
+        return roles.stream().map(String::valueOf).collect(Collectors.joining(ROLE_SEPARATOR));
+    }
+
+    public static List<String> splitRoles(String roles) {
+        return roles.isEmpty() ? List.of() : Arrays.asList(roles.split(ROLE_SEPARATOR));
+    }
+
+    private static byte[] payload(String userId, String roles, long rolesVersion, long expiresAtEpochSecond) {
+        return (userId + "\n" + roles + "\n" + rolesVersion + "\n" + expiresAtEpochSecond).getBytes(StandardCharsets.UTF_8);
+    }
+}
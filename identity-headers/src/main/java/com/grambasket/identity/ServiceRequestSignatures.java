@@ -0,0 +1,47 @@
+package com.grambasket.identity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Authenticates calls between services, such as the bulk profile lookup, that must never be reachable through
+ * the gateway. The caller signs {@code timestamp \n body} with the shared {@code grambasket.identity.signing-key}
+ * and sends both headers; the receiver rejects a wrong signature or a timestamp outside {@code maxAge}, so a
+ * captured request cannot be replayed later.
+ */
+public final class ServiceRequestSignatures {
+
+    public static final String TIMESTAMP = "X-Grambasket-Service-Timestamp";
+    public static final String SIGNATURE = "X-Grambasket-Service-Signature";
+
+    private static final byte[] SEPARATOR = {'\n'};
+
+    private final HmacSha256 hmac;
+
+    public ServiceRequestSignatures(String signingKey) {
+        this.hmac = new HmacSha256(signingKey);
+    }
+
+    public String sign(long timestampEpochSecond, byte[] body) {
+        return hmac.sign(timestamp(timestampEpochSecond), SEPARATOR, body);
+    }
+
+    public boolean verify(String timestamp, String signature, byte[] body, Duration maxAge) {
+        if (timestamp == null || signature == null) {
+            return false;
+        }
+        long epochSecond;
+        try {
+            epochSecond = Long.parseLong(timestamp);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        long age = Math.abs(Instant.now().getEpochSecond() - epochSecond);
+        return age <= maxAge.toSeconds() && hmac.verify(signature, timestamp(epochSecond), SEPARATOR, body);
+    }
+
+    private static byte[] timestamp(long epochSecond) {
+        return Long.toString(epochSecond).getBytes(StandardCharsets.US_ASCII);
+    }
+}
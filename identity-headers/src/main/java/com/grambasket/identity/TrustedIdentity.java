@@ -0,0 +1,16 @@
+package com.grambasket.identity;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * An identity asserted by gateway-service through signed identity headers.
+ */
+@Value
+public class TrustedIdentity {
+    String userId;
+    List<String> roles;
+    // The roles version of the access token the gateway verified.
+    long rolesVersion;
+}
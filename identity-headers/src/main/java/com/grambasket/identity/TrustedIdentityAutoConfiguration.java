@@ -0,0 +1,24 @@
+package com.grambasket.identity;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Registers a {@link TrustedIdentityVerifier} for the servlet services behind the gateway. It stays inert until
+ * {@code grambasket.identity.trusted-headers.enabled=true}. The reactive gateway only uses {@link IdentityHeaders}
+ * to sign and is not configured here.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(TrustedIdentityProperties.class)
+public class TrustedIdentityAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TrustedIdentityVerifier trustedIdentityVerifier(TrustedIdentityProperties properties) {
+        return new TrustedIdentityVerifier(properties);
+    }
+}
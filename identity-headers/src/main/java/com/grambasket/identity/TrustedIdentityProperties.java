@@ -0,0 +1,37 @@
+package com.grambasket.identity;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "grambasket.identity")
+@Data
+public class TrustedIdentityProperties {
+
+    /**
+     * HMAC key shared with gateway-service, used to verify the forwarded identity headers.
+     */
+    private String signingKey;
+
+    private TrustedHeaders trustedHeaders = new TrustedHeaders();
+
+    private ServiceRequests serviceRequests = new ServiceRequests();
+
+    @Data
+    public static class TrustedHeaders {
+        /**
+         * When enabled, requests carrying valid gateway identity headers are authenticated without decoding a JWT.
+         */
+        private boolean enabled = false;
+        private Duration clockSkew = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class ServiceRequests {
+        /**
+         * Signed service-to-service requests older than this, or this far in the future, are rejected.
+         */
+        private Duration maxAge = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,63 @@
+package com.grambasket.identity;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Verifies the identity headers signed by gateway-service. This replaces a full JWT decode per request with a
+ * single short MAC over a few header values. Headers are read through a lookup function so servlet filters can
+ * pass {@code request::getHeader}.
+ */
+@Slf4j
+public class TrustedIdentityVerifier {
+
+    private final TrustedIdentityProperties properties;
+    private final IdentityHeaders identityHeaders;
+
+    public TrustedIdentityVerifier(TrustedIdentityProperties properties) {
+        this.properties = properties;
+        this.identityHeaders = properties.getTrustedHeaders().isEnabled() ? new IdentityHeaders(properties.getSigningKey()) : null;
+    }
+
+    public boolean isEnabled() {
+        return identityHeaders != null;
+    }
+
+    public Optional<TrustedIdentity> resolve(UnaryOperator<String> headers) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        String userId = headers.apply(IdentityHeaders.USER_ID);
+        String roles = headers.apply(IdentityHeaders.ROLES);
+        String rolesVersion = headers.apply(IdentityHeaders.ROLES_VERSION);
+        String expiresAt = headers.apply(IdentityHeaders.EXPIRES_AT);
+        String signature = headers.apply(IdentityHeaders.SIGNATURE);
+        if (userId == null || roles == null || rolesVersion == null || expiresAt == null || signature == null) {
+            return Optional.empty();
+        }
+
+        long rolesVersionValue;
+        long expiresAtEpochSecond;
+        try {
+            rolesVersionValue = Long.parseLong(rolesVersion);
+            expiresAtEpochSecond = Long.parseLong(expiresAt);
+        } catch (NumberFormatException e) {
+            log.warn("Rejecting identity headers with malformed roles version '{}' or expiry '{}'.", rolesVersion, expiresAt);
+            return Optional.empty();
+        }
+        Instant deadline = Instant.ofEpochSecond(expiresAtEpochSecond).plus(properties.getTrustedHeaders().getClockSkew());
+        if (deadline.isBefore(Instant.now())) {
+            log.warn("Rejecting expired identity headers for user ID: {}", userId);
+            return Optional.empty();
+        }
+
+        if (!identityHeaders.verify(userId, roles, rolesVersionValue, expiresAtEpochSecond, signature)) {
+            log.warn("Rejecting identity headers with an invalid signature for user ID: {}", userId);
+            return Optional.empty();
+        }
+        return Optional.of(new TrustedIdentity(userId, IdentityHeaders.splitRoles(roles), rolesVersionValue));
+    }
+}
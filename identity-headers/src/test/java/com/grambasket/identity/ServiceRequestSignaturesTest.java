@@ -0,0 +1,41 @@
+package com.grambasket.identity;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServiceRequestSignaturesTest {
+
+    private static final Duration MAX_AGE = Duration.ofSeconds(30);
+
+    private final ServiceRequestSignatures signatures = new ServiceRequestSignatures("identity-signing-key-identity-signing-key");
+    private final byte[] body = "{\"authIds\":[\"auth-1\"]}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void acceptsAFreshSignatureOverTheBody() {
+        long now = Instant.now().getEpochSecond();
+
+        assertTrue(signatures.verify(Long.toString(now), signatures.sign(now, body), body, MAX_AGE));
+    }
+
+    @Test
+    void rejectsTamperedStaleAndMissingSignatures() {
+        long now = Instant.now().getEpochSecond();
+        String signature = signatures.sign(now, body);
+        byte[] widened = "{\"authIds\":[\"auth-1\",\"auth-2\"]}".getBytes(StandardCharsets.UTF_8);
+        long stale = now - 120;
+
+        assertFalse(signatures.verify(Long.toString(now), signature, widened, MAX_AGE));
+        assertFalse(signatures.verify(Long.toString(now + 1), signature, body, MAX_AGE));
+        assertFalse(signatures.verify(Long.toString(stale), signatures.sign(stale, body), body, MAX_AGE));
+        assertFalse(signatures.verify(null, signature, body, MAX_AGE));
+        assertFalse(signatures.verify(Long.toString(now), null, body, MAX_AGE));
+        assertFalse(new ServiceRequestSignatures("another-signing-key-another-signing-key")
+                .verify(Long.toString(now), signature, body, MAX_AGE));
+    }
+}
@@ -0,0 +1,82 @@
+package com.grambasket.identity;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrustedIdentityVerifierTest {
+
+    private static final String SIGNING_KEY = "identity-signing-key-identity-signing-key";
+
+    private final IdentityHeaders signer = new IdentityHeaders(SIGNING_KEY);
+    private final TrustedIdentityVerifier verifier = new TrustedIdentityVerifier(properties());
+
+    @Test
+    void acceptsHeadersSignedByTheGateway() {
+        Map<String, String> headers = signedHeaders("user-1", List.of("USER", "ADMIN"), Instant.now().plusSeconds(60));
+
+        Optional<TrustedIdentity> identity = verifier.resolve(headers::get);
+
+        assertTrue(identity.isPresent());
+        assertEquals("user-1", identity.get().getUserId());
+        assertEquals(List.of("USER", "ADMIN"), identity.get().getRoles());
+        assertEquals(4, identity.get().getRolesVersion());
+    }
+
+    @Test
+    void rejectsTamperedExpiredAndIncompleteHeaders() {
+        Map<String, String> escalated = signedHeaders("user-1", List.of("USER"), Instant.now().plusSeconds(60));
+        escalated.put(IdentityHeaders.ROLES, "USER,ADMIN");
+        assertFalse(verifier.resolve(escalated::get).isPresent());
+
+        Map<String, String> rolledBack = signedHeaders("user-1", List.of("USER"), Instant.now().plusSeconds(60));
+        rolledBack.put(IdentityHeaders.ROLES_VERSION, "5");
+        assertFalse(verifier.resolve(rolledBack::get).isPresent());
+
+        Map<String, String> expired = signedHeaders("user-1", List.of("USER"), Instant.now().minusSeconds(120));
+        assertFalse(verifier.resolve(expired::get).isPresent());
+
+        Map<String, String> unsigned = signedHeaders("user-1", List.of("USER"), Instant.now().plusSeconds(60));
+        unsigned.remove(IdentityHeaders.SIGNATURE);
+        assertFalse(verifier.resolve(unsigned::get).isPresent());
+
+        Map<String, String> garbage = signedHeaders("user-1", List.of("USER"), Instant.now().plusSeconds(60));
+        garbage.put(IdentityHeaders.SIGNATURE, "not base64!");
+        assertFalse(verifier.resolve(garbage::get).isPresent());
+    }
+
+    @Test
+    void staysDisabledUntilTrustedHeadersAreEnabled() {
+        TrustedIdentityVerifier disabled = new TrustedIdentityVerifier(new TrustedIdentityProperties());
+        Map<String, String> headers = signedHeaders("user-1", List.of("USER"), Instant.now().plusSeconds(60));
+
+        assertFalse(disabled.isEnabled());
+        assertFalse(disabled.resolve(headers::get).isPresent());
+    }
+
+    private Map<String, String> signedHeaders(String userId, List<String> roles, Instant expiresAt) {
+        String joinedRoles = IdentityHeaders.joinRoles(roles);
+        Map<String, String> headers = new HashMap<>();
+        headers.put(IdentityHeaders.USER_ID, userId);
+        headers.put(IdentityHeaders.ROLES, joinedRoles);
+        headers.put(IdentityHeaders.ROLES_VERSION, "4");
+        headers.put(IdentityHeaders.EXPIRES_AT, String.valueOf(expiresAt.getEpochSecond()));
+        headers.put(IdentityHeaders.SIGNATURE, signer.sign(userId, joinedRoles, 4, expiresAt.getEpochSecond()));
+        return headers;
+    }
+
+    private static TrustedIdentityProperties properties() {
+        TrustedIdentityProperties properties = new TrustedIdentityProperties();
+        properties.setSigningKey(SIGNING_KEY);
+        properties.getTrustedHeaders().setEnabled(true);
+        return properties;
+    }
+}
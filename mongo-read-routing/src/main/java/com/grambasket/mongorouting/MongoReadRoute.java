@@ -0,0 +1,58 @@
+package com.grambasket.mongorouting;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The read route of the current thread. Scopes nest with the service calls that open them: reads go to
+ * secondaries only inside a read-only scope that is not itself nested in a primary scope, and once a primary
+ * (writing) scope has run inside a read-only one, the rest of that read-only scope reads from the primary so
+ * it sees its own writes.
+ */
+public final class MongoReadRoute {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private MongoReadRoute() {
+    }
+
+    /**
+     * Whether reads issued now may go to a secondary. Reads inside a MongoDB transaction always use the
+     * primary, as the server requires.
+     */
+    public static boolean isSecondaryRead() {
+        Scope scope = CURRENT.get();
+        return scope != null && scope.secondary && !scope.pinnedToPrimary
+                && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    static Scope enter(boolean readOnly) {
+        Scope parent = CURRENT.get();
+        boolean secondary = readOnly && (parent == null || (parent.secondary && !parent.pinnedToPrimary));
+        Scope scope = new Scope(parent, secondary);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void exit(Scope scope) {
+        Scope parent = scope.parent;
+        if (parent == null) {
+            CURRENT.remove();
+            return;
+        }
+        if (!scope.secondary) {
+            parent.pinnedToPrimary = true;
+        }
+        CURRENT.set(parent);
+    }
+
+    static final class Scope {
+        private final Scope parent;
+        private final boolean secondary;
+        private boolean pinnedToPrimary;
+
+        private Scope(Scope parent, boolean secondary) {
+            this.parent = parent;
+            this.secondary = secondary;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.grambasket.mongorouting;
+
+import io.micrometer.core.instrument.binder.mongodb.MongoCommandTagsProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+/**
+ * Routes the reads of {@code @Transactional(readOnly = true)} methods to secondaries for every service that has
+ * this module on its classpath. The {@link MongoDatabaseFactory} is wrapped in a
+ * {@link ReadRoutingMongoDatabaseFactory}, so the auto-configured {@code MongoTemplate} and all repositories
+ * built on it are routed without further changes. Set {@code grambasket.mongo.read-routing.enabled=false}
+ * to keep every read on the primary.
+ */
+@AutoConfiguration(beforeName = "org.springframework.boot.actuate.autoconfigure.metrics.mongo.MongoMetricsAutoConfiguration")
+@ConditionalOnClass(MongoDatabaseFactory.class)
+@ConditionalOnProperty(prefix = "grambasket.mongo.read-routing", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(MongoReadRoutingProperties.class)
+public class MongoReadRoutingAutoConfiguration {
+
+    @Bean
+    public static BeanPostProcessor readRoutingMongoDatabaseFactoryPostProcessor(ObjectProvider<MongoReadRoutingProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof MongoDatabaseFactory factory && !(bean instanceof ReadRoutingMongoDatabaseFactory)) {
+                    return new ReadRoutingMongoDatabaseFactory(factory, properties.getObject().toReadPreference());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ReadOnlyRoutingAspect readOnlyRoutingAspect() {
+        return new ReadOnlyRoutingAspect();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MongoCommandTagsProvider.class)
+    static class MetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(MongoCommandTagsProvider.class)
+        public ReadRouteMongoCommandTagsProvider readRouteMongoCommandTagsProvider(MongoReadRoutingProperties properties) {
+            return new ReadRouteMongoCommandTagsProvider(properties.toReadPreference());
+        }
+    }
+}
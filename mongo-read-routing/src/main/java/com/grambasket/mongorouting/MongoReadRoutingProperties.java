@@ -0,0 +1,34 @@
+package com.grambasket.mongorouting;
+
+import com.mongodb.ReadPreference;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Data
+@ConfigurationProperties(prefix = "grambasket.mongo.read-routing")
+public class MongoReadRoutingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Read preference for read-only operations, e.g. {@code secondaryPreferred}, {@code secondary} or {@code nearest}.
+     */
+    private String readPreference = "secondaryPreferred";
+
+    /**
+     * How far a secondary may lag behind the primary and still serve reads (MongoDB requires at least 90s).
+     * Unset means no limit.
+     */
+    private Duration maxStaleness;
+
+    public ReadPreference toReadPreference() {
+        if (maxStaleness == null) {
+            return ReadPreference.valueOf(readPreference);
+        }
+        return ReadPreference.valueOf(readPreference, List.of(), maxStaleness.toSeconds(), TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,17 @@
+package com.grambasket.mongorouting;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Keeps a read-only method on the primary, for reads that must observe the caller's own recent writes.
+ * Takes precedence over {@code @Transactional(readOnly = true)}.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReadFromPrimary {
+}
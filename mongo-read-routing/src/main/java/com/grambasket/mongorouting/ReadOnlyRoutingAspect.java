@@ -0,0 +1,50 @@
+package com.grambasket.mongorouting;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.Method;
+
+/**
+ * Opens a read route around every {@code @Transactional} or {@link ReadFromPrimary} bean method. Methods marked
+ * {@code @Transactional(readOnly = true)} may read from secondaries; all others, and anything they call, stay
+ * on the primary. Method-level annotations win over class-level ones, as with Spring's transaction attributes.
+ */
+@Aspect
+public class ReadOnlyRoutingAspect {
+
+    @Around("@annotation(org.springframework.transaction.annotation.Transactional)"
+            + " || @within(org.springframework.transaction.annotation.Transactional)"
+            + " || @annotation(com.grambasket.mongorouting.ReadFromPrimary)"
+            + " || @within(com.grambasket.mongorouting.ReadFromPrimary)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Class<?> targetClass = joinPoint.getTarget() != null ? joinPoint.getTarget().getClass() : method.getDeclaringClass();
+        MongoReadRoute.Scope scope = MongoReadRoute.enter(isReadOnly(AopUtils.getMostSpecificMethod(method, targetClass), targetClass));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            MongoReadRoute.exit(scope);
+        }
+    }
+
+    private static boolean isReadOnly(Method method, Class<?> targetClass) {
+        if (AnnotatedElementUtils.hasAnnotation(method, ReadFromPrimary.class)) {
+            return false;
+        }
+        Transactional transactional = AnnotatedElementUtils.findMergedAnnotation(method, Transactional.class);
+        if (transactional != null) {
+            return transactional.readOnly();
+        }
+        if (AnnotatedElementUtils.hasAnnotation(targetClass, ReadFromPrimary.class)) {
+            return false;
+        }
+        transactional = AnnotatedElementUtils.findMergedAnnotation(targetClass, Transactional.class);
+        return transactional != null && transactional.readOnly();
+    }
+}
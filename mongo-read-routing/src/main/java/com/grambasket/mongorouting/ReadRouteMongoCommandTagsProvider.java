@@ -0,0 +1,33 @@
+package com.grambasket.mongorouting;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.event.CommandEvent;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.mongodb.DefaultMongoCommandTagsProvider;
+
+import java.util.Set;
+
+/**
+ * Adds a {@code read.route} tag to the {@code mongodb.driver.commands} timers: the read preference name for
+ * reads that were routed away from the primary and {@code primary} for everything else. Together with the
+ * {@code server.address} tag this gives command latency per route and member. The synchronous driver reports
+ * command events on the calling thread, so the route of that thread is the one the command was sent with.
+ */
+public class ReadRouteMongoCommandTagsProvider extends DefaultMongoCommandTagsProvider {
+
+    private static final String PRIMARY = "primary";
+    private static final Set<String> READ_COMMANDS = Set.of("find", "getMore", "aggregate", "count", "distinct");
+
+    private final String secondaryRoute;
+
+    public ReadRouteMongoCommandTagsProvider(ReadPreference readPreference) {
+        this.secondaryRoute = readPreference.getName();
+    }
+
+    @Override
+    public Iterable<Tag> commandTags(CommandEvent event) {
+        boolean secondary = MongoReadRoute.isSecondaryRead() && READ_COMMANDS.contains(event.getCommandName());
+        return Tags.concat(super.commandTags(event), "read.route", secondary ? secondaryRoute : PRIMARY);
+    }
+}
@@ -0,0 +1,71 @@
+package com.grambasket.mongorouting;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoDatabase;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+/**
+ * Hands out databases that carry the configured read preference while {@link MongoReadRoute#isSecondaryRead()}
+ * holds and the primary-bound databases of the wrapped factory otherwise. {@code MongoTemplate} asks the factory
+ * for the database on every operation, so the route is decided per operation. Writes always go to the primary,
+ * whatever read preference the database carries.
+ */
+public class ReadRoutingMongoDatabaseFactory implements MongoDatabaseFactory {
+
+    private final MongoDatabaseFactory delegate;
+    private final ReadPreference readPreference;
+
+    public ReadRoutingMongoDatabaseFactory(MongoDatabaseFactory delegate, ReadPreference readPreference) {
+        this.delegate = delegate;
+        this.readPreference = readPreference;
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase() throws DataAccessException {
+        return route(delegate.getMongoDatabase());
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase(String dbName) throws DataAccessException {
+        return route(delegate.getMongoDatabase(dbName));
+    }
+
+    @Override
+    public PersistenceExceptionTranslator getExceptionTranslator() {
+        return delegate.getExceptionTranslator();
+    }
+
+    @Override
+    public CodecRegistry getCodecRegistry() {
+        return delegate.getCodecRegistry();
+    }
+
+    @Override
+    public ClientSession getSession(ClientSessionOptions options) {
+        return delegate.getSession(options);
+    }
+
+    // Session-bound factories serve transactions, which must read from the primary.
+    @Override
+    public MongoDatabaseFactory withSession(ClientSession session) {
+        return delegate.withSession(session);
+    }
+
+    @Override
+    public boolean isTransactionActive() {
+        return delegate.isTransactionActive();
+    }
+
+    public MongoDatabaseFactory getDelegate() {
+        return delegate;
+    }
+
+    private MongoDatabase route(MongoDatabase database) {
+        return MongoReadRoute.isSecondaryRead() ? database.withReadPreference(readPreference) : database;
+    }
+}
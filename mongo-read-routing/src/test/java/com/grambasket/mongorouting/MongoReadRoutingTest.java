@@ -0,0 +1,134 @@
+package com.grambasket.mongorouting;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.client.MongoDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the routing against a stand-in replica set: the wrapped factory hands out a primary-bound database
+ * whose {@code withReadPreference} returns a distinct secondary-bound one, so each read shows where it went.
+ */
+class MongoReadRoutingTest {
+
+    private MongoDatabase primary;
+    private MongoDatabase secondary;
+    private ReadPreference readPreference;
+    private ProfileReads reads;
+
+    @BeforeEach
+    void setUp() {
+        MongoReadRoutingProperties properties = new MongoReadRoutingProperties();
+        properties.setMaxStaleness(Duration.ofSeconds(90));
+        readPreference = properties.toReadPreference();
+
+        primary = mock(MongoDatabase.class);
+        secondary = mock(MongoDatabase.class);
+        when(primary.withReadPreference(readPreference)).thenReturn(secondary);
+        MongoDatabaseFactory replicaSet = mock(MongoDatabaseFactory.class);
+        when(replicaSet.getMongoDatabase()).thenReturn(primary);
+
+        ReadRoutingMongoDatabaseFactory factory = new ReadRoutingMongoDatabaseFactory(replicaSet, readPreference);
+        ProfileWrites writes = proxy(new ProfileWrites(factory));
+        reads = proxy(new ProfileReads(factory, writes));
+    }
+
+    @Test
+    void readPreferenceCarriesMaxStaleness() {
+        assertEquals(ReadPreference.secondaryPreferred(90, TimeUnit.SECONDS), readPreference);
+    }
+
+    @Test
+    void readOnlyMethodsReadFromSecondaries() {
+        assertSame(secondary, reads.find());
+    }
+
+    @Test
+    void unannotatedAndWritingMethodsStayOnThePrimary() {
+        assertSame(primary, reads.unrouted());
+        assertSame(primary, reads.afterWrite()[0]);
+    }
+
+    @Test
+    void readsAfterANestedWriteSeeThePrimary() {
+        MongoDatabase[] route = reads.readWriteRead();
+
+        assertSame(secondary, route[0]);
+        assertSame(primary, route[1]);
+        assertSame(primary, route[2]);
+    }
+
+    @Test
+    void readFromPrimaryOverridesReadOnly() {
+        assertSame(primary, reads.readYourWrites());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(T target) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ReadOnlyRoutingAspect());
+        return (T) proxyFactory.getProxy();
+    }
+
+    static class ProfileReads {
+        private final MongoDatabaseFactory factory;
+        private final ProfileWrites writes;
+
+        ProfileReads(MongoDatabaseFactory factory, ProfileWrites writes) {
+            this.factory = factory;
+            this.writes = writes;
+        }
+
+        @Transactional(readOnly = true)
+        public MongoDatabase find() {
+            return factory.getMongoDatabase();
+        }
+
+        public MongoDatabase unrouted() {
+            return factory.getMongoDatabase();
+        }
+
+        @Transactional
+        public MongoDatabase[] afterWrite() {
+            return new MongoDatabase[]{find(), writes.save()};
+        }
+
+        @Transactional(readOnly = true)
+        public MongoDatabase[] readWriteRead() {
+            MongoDatabase before = factory.getMongoDatabase();
+            MongoDatabase during = writes.save();
+            return new MongoDatabase[]{before, during, factory.getMongoDatabase()};
+        }
+
+        @Transactional(readOnly = true)
+        @ReadFromPrimary
+        public MongoDatabase readYourWrites() {
+            return factory.getMongoDatabase();
+        }
+    }
+
+    static class ProfileWrites {
+        private final MongoDatabaseFactory factory;
+
+        ProfileWrites(MongoDatabaseFactory factory) {
+            this.factory = factory;
+        }
+
+        @Transactional
+        public MongoDatabase save() {
+            return factory.getMongoDatabase();
+        }
+    }
+}
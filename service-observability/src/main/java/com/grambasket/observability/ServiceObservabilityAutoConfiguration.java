@@ -0,0 +1,63 @@
+package com.grambasket.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Runtime metrics every servlet service gets by depending on this module: the virtual-thread pinning monitor
+ * and the Feign connection-pool gauges.
+ */
+@AutoConfiguration(afterName = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+public class ServiceObservabilityAutoConfiguration {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    @ConditionalOnProperty(name = "grambasket.threads.pinning-monitor.enabled", havingValue = "true", matchIfMissing = true)
+    @ConditionalOnBean(MeterRegistry.class)
+    static class PinningMonitorConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+                MeterRegistry meterRegistry,
+                @Value("${grambasket.threads.pinning-monitor.threshold:20ms}") Duration threshold) {
+            return new VirtualThreadPinningMonitor(meterRegistry, threshold);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(PoolingHttpClientConnectionManager.class)
+    static class FeignPoolMetricsConfiguration {
+
+        /**
+         * Publishes the Feign connection pool as {@code httpcomponents.httpclient.pool.*} gauges (leased, available
+         * and pending connections and the pool limit), so saturation is visible before calls start timing out.
+         * Per-method call timers come from feign-micrometer.
+         */
+        @Bean
+        @ConditionalOnMissingBean(name = "feignConnectionPoolMetrics")
+        public MeterBinder feignConnectionPoolMetrics(ObjectProvider<HttpClientConnectionManager> connectionManager) {
+            return registry -> connectionManager.ifAvailable(manager -> {
+                if (manager instanceof PoolingHttpClientConnectionManager pool) {
+                    new PoolingHttpClientConnectionManagerMetricsBinder(pool, "feign").bindTo(registry);
+                }
+            });
+        }
+    }
+}
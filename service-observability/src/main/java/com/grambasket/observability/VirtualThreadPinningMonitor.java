@@ -0,0 +1,89 @@
+package com.grambasket.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread, e.g. while blocking inside a
+ * {@code synchronized} block of a driver or filter. Only active when the service runs on virtual threads
+ * ({@code spring.threads.virtual.enabled=true} on JDK 21+). Pinning events from JFR are logged with the
+ * first application frame and counted in {@code jvm.threads.virtual.pinned}, tagged by that frame.
+ * Registered by {@link ServiceObservabilityAutoConfiguration}.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String SUBMIT_FAILED_EVENT = "jdk.VirtualThreadSubmitFailed";
+    private static final String APPLICATION_PACKAGE = "com.grambasket.";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private volatile RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void start() {
+        RecordingStream stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.enable(SUBMIT_FAILED_EVENT).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.onEvent(SUBMIT_FAILED_EVENT, event ->
+                log.error("Virtual thread could not be scheduled: {}", event.getString("exceptionMessage")));
+        stream.startAsync();
+        recordingStream = stream;
+        log.info("Virtual-thread pinning monitor started (threshold {}).", threshold);
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream stream = recordingStream;
+        recordingStream = null;
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recordingStream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String location = pinnedAt(event.getStackTrace());
+        Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads pinned to their carrier longer than the monitor threshold")
+                .tag("location", location)
+                .register(meterRegistry)
+                .increment();
+        log.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), location);
+    }
+
+    private static String pinnedAt(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        RecordedFrame top = stackTrace.getFrames().get(0);
+        return stackTrace.getFrames().stream()
+                .filter(frame -> frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+                .findFirst()
+                .map(VirtualThreadPinningMonitor::describe)
+                .orElseGet(() -> describe(top));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
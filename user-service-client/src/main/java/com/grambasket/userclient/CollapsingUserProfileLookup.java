@@ -0,0 +1,158 @@
+package com.grambasket.userclient;
+
+import com.grambasket.userclient.dto.BatchLookupRequest;
+import com.grambasket.userclient.dto.BatchLookupResponse;
+import com.grambasket.userclient.dto.UserResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Merges concurrent single-profile lookups into batch calls. The first lookup of a batch opens a collapse
+ * window; every lookup that arrives before it closes (or before the batch is full) is sent in the same
+ * request, and lookups of the same authId share one result. Batch calls run on a bounded pool; when it is
+ * saturated the lookups of a new batch fail with a {@link RejectedExecutionException}.
+ */
+@Slf4j
+public class CollapsingUserProfileLookup implements DisposableBean {
+
+    private final UserProfileBatchClient client;
+    private final Duration collapseWindow;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+    private final ThreadPoolExecutor dispatcher;
+
+    private final Object lock = new Object();
+    private Map<String, CompletableFuture<Optional<UserResponse>>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public CollapsingUserProfileLookup(UserProfileBatchClient client, Duration collapseWindow, int maxBatchSize,
+                                       int maxConcurrentBatches, int maxQueuedBatches) {
+        if (maxBatchSize < 1 || maxBatchSize > UserProfileBatchClient.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("maxBatchSize must be between 1 and " + UserProfileBatchClient.MAX_BATCH_SIZE);
+        }
+        this.client = client;
+        this.collapseWindow = collapseWindow;
+        this.maxBatchSize = maxBatchSize;
+        CustomizableThreadFactory schedulerThreads = new CustomizableThreadFactory("user-lookup-collapser-");
+        schedulerThreads.setDaemon(true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(schedulerThreads);
+        CustomizableThreadFactory dispatchThreads = new CustomizableThreadFactory("user-lookup-");
+        dispatchThreads.setDaemon(true);
+        this.dispatcher = new ThreadPoolExecutor(
+                maxConcurrentBatches,
+                maxConcurrentBatches,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxQueuedBatches),
+                dispatchThreads,
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        dispatcher.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Looks up one profile as part of the next batch.
+     *
+     * @return a future with the profile, or empty if user-service has none for the authId; it fails if the batch call fails
+     */
+    public CompletableFuture<Optional<UserResponse>> lookup(String authId) {
+        CompletableFuture<Optional<UserResponse>> result;
+        Map<String, CompletableFuture<Optional<UserResponse>>> fullBatch = null;
+        synchronized (lock) {
+            result = pending.computeIfAbsent(authId, key -> new CompletableFuture<>());
+            if (pending.size() >= maxBatchSize) {
+                fullBatch = drain();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, collapseWindow.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        }
+        return result;
+    }
+
+    /**
+     * Blocking variant of {@link #lookup(String)}.
+     */
+    public Optional<UserResponse> find(String authId) {
+        try {
+            return lookup(authId).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+        scheduler.shutdown();
+        dispatcher.shutdown();
+    }
+
+    private void flush() {
+        Map<String, CompletableFuture<Optional<UserResponse>>> batch;
+        synchronized (lock) {
+            batch = drain();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    // Must be called while holding the lock.
+    private Map<String, CompletableFuture<Optional<UserResponse>>> drain() {
+        Map<String, CompletableFuture<Optional<UserResponse>>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<String, CompletableFuture<Optional<UserResponse>>> batch) {
+        try {
+            dispatcher.execute(() -> call(batch));
+        } catch (RejectedExecutionException e) {
+            log.warn("Profile lookup pool saturated ({} batch(es) queued). Failing {} lookup(s).",
+                    dispatcher.getQueue().size(), batch.size());
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private void call(Map<String, CompletableFuture<Optional<UserResponse>>> batch) {
+            try {
+            BatchLookupResponse response = client.lookup(new BatchLookupRequest(new ArrayList<>(batch.keySet())));
+            List<UserResponse> profiles = response.getProfiles() != null ? response.getProfiles() : List.of();
+            Map<String, UserResponse> byAuthId = profiles.stream()
+                    .collect(Collectors.toMap(UserResponse::getAuthId, Function.identity(), (first, second) -> first));
+            batch.forEach((authId, future) -> future.complete(Optional.ofNullable(byAuthId.get(authId))));
+            log.debug("Resolved {} profile lookup(s) in one batch call.", batch.size());
+        } catch (Exception e) {
+            log.warn("Batch profile lookup of {} authId(s) failed: {}", batch.size(), e.getMessage());
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.grambasket.userclient;
+
+import com.grambasket.identity.ServiceRequestSignatures;
+import feign.RequestInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Instant;
+
+/**
+ * Signs every request of {@link UserProfileBatchClient} with the shared {@code grambasket.identity.signing-key},
+ * which user-service requires on its internal lookup endpoint. Only applied to that client, not component-scanned.
+ */
+public class ServiceSignatureFeignConfiguration {
+
+    @Bean
+    public RequestInterceptor serviceSignatureInterceptor(@Value("${grambasket.identity.signing-key}") String signingKey) {
+        ServiceRequestSignatures signatures = new ServiceRequestSignatures(signingKey);
+        return template -> {
+            long timestamp = Instant.now().getEpochSecond();
+            byte[] body = template.body() != null ? template.body() : new byte[0];
+            template.header(ServiceRequestSignatures.TIMESTAMP, Long.toString(timestamp));
+            template.header(ServiceRequestSignatures.SIGNATURE, signatures.sign(timestamp, body));
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.grambasket.userclient;
+
+import com.grambasket.userclient.dto.BatchLookupRequest;
+import com.grambasket.userclient.dto.BatchLookupResponse;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+@FeignClient(name = "user-service", contextId = "userProfileBatchClient", configuration = ServiceSignatureFeignConfiguration.class)
+public interface UserProfileBatchClient {
+
+    int MAX_BATCH_SIZE = 500;
+
+    @PostMapping("/api/user-service/users/internal/lookup")
+    BatchLookupResponse lookup(@RequestBody BatchLookupRequest request);
+}
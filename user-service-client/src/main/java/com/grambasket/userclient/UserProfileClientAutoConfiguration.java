@@ -0,0 +1,25 @@
+package com.grambasket.userclient;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Registers {@link UserProfileBatchClient} and a {@link CollapsingUserProfileLookup} in front of it for every
+ * service that has this module on its classpath.
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(UserProfileClientProperties.class)
+@EnableFeignClients(clients = UserProfileBatchClient.class)
+public class UserProfileClientAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CollapsingUserProfileLookup collapsingUserProfileLookup(UserProfileBatchClient client,
+                                                                   UserProfileClientProperties properties) {
+        return new CollapsingUserProfileLookup(client, properties.getCollapseWindow(), properties.getMaxBatchSize(),
+                properties.getMaxConcurrentBatches(), properties.getMaxQueuedBatches());
+    }
+}
@@ -0,0 +1,29 @@
+package com.grambasket.userclient;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "grambasket.user-profile-client")
+public class UserProfileClientProperties {
+
+    /**
+     * How long a single lookup waits for others to join its batch.
+     */
+    private Duration collapseWindow = Duration.ofMillis(5);
+
+    /**
+     * A batch is sent as soon as it holds this many distinct authIds (at most 500, the server limit).
+     */
+    private int maxBatchSize = 100;
+
+    /**
+     * Batch calls in flight at once; further batches queue up to {@code maxQueuedBatches}, beyond which their
+     * lookups fail immediately instead of piling up threads while user-service is slow.
+     */
+    private int maxConcurrentBatches = 8;
+
+    private int maxQueuedBatches = 64;
+}
@@ -0,0 +1,10 @@
+package com.grambasket.userclient.dto;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class BatchLookupRequest {
+    List<String> authIds;
+}
@@ -0,0 +1,11 @@
+package com.grambasket.userclient.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchLookupResponse {
+    private List<UserResponse> profiles;
+    private List<String> notFound;
+}
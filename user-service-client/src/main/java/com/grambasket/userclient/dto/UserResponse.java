@@ -0,0 +1,20 @@
+package com.grambasket.userclient.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * The profile fields that consuming services need. Spring Boot's ObjectMapper ignores the other fields
+ * user-service returns.
+ */
+@Data
+public class UserResponse {
+    private String id;
+    private String authId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private List<String> phoneNumbers;
+    private boolean active;
+}
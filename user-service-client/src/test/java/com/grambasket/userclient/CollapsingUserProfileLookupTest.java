@@ -0,0 +1,107 @@
+package com.grambasket.userclient;
+
+import com.grambasket.userclient.dto.BatchLookupRequest;
+import com.grambasket.userclient.dto.BatchLookupResponse;
+import com.grambasket.userclient.dto.UserResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CollapsingUserProfileLookupTest {
+
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private CollapsingUserProfileLookup lookup;
+
+    @AfterEach
+    void tearDown() {
+        lookup.destroy();
+    }
+
+    @Test
+    void concurrentLookupsWithinTheWindowShareOneCall() throws Exception {
+        lookup = new CollapsingUserProfileLookup(this::knownEvenIds, Duration.ofMillis(200), 100, 4, 16);
+
+        List<CompletableFuture<Optional<UserResponse>>> results = IntStream.range(0, 10)
+                .mapToObj(i -> lookup.lookup("auth-" + (i % 5)))
+                .toList();
+
+        assertEquals("auth-2", results.get(7).get(5, TimeUnit.SECONDS).orElseThrow().getAuthId());
+        assertTrue(results.get(1).get(5, TimeUnit.SECONDS).isEmpty());
+        assertEquals(List.of(List.of("auth-0", "auth-1", "auth-2", "auth-3", "auth-4")), batches);
+    }
+
+    @Test
+    void fullBatchIsSentWithoutWaitingForTheWindow() throws Exception {
+        lookup = new CollapsingUserProfileLookup(this::knownEvenIds, Duration.ofMinutes(1), 2, 4, 16);
+
+        CompletableFuture<Optional<UserResponse>> first = lookup.lookup("auth-0");
+        lookup.lookup("auth-2");
+
+        assertTrue(first.get(5, TimeUnit.SECONDS).isPresent());
+        assertEquals(1, batches.size());
+    }
+
+    @Test
+    void failedCallFailsEveryLookupOfTheBatch() {
+        lookup = new CollapsingUserProfileLookup(request -> {
+            throw new IllegalStateException("user-service unavailable");
+        }, Duration.ofMillis(10), 100, 4, 16);
+
+        CompletableFuture<Optional<UserResponse>> result = lookup.lookup("auth-0");
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+    }
+
+    @Test
+    void lookupsFailFastOnceThePoolIsSaturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        lookup = new CollapsingUserProfileLookup(request -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return knownEvenIds(request);
+        }, Duration.ofMinutes(1), 1, 1, 1);
+
+        CompletableFuture<Optional<UserResponse>> running = lookup.lookup("auth-0");
+        CompletableFuture<Optional<UserResponse>> queued = lookup.lookup("auth-2");
+        CompletableFuture<Optional<UserResponse>> rejected = lookup.lookup("auth-4");
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS).isPresent());
+        assertTrue(queued.get(5, TimeUnit.SECONDS).isPresent());
+    }
+
+    private BatchLookupResponse knownEvenIds(BatchLookupRequest request) {
+        batches.add(request.getAuthIds());
+        BatchLookupResponse response = new BatchLookupResponse();
+        response.setProfiles(request.getAuthIds().stream()
+                .filter(authId -> Integer.parseInt(authId.substring(authId.indexOf('-') + 1)) % 2 == 0)
+                .map(authId -> {
+                    UserResponse profile = new UserResponse();
+                    profile.setAuthId(authId);
+                    return profile;
+                })
+                .toList());
+        return response;
+    }
+}
@@ -0,0 +1,12 @@
+package com.grambasket.userservice.cache;
+
+import java.time.LocalDateTime;
+
+public interface CacheInvalidationPublisher {
+
+    /**
+     * Announces that {@code key} changed locally. A {@code null} key means the whole cache was cleared;
+     * a {@code null} version means the entry was evicted rather than rewritten.
+     */
+    void publish(String cacheName, Object key, LocalDateTime version);
+}
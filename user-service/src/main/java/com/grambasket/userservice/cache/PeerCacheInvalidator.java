@@ -0,0 +1,263 @@
+package com.grambasket.userservice.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grambasket.identity.TrustedIdentityProperties;
+import com.grambasket.userservice.config.CacheInvalidationProperties;
+import com.grambasket.userservice.dto.CacheInvalidationBatch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Brokerless invalidation channel between user-service instances. Local cache writes and evictions are
+ * queued, batched and POSTed concurrently to every other instance of this service registered in Eureka;
+ * batches are timestamped and signed with the shared identity key so that only peers can evict entries and
+ * old batches cannot be replayed. Delivery is best effort: a peer that misses a batch catches up at the latest
+ * when its entry is refreshed or expires. The queue is bounded; once it overflows, the invalidations of the
+ * affected cache are replaced by a single one that clears it on every peer.
+ */
+@Component
+@Slf4j
+public class PeerCacheInvalidator implements CacheInvalidationPublisher, DisposableBean {
+
+    public static final String INVALIDATION_PATH = "/api/user-service/internal/cache/invalidations";
+    public static final String SIGNATURE_HEADER = "X-Grambasket-Cache-Signature";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int MAX_BATCH_SIZE = 1_000;
+
+    private final CacheInvalidationProperties properties;
+    private final DiscoveryClient discoveryClient;
+    private final ObjectProvider<Registration> registration;
+    private final ObjectProvider<CacheManager> cacheManager;
+    private final ObjectMapper objectMapper;
+    private final String serviceId;
+    private final SecretKeySpec signingKey;
+    private final RestClient restClient;
+    private final ThreadPoolExecutor deliveryExecutor;
+    private final String fallbackInstanceId = UUID.randomUUID().toString();
+    private final Queue<CacheInvalidationBatch.Invalidation> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Set<String> overflowedCaches = ConcurrentHashMap.newKeySet();
+
+    public PeerCacheInvalidator(CacheInvalidationProperties properties,
+                                TrustedIdentityProperties identityProperties,
+                                DiscoveryClient discoveryClient,
+                                ObjectProvider<Registration> registration,
+                                ObjectProvider<CacheManager> cacheManager,
+                                ObjectMapper objectMapper,
+                                @Value("${spring.application.name}") String serviceId) {
+        this.properties = properties;
+        this.discoveryClient = discoveryClient;
+        this.registration = registration;
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.serviceId = serviceId;
+        String key = identityProperties.getSigningKey();
+        this.signingKey = key != null && !key.isBlank()
+                ? new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM)
+                : null;
+        if (properties.isEnabled() && signingKey == null) {
+            log.warn("No grambasket.identity.signing-key configured; peer cache invalidation is disabled.");
+        }
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(properties.getRequestTimeout());
+        requestFactory.setReadTimeout(properties.getRequestTimeout());
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+        // flush() waits for every delivery before the next one starts, so the queue never holds more than one
+        // batch per peer.
+        this.deliveryExecutor = new ThreadPoolExecutor(
+                properties.getMaxConcurrentDeliveries(),
+                properties.getMaxConcurrentDeliveries(),
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory("cache-sync-")
+        );
+        deliveryExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void publish(String cacheName, Object key, LocalDateTime version) {
+        if (!isActive()) {
+            return;
+        }
+        if (pendingCount.incrementAndGet() > properties.getMaxPending()) {
+            pendingCount.decrementAndGet();
+            if (overflowedCaches.add(cacheName)) {
+                log.warn("CACHE SYNC: More than {} invalidations queued; peers will clear cache '{}' instead.",
+                        properties.getMaxPending(), cacheName);
+            }
+            return;
+        }
+        pending.add(new CacheInvalidationBatch.Invalidation(cacheName, key != null ? key.toString() : null, version));
+    }
+
+    @Scheduled(fixedDelayString = "${user-service.cache.invalidation.flush-interval:100ms}")
+    public void flush() {
+        if (pending.isEmpty() && overflowedCaches.isEmpty()) {
+            return;
+        }
+        List<CacheInvalidationBatch.Invalidation> invalidations = new ArrayList<>(clearOverflowedCaches());
+        CacheInvalidationBatch.Invalidation next;
+        while (invalidations.size() < MAX_BATCH_SIZE && (next = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            invalidations.add(next);
+        }
+
+        String self = instanceId();
+        List<ServiceInstance> peers = discoveryClient.getInstances(serviceId).stream()
+                .filter(instance -> !Objects.equals(instance.getInstanceId(), self))
+                .toList();
+        if (peers.isEmpty()) {
+            return;
+        }
+
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(new CacheInvalidationBatch(self, Instant.now(), invalidations));
+        } catch (IOException e) {
+            log.error("CACHE SYNC: Could not serialise {} invalidation(s): {}", invalidations.size(), e.getMessage());
+            return;
+        }
+        String signature = sign(body);
+        CompletableFuture<?>[] deliveries = peers.stream()
+                .map(peer -> CompletableFuture.runAsync(() -> deliver(peer, body, signature, invalidations.size()), deliveryExecutor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(deliveries).join();
+        log.debug("CACHE SYNC: Sent {} invalidation(s) to {} peer(s).", invalidations.size(), peers.size());
+    }
+
+    /**
+     * Turns each overflowed cache into a single invalidation that clears it, dropping its queued entries, which
+     * the clear supersedes. Only flush() takes from the queue, so the removals counted here are exact.
+     */
+    private List<CacheInvalidationBatch.Invalidation> clearOverflowedCaches() {
+        if (overflowedCaches.isEmpty()) {
+            return List.of();
+        }
+        Set<String> cleared = new HashSet<>();
+        for (String cacheName : overflowedCaches) {
+            if (overflowedCaches.remove(cacheName)) {
+                cleared.add(cacheName);
+            }
+        }
+        int dropped = 0;
+        for (Iterator<CacheInvalidationBatch.Invalidation> it = pending.iterator(); it.hasNext(); ) {
+            if (cleared.contains(it.next().getCacheName())) {
+                it.remove();
+                dropped++;
+            }
+        }
+        pendingCount.addAndGet(-dropped);
+        log.debug("CACHE SYNC: Clearing cache(s) {} on peers in place of {} queued invalidation(s).", cleared, dropped);
+        return cleared.stream().map(cacheName -> new CacheInvalidationBatch.Invalidation(cacheName, null, null)).toList();
+    }
+
+    private void deliver(ServiceInstance peer, byte[] body, String signature, int count) {
+        try {
+            restClient.post()
+                    .uri(peer.getUri().resolve(INVALIDATION_PATH))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(SIGNATURE_HEADER, signature)
+                    .body(body)
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (Exception e) {
+            log.warn("CACHE SYNC: Could not deliver {} invalidation(s) to {}: {}", count, peer.getInstanceId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Verifies and applies a batch received from a peer.
+     *
+     * @return false if the signature does not match or the batch was not sent within max-batch-age
+     */
+    public boolean receive(byte[] body, String signature) throws IOException {
+        if (!isActive() || signature == null
+                || !MessageDigest.isEqual(sign(body).getBytes(StandardCharsets.US_ASCII), signature.getBytes(StandardCharsets.US_ASCII))) {
+            return false;
+        }
+        CacheInvalidationBatch batch = objectMapper.readValue(body, CacheInvalidationBatch.class);
+        if (batch.getSentAt() == null
+                || Duration.between(batch.getSentAt(), Instant.now()).abs().compareTo(properties.getMaxBatchAge()) > 0) {
+            return false;
+        }
+        if (Objects.equals(batch.getOrigin(), instanceId())) {
+            return true;
+        }
+        int evicted = 0;
+        for (CacheInvalidationBatch.Invalidation invalidation : batch.getInvalidations()) {
+            Cache cache = cacheManager.getObject().getCache(invalidation.getCacheName());
+            if (cache instanceof VersionedBroadcastingCache versioned
+                    && versioned.applyRemoteInvalidation(invalidation.getKey(), invalidation.getVersion())) {
+                evicted++;
+            }
+        }
+        log.debug("CACHE SYNC: Applied {} invalidation(s) from {}, {} local entr(ies) evicted.",
+                batch.getInvalidations().size(), batch.getOrigin(), evicted);
+        return true;
+    }
+
+    @Override
+    public void destroy() {
+        deliveryExecutor.shutdown();
+    }
+
+    private boolean isActive() {
+        return properties.isEnabled() && signingKey != null;
+    }
+
+    private String instanceId() {
+        Registration self = registration.getIfAvailable();
+        return self != null ? self.getInstanceId() : fallbackInstanceId;
+    }
+
+    private String sign(byte[] body) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(body));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign cache invalidations with " + HMAC_ALGORITHM, e);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.grambasket.userservice.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+/**
+ * Local cache that tells its peers about every write and eviction, and applies their invalidations.
+ * <p>
+ * Entries are versioned by the {@code updatedAt} of the cached profile. A peer invalidation evicts the local
+ * entry unless the local copy is clearly newer than the announced version, so late or reordered messages
+ * cannot push out fresher data. The newest announced version is also kept as a short-lived tombstone:
+ * a load that read the document before the remote write but finishes after the invalidation is returned
+ * to its caller but not kept in the cache.
+ */
+public class VersionedBroadcastingCache implements Cache {
+
+    private final Cache delegate;
+    private final CacheInvalidationPublisher publisher;
+    private final Function<Object, LocalDateTime> versionExtractor;
+    private final Duration clockSkewTolerance;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, LocalDateTime> tombstones;
+
+    public VersionedBroadcastingCache(Cache delegate, CacheInvalidationPublisher publisher,
+                                      Function<Object, LocalDateTime> versionExtractor,
+                                      Duration tombstoneTtl, Duration clockSkewTolerance) {
+        this.delegate = delegate;
+        this.publisher = publisher;
+        this.versionExtractor = versionExtractor;
+        this.clockSkewTolerance = clockSkewTolerance;
+        this.tombstones = Caffeine.newBuilder()
+                .expireAfterWrite(tombstoneTtl)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Returns the cached values of those {@code keys} that are present, in a single lookup on the native cache.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<Object, Object> getAllPresent(Collection<?> keys) {
+        if (delegate.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            return ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativeCache).getAllPresent(keys);
+        }
+        Map<Object, Object> present = new HashMap<>();
+        for (Object key : keys) {
+            ValueWrapper cached = delegate.get(key);
+            if (cached != null && cached.get() != null) {
+                present.put(key, cached.get());
+            }
+        }
+        return present;
+    }
+
+    /**
+     * Caches a value that was just read from the database, like {@link #get(Object, Callable)} does after a
+     * miss: peers are not notified, and the value is dropped if a newer write is already known from a peer.
+     */
+    public void putLoaded(Object key, Object value) {
+        LocalDateTime tombstone = tombstones.getIfPresent(key);
+        if (tombstone != null) {
+            LocalDateTime version = versionExtractor.apply(value);
+            if (version == null || version.isBefore(tombstone)) {
+                return;
+            }
+        }
+        delegate.put(key, value);
+    }
+
+    /**
+     * Applies an invalidation received from another instance without re-broadcasting it.
+     *
+     * @return whether a local entry was evicted
+     */
+    public boolean applyRemoteInvalidation(@Nullable Object key, @Nullable LocalDateTime version) {
+        if (key == null) {
+            delegate.clear();
+            return true;
+        }
+        if (version == null) {
+            return delegate.evictIfPresent(key);
+        }
+        tombstones.asMap().merge(key, version, (existing, announced) -> announced.isAfter(existing) ? announced : existing);
+        ValueWrapper cached = delegate.get(key);
+        if (cached == null) {
+            return false;
+        }
+        LocalDateTime cachedVersion = versionExtractor.apply(cached.get());
+        if (cachedVersion != null && cachedVersion.isAfter(version.plus(clockSkewTolerance))) {
+            return false;
+        }
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    @Nullable
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @Nullable
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        T value = delegate.get(key, valueLoader);
+        LocalDateTime tombstone = tombstones.getIfPresent(key);
+        if (tombstone != null && value != null) {
+            LocalDateTime version = versionExtractor.apply(value);
+            if (version == null || version.isBefore(tombstone)) {
+                delegate.evict(key);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        delegate.put(key, value);
+        publisher.publish(getName(), key, value != null ? versionExtractor.apply(value) : null);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        publisher.publish(getName(), key, null);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        publisher.publish(getName(), key, null);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        publisher.publish(getName(), null, null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        publisher.publish(getName(), null, null);
+        return invalidated;
+    }
+}
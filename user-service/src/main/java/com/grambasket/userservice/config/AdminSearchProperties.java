@@ -0,0 +1,16 @@
+package com.grambasket.userservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "user-service.admin.search")
+@Data
+public class AdminSearchProperties {
+
+    /**
+     * Filtered admin listings stop counting matches at this number; the reported total is then a lower bound.
+     */
+    private int countLimit = 10_000;
+}
@@ -0,0 +1,109 @@
+package com.grambasket.userservice.config;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.grambasket.userservice.cache.CacheInvalidationPublisher;
+import com.grambasket.userservice.cache.VersionedBroadcastingCache;
+import com.grambasket.userservice.dto.UserResponse;
+import com.grambasket.userservice.mapper.UserMapper;
+import com.grambasket.userservice.model.Address;
+import com.grambasket.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.grambasket.userservice.service.impl.UserServiceImpl.USER_PROFILE_CACHE;
+
+/**
+ * Bounded Caffeine cache for user profiles. Entries are weighed by an estimate of their heap size, expire a
+ * while after being written and are refreshed in the background once they are older than the refresh
+ * interval, so hot profiles never expire on the request path. Statistics are recorded and exported by
+ * actuator as {@code cache.*} meters.
+ * <p>
+ * Every cache is wrapped in a {@link VersionedBroadcastingCache}, which keeps the other user-service
+ * instances' copies in line with local writes.
+ */
+@Configuration
+@Slf4j
+public class CacheConfig {
+
+    private static final int BASE_WEIGHT = 512;
+    private static final int ADDRESS_WEIGHT = 256;
+    private static final int PHONE_NUMBER_WEIGHT = 64;
+    private static final int DEFAULT_WEIGHT = 2048;
+
+    @Bean
+    public CacheManager cacheManager(UserProfileCacheProperties properties, CacheInvalidationProperties invalidationProperties,
+                                     CacheInvalidationPublisher invalidationPublisher,
+                                     UserRepository userRepository, UserMapper userMapper) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new VersionedBroadcastingCache(super.adaptCaffeineCache(name, cache), invalidationPublisher,
+                        CacheConfig::versionOf, invalidationProperties.getTombstoneTtl(), invalidationProperties.getClockSkewTolerance());
+            }
+        };
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumWeight().toBytes())
+                .weigher((Object key, Object value) -> weigh(value))
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .refreshAfterWrite(properties.getRefreshAfterWrite())
+                .recordStats());
+        cacheManager.setCacheLoader(profileLoader(userRepository, userMapper));
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCacheNames(List.of(USER_PROFILE_CACHE));
+        return cacheManager;
+    }
+
+    /**
+     * Lets actuator bind the Caffeine statistics of the wrapped caches, which it would otherwise not recognise.
+     */
+    @Bean
+    public CacheMeterBinderProvider<VersionedBroadcastingCache> versionedCacheMeterBinderProvider() {
+        return (cache, tags) -> cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache
+                ? new CaffeineCacheMetrics<>(nativeCache, cache.getName(), tags)
+                : null;
+    }
+
+    // Only used for refresh-ahead; misses go through @Cacheable(sync = true), which loads once per key.
+    private static CacheLoader<Object, Object> profileLoader(UserRepository userRepository, UserMapper userMapper) {
+        return key -> {
+            log.debug("CACHE REFRESH: Reloading user profile for authId: {}", key);
+            return userRepository.findByAuthId((String) key)
+                    .map(userMapper::toUserResponse)
+                    .orElse(null);
+        };
+    }
+
+    private static LocalDateTime versionOf(Object value) {
+        return value instanceof UserResponse response ? response.getUpdatedAt() : null;
+    }
+
+    private static int weigh(Object value) {
+        if (!(value instanceof UserResponse response)) {
+            return DEFAULT_WEIGHT;
+        }
+        int weight = BASE_WEIGHT;
+        if (response.getAddresses() != null) {
+            for (Address address : response.getAddresses()) {
+                weight += ADDRESS_WEIGHT + 2 * (length(address.getStreet()) + length(address.getCity()));
+            }
+        }
+        if (response.getPhoneNumbers() != null) {
+            weight += response.getPhoneNumbers().size() * PHONE_NUMBER_WEIGHT;
+        }
+        return weight;
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
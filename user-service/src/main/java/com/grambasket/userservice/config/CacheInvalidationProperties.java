@@ -0,0 +1,59 @@
+package com.grambasket.userservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "user-service.cache.invalidation")
+@Data
+public class CacheInvalidationProperties {
+
+    /**
+     * Broadcast local cache writes and evictions to the other user-service instances registered in Eureka.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Invalidations are batched per peer and sent at this interval; together with the request timeout it
+     * bounds how long a peer may keep serving a profile that was changed elsewhere.
+     */
+    private Duration flushInterval = Duration.ofMillis(100);
+
+    /**
+     * Invalidations queued between flushes. Beyond this, the affected cache is cleared on every peer instead of
+     * queueing more entries for it, so a burst of writes or unreachable peers cannot grow the queue without bound.
+     */
+    private int maxPending = 10_000;
+
+    /**
+     * Connect and read timeout per peer. Peers are called concurrently, so one slow peer delays a flush by at
+     * most this long.
+     */
+    private Duration requestTimeout = Duration.ofMillis(500);
+
+    /**
+     * Peers called at the same time during a flush.
+     */
+    private int maxConcurrentDeliveries = 8;
+
+    /**
+     * Received batches sent longer ago than this, or this far in the future, are rejected, so a captured
+     * batch cannot be replayed later. Must cover the request timeout plus the clock difference between instances.
+     */
+    private Duration maxBatchAge = Duration.ofSeconds(10);
+
+    /**
+     * Newest version seen per key is remembered this long, so a load that raced with an invalidation and
+     * read older data is not cached.
+     */
+    private Duration tombstoneTtl = Duration.ofMinutes(1);
+
+    /**
+     * Messages are only ignored as out of order when the cached entry is newer by more than this, which
+     * absorbs clock differences between instances (versions are the writers' updatedAt timestamps).
+     */
+    private Duration clockSkewTolerance = Duration.ofSeconds(1);
+}
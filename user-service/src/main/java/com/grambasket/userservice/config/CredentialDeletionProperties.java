@@ -0,0 +1,42 @@
+package com.grambasket.userservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "user-service.credential-deletion")
+@Data
+public class CredentialDeletionProperties {
+
+    private boolean workerEnabled = true;
+
+    /**
+     * Tasks claimed per worker run.
+     */
+    private int batchSize = 50;
+
+    /**
+     * How long a claimed task stays invisible to other worker instances before it may be retried. The lease is
+     * renewed right before each call to auth-service, so it only has to cover a single call.
+     */
+    private Duration lease = Duration.ofSeconds(30);
+
+    /**
+     * Failed attempts after which a task is marked FAILED and alerted on. FAILED tasks keep being retried every
+     * {@code maxBackoff}, so a long auth-service outage delays deletions but never drops them.
+     */
+    private int maxAttempts = 10;
+
+    private Duration initialBackoff = Duration.ofSeconds(2);
+
+    private Duration maxBackoff = Duration.ofMinutes(5);
+
+    /**
+     * Delay before retrying tasks whose call was rejected by the open auth-service circuit breaker.
+     * Rejected calls never reached auth-service and do not count as attempts.
+     */
+    private Duration rejectedRetryDelay = Duration.ofSeconds(30);
+}
@@ -1,9 +1,24 @@
 package com.grambasket.userservice.config;
 
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Configuration
 @EnableMongoAuditing // This single annotation enables the automatic handling of @CreatedDate and @LastModifiedDate
 public class MongoConfig {
-}
\ No newline at end of file
+
+    /**
+     * Runs the writes that must commit together, such as a profile deletion and its credential deletion task, in
+     * a MongoDB transaction (which needs a replica set). The transaction manager is deliberately not a bean of its
+     * own: that would turn every {@code @Transactional} method, which here only marks the read route, into a
+     * transaction pinned to the primary.
+     */
+    @Bean
+    public TransactionTemplate transactionTemplate(MongoDatabaseFactory mongoDatabaseFactory) {
+        return new TransactionTemplate(new MongoTransactionManager(mongoDatabaseFactory));
+    }
+}
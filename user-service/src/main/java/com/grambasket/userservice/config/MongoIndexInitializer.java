@@ -0,0 +1,95 @@
+package com.grambasket.userservice.config;
+
+import com.grambasket.userservice.model.CredentialDeletionTask;
+import com.grambasket.userservice.model.UserProfile;
+import com.grambasket.userservice.repository.EmailSearchTokens;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Creates the indexes declared on the documents at startup. Spring Boot no longer enables automatic index
+ * creation, and the bulk create endpoint depends on the unique authId and email indexes to detect duplicates
+ * instead of reading before writing. The credential-deletion worker polls by status and next attempt.
+ * <p>
+ * Profiles written before the derived email search fields existed are backfilled afterwards, so the admin
+ * email search finds them.
+ */
+@Component
+@ConditionalOnProperty(name = "user-service.mongo.ensure-indexes", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexInitializer {
+
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(UserProfile.class, CredentialDeletionTask.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        MongoPersistentEntityIndexResolver resolver =
+                new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> document : INDEXED_DOCUMENTS) {
+            IndexOperations indexOperations = mongoTemplate.indexOps(document);
+            try {
+                resolver.resolveIndexFor(document).forEach(indexOperations::createIndex);
+                log.info("Ensured indexes for collection '{}'.", mongoTemplate.getCollectionName(document));
+            } catch (DataAccessException e) {
+                log.error("Could not ensure indexes for collection '{}': {}",
+                        mongoTemplate.getCollectionName(document), e.getMessage());
+                return;
+            }
+        }
+        backfillEmailSearchFields();
+    }
+
+    private void backfillEmailSearchFields() {
+        Query missing = Query.query(Criteria.where("emailTrigrams").exists(false));
+        missing.fields().include("email");
+        int updated = 0;
+        try (Stream<UserProfile> profiles = mongoTemplate.stream(missing, UserProfile.class)) {
+            BulkOperations bulk = null;
+            int pending = 0;
+            for (UserProfile profile : (Iterable<UserProfile>) profiles::iterator) {
+                if (bulk == null) {
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserProfile.class);
+                }
+                String normalized = EmailSearchTokens.normalize(profile.getEmail());
+                bulk.updateOne(Query.query(Criteria.where("_id").is(profile.getId())), new Update()
+                        .set("emailNormalized", normalized)
+                        .set("emailTrigrams", EmailSearchTokens.trigrams(normalized)));
+                if (++pending == BACKFILL_BATCH_SIZE) {
+                    bulk.execute();
+                    updated += pending;
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+            if (bulk != null) {
+                bulk.execute();
+                updated += pending;
+            }
+        } catch (DataAccessException e) {
+            log.error("Email search backfill stopped after {} profile(s): {}", updated, e.getMessage());
+            return;
+        }
+        if (updated > 0) {
+            log.info("Backfilled email search fields for {} profile(s).", updated);
+        }
+    }
+}
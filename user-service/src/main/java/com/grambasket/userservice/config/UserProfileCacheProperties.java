@@ -0,0 +1,26 @@
+package com.grambasket.userservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "user-service.cache.user-profiles")
+@Data
+public class UserProfileCacheProperties {
+
+    /**
+     * Upper bound for the estimated heap used by cached profiles; least-recently/frequently used entries are evicted beyond it.
+     */
+    private DataSize maximumWeight = DataSize.ofMegabytes(64);
+
+    private Duration expireAfterWrite = Duration.ofMinutes(30);
+
+    /**
+     * Entries read after this age are reloaded in the background while the cached value keeps being served.
+     */
+    private Duration refreshAfterWrite = Duration.ofMinutes(5);
+}
@@ -1,6 +1,8 @@
 package com.grambasket.userservice.controller;
 
+import com.grambasket.userservice.dto.CursorPage;
 import com.grambasket.userservice.dto.UserResponse;
+import com.grambasket.userservice.dto.UserSummaryResponse;
 import com.grambasket.userservice.dto.UserUpdateRequest;
 import com.grambasket.userservice.service.AdminService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,8 +18,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/user-service/admin/users")
@@ -36,6 +41,14 @@ public class AdminController {
         return ResponseEntity.ok(adminService.findAllUsers(pageable, active));
     }
 
+    @Operation(summary = "Get all user summaries with pagination", description = "Same listing as above with only id, name, email and default address per user (?view=summary).")
+    @GetMapping(params = "view=summary")
+    public ResponseEntity<Page<UserSummaryResponse>> getAllUserSummaries(
+            @ParameterObject Pageable pageable,
+            @RequestParam(required = false) Boolean active) {
+        return ResponseEntity.ok(adminService.findAllUserSummaries(pageable, active));
+    }
+
     @Operation(summary = "Search for users by email", description = "Fetches a paginated list of users whose email matches the search term. Can be filtered by active status.")
     @GetMapping("/search")
     public ResponseEntity<Page<UserResponse>> searchUsersByEmail(
@@ -45,6 +58,25 @@ public class AdminController {
         return ResponseEntity.ok(adminService.findUserByEmail(email, pageable, active));
     }
 
+    @Operation(summary = "Get users with cursor pagination", description = "Fetches users in creation order, one page per cursor. Unlike the paged listing, deep pages cost the same as the first and no total is counted.")
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<UserResponse>> getUsersByCursor(
+            @Parameter(description = "The nextCursor of the previous page; omit for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 500") @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) Boolean active) {
+        return ResponseEntity.ok(adminService.findUsersAfter(cursor, size, active));
+    }
+
+    @Operation(summary = "Export users as NDJSON", description = "Streams every matching user profile as one JSON document per line.")
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(required = false) Boolean active) {
+        StreamingResponseBody body = outputStream -> adminService.exportUsers(active, outputStream);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.ndjson\"")
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
     @Operation(summary = "Get a single user profile by internal ID", description = "Fetches a complete user profile using the internal database ID.")
     @GetMapping("/{userId}")
     public ResponseEntity<UserResponse> getUserById(
@@ -52,6 +84,13 @@ public class AdminController {
         return ResponseEntity.ok(adminService.getUserProfileById(userId));
     }
 
+    @Operation(summary = "Get a single user summary by internal ID", description = "Fetches only the id, name, email and default address of the user (?view=summary).")
+    @GetMapping(value = "/{userId}", params = "view=summary")
+    public ResponseEntity<UserSummaryResponse> getUserSummaryById(
+            @Parameter(description = "Internal database ID of the user") @PathVariable String userId) {
+        return ResponseEntity.ok(adminService.getUserSummaryById(userId));
+    }
+
     @Operation(summary = "Update a user's profile by internal ID", description = "Updates profile information for a specific user using their internal database ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully updated user profile",
@@ -66,7 +105,7 @@ public class AdminController {
         return ResponseEntity.ok(adminService.updateUserProfile(userId, updateRequest));
     }
 
-    @Operation(summary = "Permanently delete a user by internal ID (Hard Delete)", description = "DANGER ZONE: This action is irreversible and will permanently delete all of the user's data.")
+    @Operation(summary = "Permanently delete a user by internal ID (Hard Delete)", description = "DANGER ZONE: This action is irreversible and will permanently delete all of the user's data. The profile is deleted immediately; the login credentials are removed from auth-service in the background.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Account permanently deleted", content = @Content),
             @ApiResponse(responseCode = "404", description = "User profile not found for the given ID", content = @Content)
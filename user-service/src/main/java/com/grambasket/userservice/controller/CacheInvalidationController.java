@@ -0,0 +1,34 @@
+package com.grambasket.userservice.controller;
+
+import com.grambasket.userservice.cache.PeerCacheInvalidator;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+@Hidden
+public class CacheInvalidationController {
+
+    private final PeerCacheInvalidator peerCacheInvalidator;
+
+    @PostMapping(PeerCacheInvalidator.INVALIDATION_PATH)
+    public ResponseEntity<Void> receiveInvalidations(
+            @RequestBody byte[] body,
+            @RequestHeader(name = PeerCacheInvalidator.SIGNATURE_HEADER, required = false) String signature) throws IOException {
+        if (!peerCacheInvalidator.receive(body, signature)) {
+            log.warn("Rejected cache invalidation batch with a missing or invalid signature or an expired timestamp.");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
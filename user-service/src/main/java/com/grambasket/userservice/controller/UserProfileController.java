@@ -1,9 +1,15 @@
 package com.grambasket.userservice.controller;
 
+import com.grambasket.userservice.dto.BatchCreateUserRequest;
+import com.grambasket.userservice.dto.BatchCreateUserResponse;
+import com.grambasket.userservice.dto.BatchLookupRequest;
+import com.grambasket.userservice.dto.BatchLookupResponse;
 import com.grambasket.userservice.dto.InternalCreateUserRequest;
 import com.grambasket.userservice.dto.UserResponse;
+import com.grambasket.userservice.dto.UserSummaryResponse;
 import com.grambasket.userservice.dto.UserUpdateRequest;
 import com.grambasket.userservice.model.CommunicationPreferences;
+import com.grambasket.userservice.security.SignedServiceRequest;
 import com.grambasket.userservice.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,6 +21,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -31,10 +39,11 @@ public class UserProfileController {
 
     private final UserService userService;
 
-    @Operation(summary = "Get current user's profile", description = "Fetches the complete profile for the authenticated user, including all addresses.")
+    @Operation(summary = "Get current user's profile", description = "Fetches the complete profile for the authenticated user, including all addresses. The response carries an ETag; send it back in If-None-Match to get 304 Not Modified while the profile is unchanged.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved user profile",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = UserResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Not Modified - The profile still matches the If-None-Match ETag", content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized - JWT is missing or invalid", content = @Content),
             @ApiResponse(responseCode = "404", description = "User profile not found for the given token", content = @Content)
     })
@@ -42,24 +51,32 @@ public class UserProfileController {
     public ResponseEntity<UserResponse> getCurrentUserProfile(Authentication authentication) {
         String authId = authentication.getName();
         log.info("Fetching profile for authId: {}", authId);
-        return ResponseEntity.ok(userService.getUserProfileByAuthId(authId));
+        return withETag(userService.getUserProfileByAuthId(authId));
     }
 
-    @Operation(summary = "Update current user's profile", description = "Updates the profile information (name, phone, etc.) for the authenticated user. Note: This does not update addresses.")
+    @Operation(summary = "Get current user's profile summary", description = "Fetches only the id, name, email and default address of the authenticated user (?view=summary).")
+    @GetMapping(value = "/me", params = "view=summary")
+    public ResponseEntity<UserSummaryResponse> getCurrentUserSummary(Authentication authentication) {
+        return ResponseEntity.ok(userService.getUserSummaryByAuthId(authentication.getName()));
+    }
+
+    @Operation(summary = "Update current user's profile", description = "Updates the profile information (name, phone, etc.) for the authenticated user. Note: This does not update addresses. With If-Match, the update is only applied if the profile still has that ETag.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully updated user profile",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = UserResponse.class))),
             @ApiResponse(responseCode = "400", description = "Bad Request - Invalid input data", content = @Content),
             @ApiResponse(responseCode = "401", description = "Unauthorized - JWT is missing or invalid", content = @Content),
-            @ApiResponse(responseCode = "404", description = "User profile not found for the given token", content = @Content)
+            @ApiResponse(responseCode = "404", description = "User profile not found for the given token", content = @Content),
+            @ApiResponse(responseCode = "412", description = "Precondition Failed - The profile no longer matches the If-Match ETag", content = @Content)
     })
     @PutMapping("/me")
     public ResponseEntity<UserResponse> updateCurrentUserProfile(
             Authentication authentication,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UserUpdateRequest updateRequest) {
         String authId = authentication.getName();
         log.info("Updating profile for authId: {}", authId);
-        return ResponseEntity.ok(userService.updateUserProfile(authId, updateRequest));
+        return withETag(userService.updateUserProfile(authId, updateRequest, ifMatch));
     }
 
     @Operation(summary = "Update communication preferences", description = "Updates the user's settings for receiving email, SMS, and push notifications.")
@@ -67,15 +84,17 @@ public class UserProfileController {
             @ApiResponse(responseCode = "200", description = "Preferences updated successfully",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = UserResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
-            @ApiResponse(responseCode = "404", description = "User profile not found", content = @Content)
+            @ApiResponse(responseCode = "404", description = "User profile not found", content = @Content),
+            @ApiResponse(responseCode = "412", description = "Precondition Failed - The profile no longer matches the If-Match ETag", content = @Content)
     })
     @PutMapping("/me/preferences")
     public ResponseEntity<UserResponse> updateCommunicationPreferences(
             Authentication authentication,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody CommunicationPreferences preferences) {
         String authId = authentication.getName();
-        UserResponse updatedUser = userService.updateCommunicationPreferences(authId, preferences);
-        return ResponseEntity.ok(updatedUser);
+        UserResponse updatedUser = userService.updateCommunicationPreferences(authId, preferences, ifMatch);
+        return withETag(updatedUser);
     }
 
     @Operation(summary = "Deactivate current user's account (Soft Delete)", description = "Marks the user's account as inactive. The user will be logged out and will not be able to log back in. This is a soft delete.")
@@ -122,6 +141,45 @@ public class UserProfileController {
         return new ResponseEntity<>(userService.createUserProfile(request.getAuthId(), request.getEmail()), HttpStatus.CREATED);
     }
 
+    @Operation(
+            summary = "Create user profiles in bulk (Internal)",
+            description = "Internal endpoint for backfills and for the auth-service outbox relay. Creates up to "
+                    + BatchCreateUserRequest.MAX_BATCH_SIZE + " profiles in one unordered bulk insert and reports the outcome of every item. "
+                    + "Profiles that already exist for the authId are reported as ALREADY_EXISTS; items whose email belongs to "
+                    + "another profile are reported as CONFLICT. Neither fails the batch.",
+            security = @SecurityRequirement(name = "none")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see the per-item results",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchCreateUserResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Bad Request - Empty or oversized batch, or invalid items", content = @Content)
+    })
+    @PostMapping("/internal/create/batch")
+    public ResponseEntity<BatchCreateUserResponse> createUserProfiles(@Valid @RequestBody BatchCreateUserRequest request) {
+        log.info("Internal batch create for {} profile(s)", request.getUsers().size());
+        return ResponseEntity.ok(userService.createUserProfiles(request.getUsers()));
+    }
+
+    @Operation(
+            summary = "Look up user profiles in bulk (Internal)",
+            description = "Internal endpoint for services that resolve many users at once, e.g. per order or notification batch. "
+                    + "Returns the profiles of up to " + BatchLookupRequest.MAX_BATCH_SIZE + " authIds, served from the profile cache where possible. "
+                    + "Callers must sign the body with the shared identity key (X-Grambasket-Service-Timestamp and "
+                    + "X-Grambasket-Service-Signature headers); the API Gateway does not forward internal paths.",
+            security = @SecurityRequirement(name = "none")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Profiles found, plus the authIds without a profile",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchLookupResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Bad Request - Empty or oversized lookup", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Missing, invalid or expired service signature", content = @Content)
+    })
+    @SignedServiceRequest
+    @PostMapping("/internal/lookup")
+    public ResponseEntity<BatchLookupResponse> lookupUserProfiles(@Valid @RequestBody BatchLookupRequest request) {
+        return ResponseEntity.ok(userService.getUserProfilesByAuthIds(request.getAuthIds()));
+    }
+
     @Operation(
             summary = "Ping endpoint",
             description = "A simple health check endpoint to verify the service is running. This endpoint is public.",
@@ -132,4 +190,15 @@ public class UserProfileController {
     public ResponseEntity<Map<String, String>> ping() {
         return ResponseEntity.ok(Map.of("response", "pong"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Adds the profile's ETag. For GET requests Spring MVC compares it with If-None-Match and answers
+     * 304 Not Modified without serializing the body. Responses must be revalidated before reuse.
+     */
+    private static ResponseEntity<UserResponse> withETag(UserResponse response) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(response.getEtag())
+                .body(response);
+    }
+}
@@ -1,6 +1,7 @@
 package com.grambasket.userservice.delegate;
 
 import com.grambasket.userservice.client.AuthServiceClient;
+import feign.FeignException;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,17 +12,23 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class AuthServiceDelegate {
 
-    private static final String AUTH_SERVICE_CIRCUIT_BREAKER = "authService";
+    private static final String AUTH_SERVICE = "authService";
     private final AuthServiceClient authServiceClient;
 
-    @CircuitBreaker(name = AUTH_SERVICE_CIRCUIT_BREAKER, fallbackMethod = "handleAuthServiceDeletionFailure")
+    /**
+     * Deletes the credentials of the given user in auth-service. Credentials that are already gone count as
+     * deleted, so the call can be retried safely. Any other failure, including an open circuit, is thrown to
+     * the caller, which is expected to retry later.
+     */
+    @CircuitBreaker(name = AUTH_SERVICE)
     public void deleteUserCredentials(String authId) {
         log.info("DELEGATE: Attempting to delete credentials in auth-service for authId: {}", authId);
-        authServiceClient.deleteUserCredentials(authId);
+        try {
+            authServiceClient.deleteUserCredentials(authId);
+        } catch (FeignException.NotFound e) {
+            log.info("DELEGATE: No credentials left in auth-service for authId: {}", authId);
+            return;
+        }
         log.info("DELEGATE: Successfully requested credential deletion for authId: {}", authId);
     }
-
-    public void handleAuthServiceDeletionFailure(String authId, Throwable t) {
-        log.error("CIRCUIT BREAKER OPEN: The auth-service is unavailable. Failed to delete credentials for authId: {}. Manual cleanup will be required. Error: {}", authId, t.getMessage());
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,17 @@
+package com.grambasket.userservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchCreateUserRequest {
+    public static final int MAX_BATCH_SIZE = 500;
+
+    @NotEmpty(message = "users cannot be empty")
+    @Size(max = MAX_BATCH_SIZE, message = "A batch cannot contain more than " + MAX_BATCH_SIZE + " users")
+    private List<@Valid InternalCreateUserRequest> users;
+}
@@ -0,0 +1,47 @@
+package com.grambasket.userservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreateUserResponse {
+    private int created;
+    private int alreadyExists;
+    private int failed;
+    private List<ItemResult> results;
+
+    public enum ItemStatus {
+        CREATED,
+        // A profile for this authId exists already, e.g. from an earlier delivery of the same request.
+        ALREADY_EXISTS,
+        // Another profile holds this email; nothing was written for this authId.
+        CONFLICT,
+        FAILED
+    }
+
+    public enum ConflictingKey {
+        AUTH_ID,
+        EMAIL
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ItemResult {
+        private String authId;
+        private ItemStatus status;
+        private ConflictingKey conflictingKey;
+        private String id;
+        private String error;
+    }
+}
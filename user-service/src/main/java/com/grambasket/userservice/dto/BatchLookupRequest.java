@@ -0,0 +1,17 @@
+package com.grambasket.userservice.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchLookupRequest {
+    public static final int MAX_BATCH_SIZE = 500;
+
+    @NotEmpty(message = "authIds cannot be empty")
+    @Size(max = MAX_BATCH_SIZE, message = "A lookup cannot contain more than " + MAX_BATCH_SIZE + " authIds")
+    private List<@NotBlank String> authIds;
+}
@@ -0,0 +1,18 @@
+package com.grambasket.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchLookupResponse {
+    private List<UserResponse> profiles;
+    // Requested authIds without a profile.
+    private List<String> notFound;
+}
@@ -0,0 +1,30 @@
+package com.grambasket.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationBatch {
+    private String origin;
+    // Covered by the signature, so a captured batch cannot be replayed after max-batch-age.
+    private Instant sentAt;
+    private List<Invalidation> invalidations;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Invalidation {
+        private String cacheName;
+        // A null key clears the whole cache.
+        private String key;
+        // updatedAt of the written entry; null for plain evictions, which always apply.
+        private LocalDateTime version;
+    }
+}
@@ -1,5 +1,6 @@
 package com.grambasket.userservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.grambasket.userservice.model.Address;
 import com.grambasket.userservice.model.CommunicationPreferences;
 import lombok.Data;
@@ -21,4 +22,8 @@ public class UserResponse {
     private LocalDateTime updatedAt;
     private boolean active;
     private LocalDateTime deactivatedAt;
+
+    // Strong entity tag of this profile version; sent as the ETag header and cached together with the response.
+    @JsonIgnore
+    private String etag;
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.grambasket.userservice.dto;
+
+import com.grambasket.userservice.model.Address;
+import lombok.Data;
+
+/**
+ * Lean profile view ({@code ?view=summary}): identity, name, email and the default address only.
+ */
+@Data
+public class UserSummaryResponse {
+    private String id;
+    private String authId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private boolean active;
+    private Address defaultAddress;
+}
@@ -0,0 +1,7 @@
+package com.grambasket.userservice.exception;
+
+public class InvalidServiceSignatureException extends RuntimeException {
+    public InvalidServiceSignatureException(String message) {
+        super(message);
+    }
+}
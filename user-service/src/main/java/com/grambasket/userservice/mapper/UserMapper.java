@@ -1,18 +1,55 @@
 package com.grambasket.userservice.mapper;
 
 import com.grambasket.userservice.dto.UserResponse;
+import com.grambasket.userservice.dto.UserSummaryResponse;
 import com.grambasket.userservice.dto.UserUpdateRequest;
+import com.grambasket.userservice.model.Address;
 import com.grambasket.userservice.model.UserProfile;
 import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
 @Mapper(componentModel = "spring")
 public interface UserMapper {
 
+    @Mapping(target = "etag", expression = "java(etag(userProfile))")
     UserResponse toUserResponse(UserProfile userProfile);
 
+    @Mapping(target = "defaultAddress", expression = "java(defaultAddress(userProfile))")
+    UserSummaryResponse toUserSummaryResponse(UserProfile userProfile);
+
+    @Mapping(target = "defaultAddress", expression = "java(defaultAddress(userResponse.getAddresses()))")
+    UserSummaryResponse toUserSummaryResponse(UserResponse userResponse);
+
+    default Address defaultAddress(UserProfile userProfile) {
+        return defaultAddress(userProfile.getAddresses());
+    }
+
+    default Address defaultAddress(List<Address> addresses) {
+        if (addresses == null) {
+            return null;
+        }
+        return addresses.stream().filter(Address::isDefault).findFirst().orElse(null);
+    }
+
+    /**
+     * Strong entity tag derived from the last modification time. It is truncated to milliseconds, the precision
+     * MongoDB stores, so a profile read back from the database gets the same tag as the one just saved.
+     */
+    default String etag(UserProfile userProfile) {
+        LocalDateTime version = userProfile.getUpdatedAt() != null ? userProfile.getUpdatedAt() : userProfile.getCreatedAt();
+        if (version == null) {
+            return null;
+        }
+        return "\"" + Long.toHexString(version.toInstant(ZoneOffset.UTC).toEpochMilli()) + "\"";
+    }
+
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void updateUserFromDto(UserUpdateRequest dto, @MappingTarget UserProfile entity);
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.grambasket.userservice.model;
+
+public enum CredentialDeletionStatus {
+    PENDING,
+    IN_FLIGHT,
+    FAILED
+}
@@ -0,0 +1,58 @@
+package com.grambasket.userservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Pending removal of a user's credentials from auth-service, recorded before the profile itself is deleted
+ * and carried out later by the credential-deletion worker. The id is derived from the authId, so a deletion
+ * is queued at most once per user.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "credential_deletion_tasks")
+@CompoundIndex(name = "status_next_attempt", def = "{'status': 1, 'nextAttemptAt': 1}")
+public class CredentialDeletionTask {
+
+    private static final String ID_PREFIX = "CREDENTIAL_DELETION:";
+
+    @Id
+    private String id;
+
+    private String authId;
+
+    @Builder.Default
+    private CredentialDeletionStatus status = CredentialDeletionStatus.PENDING;
+
+    private int attempts;
+
+    private Instant nextAttemptAt;
+
+    private Instant lockedUntil;
+
+    // Set by each claim; updates made on behalf of a claim only apply while it still holds the task.
+    private String claimId;
+
+    private String lastError;
+
+    private Instant createdAt;
+
+    public static CredentialDeletionTask forAuthId(String authId) {
+        Instant now = Instant.now();
+        return CredentialDeletionTask.builder()
+                .id(ID_PREFIX + authId)
+                .authId(authId)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -17,6 +18,8 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "user_profiles")
+// Serves the keyset-paginated and streamed admin listings filtered by status.
+@CompoundIndex(name = "active_id", def = "{'active': 1, '_id': 1}")
 public class UserProfile {
 
     @Id
@@ -31,6 +34,14 @@ public class UserProfile {
     @Indexed(unique = true)
     private String email;
 
+    // Derived from email on every write (see UserProfileSearchFieldsCallback); used by the admin email search.
+    @Indexed
+    private String emailNormalized;
+
+    @Indexed
+    @Builder.Default
+    private List<String> emailTrigrams = new ArrayList<>();
+
     @Builder.Default
     private List<String> phoneNumbers = new ArrayList<>();
 
@@ -0,0 +1,7 @@
+package com.grambasket.userservice.repository;
+
+import com.grambasket.userservice.model.CredentialDeletionTask;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface CredentialDeletionTaskRepository extends MongoRepository<CredentialDeletionTask, String> {
+}
@@ -0,0 +1,34 @@
+package com.grambasket.userservice.repository;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Derives the indexed search fields of {@link com.grambasket.userservice.model.UserProfile#getEmail()}:
+ * the lowercased email and the distinct trigrams of it. A substring search for a term of at least
+ * {@link #TRIGRAM_LENGTH} characters only has to look at profiles that contain all of the term's trigrams.
+ */
+public final class EmailSearchTokens {
+
+    public static final int TRIGRAM_LENGTH = 3;
+
+    private EmailSearchTokens() {
+    }
+
+    public static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static List<String> trigrams(String normalized) {
+        if (normalized == null || normalized.length() < TRIGRAM_LENGTH) {
+            return List.of();
+        }
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + TRIGRAM_LENGTH <= normalized.length(); i++) {
+            trigrams.add(normalized.substring(i, i + TRIGRAM_LENGTH));
+        }
+        return List.copyOf(trigrams);
+    }
+}
@@ -0,0 +1,20 @@
+package com.grambasket.userservice.repository;
+
+import com.grambasket.userservice.model.UserProfile;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the derived email search fields in step with the email on every save and insert, including bulk inserts.
+ */
+@Component
+public class UserProfileSearchFieldsCallback implements BeforeConvertCallback<UserProfile> {
+
+    @Override
+    public UserProfile onBeforeConvert(UserProfile profile, String collection) {
+        String normalized = EmailSearchTokens.normalize(profile.getEmail());
+        profile.setEmailNormalized(normalized);
+        profile.setEmailTrigrams(EmailSearchTokens.trigrams(normalized));
+        return profile;
+    }
+}
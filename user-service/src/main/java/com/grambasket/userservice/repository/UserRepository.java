@@ -1,18 +1,16 @@
 package com.grambasket.userservice.repository;
 
 import com.grambasket.userservice.model.UserProfile;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends MongoRepository<UserProfile, String> {
+public interface UserRepository extends MongoRepository<UserProfile, String>, UserRepositoryCustom {
     Optional<UserProfile> findByAuthId(String authId);
 
-    Page<UserProfile> findByEmailContainingIgnoreCase(String email, Pageable pageable);
+    boolean existsByAuthId(String authId);
 
-    Page<UserProfile> findByEmailContainingIgnoreCaseAndActive(String email, boolean active, Pageable pageable);
-
-    Page<UserProfile> findAllByActive(boolean active, Pageable pageable);
+    List<UserProfile> findByAuthIdIn(Collection<String> authIds);
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.grambasket.userservice.repository;
+
+import com.grambasket.userservice.model.Address;
+import com.grambasket.userservice.model.UserProfile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Queries and updates implemented directly on {@link org.springframework.data.mongodb.core.MongoTemplate}.
+ * <p>
+ * The address mutations are each one atomic find-and-modify on the profile document and return the post-image,
+ * or empty if no profile (or, where an address id is given, no such address) matched.
+ */
+public interface UserRepositoryCustom {
+
+    Optional<UserProfile> pushAddress(String authId, Address address);
+
+    Optional<UserProfile> updateAddress(String authId, String addressId, Address changes);
+
+    Optional<UserProfile> pullAddress(String authId, String addressId);
+
+    Optional<UserProfile> setDefaultAddress(String authId, String addressId);
+
+    /**
+     * Replaces the stored profile only if it was not modified since it was read, i.e. its updatedAt still equals
+     * {@code expectedUpdatedAt}. Returns the saved profile, or empty if another write came first.
+     */
+    Optional<UserProfile> replaceIfUnmodified(UserProfile profile, LocalDateTime expectedUpdatedAt);
+
+    /**
+     * Case-insensitive substring search on the email, served by the trigram index. The page total is counted
+     * up to {@code countLimit} only.
+     */
+    Page<UserProfile> searchByEmail(String term, Boolean active, Pageable pageable, int countLimit);
+
+    /**
+     * All profiles, optionally filtered by status. Unfiltered totals come from the collection metadata
+     * (an estimate); filtered totals are counted up to {@code countLimit}.
+     */
+    Page<UserProfile> findAllProfiles(Boolean active, Pageable pageable, int countLimit);
+
+    /**
+     * Up to {@code limit} profiles with an id greater than {@code afterId} (or from the start if null), in id order.
+     * Ids are ObjectIds, so this is also creation order, and every page is an index range scan regardless of depth.
+     */
+    List<UserProfile> findProfilesAfter(String afterId, Boolean active, int limit);
+
+    /**
+     * All matching profiles in id order as a lazily fetched cursor, {@code batchSize} documents per round-trip.
+     * The caller must close the stream.
+     */
+    Stream<UserProfile> streamProfiles(Boolean active, int batchSize);
+
+    /*
+     * Summary reads load only the fields of UserSummaryResponse, with the addresses array narrowed to the
+     * default address by the server.
+     */
+
+    Optional<UserProfile> findSummaryByAuthId(String authId);
+
+    Optional<UserProfile> findSummaryById(String id);
+
+    Page<UserProfile> findAllProfileSummaries(Boolean active, Pageable pageable, int countLimit);
+}
@@ -0,0 +1,249 @@
+package com.grambasket.userservice.repository;
+
+import com.grambasket.userservice.model.Address;
+import com.grambasket.userservice.model.UserProfile;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.data.util.TypeInformation;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private static final String ADDRESSES = "addresses";
+    // Address.id is the embedded document's id property, which the mapping layer stores as "_id". Raw pipeline
+    // expressions and array filters bypass that mapping, so they must use the stored name.
+    private static final String ADDRESS_ID = "_id";
+    private static final String IS_DEFAULT = "isDefault";
+
+    private static final Sort ID_ORDER = Sort.by(Sort.Direction.ASC, "_id");
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Appends the address in a pipeline update so that "first address becomes the default" and "a new default
+     * clears the old one" are decided against the stored array, not a copy read earlier.
+     */
+    @Override
+    public Optional<UserProfile> pushAddress(String authId, Address address) {
+        Document literal = (Document) mongoTemplate.getConverter()
+                .convertToMongoType(address, TypeInformation.of(Address.class));
+        literal.remove(IS_DEFAULT);
+
+        Document existing = new Document("$ifNull", List.of("$" + ADDRESSES, List.of()));
+        Document becomesDefault = new Document("$or", List.of(
+                address.isDefault(),
+                new Document("$eq", List.of(new Document("$size", "$$existing"), 0))));
+        Document keepDefault = new Document("$and", List.of(
+                "$$a." + IS_DEFAULT, new Document("$not", List.of("$$becomesDefault"))));
+        Document addresses = new Document("$let", new Document()
+                .append("vars", new Document("existing", existing))
+                .append("in", new Document("$let", new Document()
+                        .append("vars", new Document("becomesDefault", becomesDefault))
+                        .append("in", new Document("$concatArrays", List.of(
+                                map("$$existing", "a", new Document("$mergeObjects", List.of(
+                                        "$$a", new Document(IS_DEFAULT, keepDefault)))),
+                                List.of(new Document("$mergeObjects", List.of(
+                                        // User-supplied strings must never be evaluated as expressions.
+                                        new Document("$literal", literal),
+                                        new Document(IS_DEFAULT, "$$becomesDefault"))))))))));
+
+        return modify(byAuthId(authId), pipeline(addresses));
+    }
+
+    /**
+     * Sets only the supplied fields of the matching array element; a new default clears the flag on its siblings.
+     */
+    @Override
+    public Optional<UserProfile> updateAddress(String authId, String addressId, Address changes) {
+        Update update = new Update().set("updatedAt", LocalDateTime.now());
+        setIfPresent(update, "type", changes.getType());
+        setIfPresent(update, "street", changes.getStreet());
+        setIfPresent(update, "city", changes.getCity());
+        setIfPresent(update, "state", changes.getState());
+        setIfPresent(update, "postalCode", changes.getPostalCode());
+        setIfPresent(update, "country", changes.getCountry());
+        update.set(ADDRESSES + ".$[target]." + IS_DEFAULT, changes.isDefault())
+                .filterArray(Criteria.where("target." + ADDRESS_ID).is(addressId));
+        if (changes.isDefault()) {
+            update.set(ADDRESSES + ".$[other]." + IS_DEFAULT, false)
+                    .filterArray(Criteria.where("other." + ADDRESS_ID).ne(addressId));
+        }
+        return modify(byAddress(authId, addressId), update);
+    }
+
+    /**
+     * Removes the address; if it was the default, the first remaining address is promoted in the same write.
+     */
+    @Override
+    public Optional<UserProfile> pullAddress(String authId, String addressId) {
+        Document remaining = new Document("$filter", new Document()
+                .append("input", "$" + ADDRESSES)
+                .append("as", "a")
+                .append("cond", new Document("$ne", List.of("$$a." + ADDRESS_ID, addressId))));
+        Document removedWasDefault = new Document("$anyElementTrue", List.of(map("$" + ADDRESSES, "a",
+                new Document("$and", List.of(
+                        new Document("$eq", List.of("$$a." + ADDRESS_ID, addressId)),
+                        "$$a." + IS_DEFAULT)))));
+        Document promoteFirst = new Document("$cond", List.of(
+                new Document("$and", List.of("$$wasDefault", new Document("$eq", List.of("$$i", 0)))),
+                new Document(IS_DEFAULT, true),
+                new Document()));
+        Document addresses = new Document("$let", new Document()
+                .append("vars", new Document("remaining", remaining).append("wasDefault", removedWasDefault))
+                .append("in", map(new Document("$range", List.of(0, new Document("$size", "$$remaining"))), "i",
+                        new Document("$mergeObjects", List.of(
+                                new Document("$arrayElemAt", List.of("$$remaining", "$$i")),
+                                promoteFirst)))));
+
+        return modify(byAddress(authId, addressId), pipeline(addresses));
+    }
+
+    @Override
+    public Optional<UserProfile> setDefaultAddress(String authId, String addressId) {
+        Update update = new Update()
+                .set(ADDRESSES + ".$[target]." + IS_DEFAULT, true)
+                .set(ADDRESSES + ".$[other]." + IS_DEFAULT, false)
+                .set("updatedAt", LocalDateTime.now())
+                .filterArray(Criteria.where("target." + ADDRESS_ID).is(addressId))
+                .filterArray(Criteria.where("other." + ADDRESS_ID).ne(addressId));
+        return modify(byAddress(authId, addressId), update);
+    }
+
+    @Override
+    public Optional<UserProfile> replaceIfUnmodified(UserProfile profile, LocalDateTime expectedUpdatedAt) {
+        Query unmodified = Query.query(Criteria.where("_id").is(profile.getId()).and("updatedAt").is(expectedUpdatedAt));
+        return Optional.ofNullable(mongoTemplate.findAndReplace(unmodified, profile, FindAndReplaceOptions.options().returnNew()));
+    }
+
+    @Override
+    public Page<UserProfile> searchByEmail(String term, Boolean active, Pageable pageable, int countLimit) {
+        String normalized = EmailSearchTokens.normalize(term);
+        List<String> trigrams = EmailSearchTokens.trigrams(normalized);
+        // The trigram match narrows the candidates through the index; the regex then removes profiles that
+        // contain every trigram but not the term itself. Terms shorter than a trigram match most profiles,
+        // so the unanchored regex on the lowercase index finds a page of them quickly.
+        Criteria criteria = trigrams.isEmpty() ? new Criteria() : Criteria.where("emailTrigrams").all(trigrams);
+        criteria.and("emailNormalized").regex(Pattern.quote(normalized));
+        if (active != null) {
+            criteria.and("active").is(active);
+        }
+        return page(new Query(criteria), pageable, () -> cappedCount(criteria, countLimit));
+    }
+
+    @Override
+    public Page<UserProfile> findAllProfiles(Boolean active, Pageable pageable, int countLimit) {
+        return listProfiles(active, pageable, countLimit, false);
+    }
+
+    @Override
+    public Optional<UserProfile> findSummaryByAuthId(String authId) {
+        return Optional.ofNullable(mongoTemplate.findOne(summary(byAuthId(authId)), UserProfile.class));
+    }
+
+    @Override
+    public Optional<UserProfile> findSummaryById(String id) {
+        return Optional.ofNullable(mongoTemplate.findOne(summary(Query.query(Criteria.where("_id").is(id))), UserProfile.class));
+    }
+
+    @Override
+    public Page<UserProfile> findAllProfileSummaries(Boolean active, Pageable pageable, int countLimit) {
+        return listProfiles(active, pageable, countLimit, true);
+    }
+
+    private Page<UserProfile> listProfiles(Boolean active, Pageable pageable, int countLimit, boolean summary) {
+        Criteria criteria = activeCriteria(active);
+        Query query = summary ? summary(new Query(criteria)) : new Query(criteria);
+        if (active == null) {
+            return page(query, pageable, () -> mongoTemplate.estimatedCount(UserProfile.class));
+        }
+        return page(query, pageable, () -> cappedCount(criteria, countLimit));
+    }
+
+    private static Query summary(Query query) {
+        query.fields()
+                .include("authId", "firstName", "lastName", "email", "active")
+                .elemMatch(ADDRESSES, Criteria.where(IS_DEFAULT).is(true));
+        return query;
+    }
+
+    @Override
+    public List<UserProfile> findProfilesAfter(String afterId, Boolean active, int limit) {
+        Query query = new Query(activeCriteria(active)).with(ID_ORDER).limit(limit);
+        if (afterId != null) {
+            query.addCriteria(Criteria.where("_id").gt(new ObjectId(afterId)));
+        }
+        return mongoTemplate.find(query, UserProfile.class);
+    }
+
+    @Override
+    public Stream<UserProfile> streamProfiles(Boolean active, int batchSize) {
+        Query query = new Query(activeCriteria(active)).with(ID_ORDER).cursorBatchSize(batchSize);
+        return mongoTemplate.stream(query, UserProfile.class);
+    }
+
+    private static Criteria activeCriteria(Boolean active) {
+        return active == null ? new Criteria() : Criteria.where("active").is(active);
+    }
+
+    private Page<UserProfile> page(Query query, Pageable pageable, LongSupplier total) {
+        List<UserProfile> content = mongoTemplate.find(query.with(pageable), UserProfile.class);
+        // Skips the count entirely when the page itself shows where the results end.
+        return PageableExecutionUtils.getPage(content, pageable, total);
+    }
+
+    private long cappedCount(Criteria criteria, int countLimit) {
+        return mongoTemplate.count(new Query(criteria).limit(countLimit), UserProfile.class);
+    }
+
+    private Optional<UserProfile> modify(Query query, UpdateDefinition update) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), UserProfile.class));
+    }
+
+    private AggregationUpdate pipeline(Document addresses) {
+        // Converted like any other LocalDateTime so the stored value matches documents written through save().
+        Object now = mongoTemplate.getConverter().convertToMongoType(LocalDateTime.now());
+        // Raw stages: the expressions reference pipeline variables that the typed field mapping does not know about.
+        return AggregationUpdate.from(List.of(context -> new Document("$set", new Document()
+                .append(ADDRESSES, addresses)
+                .append("updatedAt", new Document("$literal", now)))));
+    }
+
+    private static void setIfPresent(Update update, String field, Object value) {
+        if (value != null) {
+            update.set(ADDRESSES + ".$[target]." + field, value);
+        }
+    }
+
+    private static Document map(Object input, String as, Object in) {
+        return new Document("$map", new Document("input", input).append("as", as).append("in", in));
+    }
+
+    private static Query byAuthId(String authId) {
+        return Query.query(Criteria.where("authId").is(authId));
+    }
+
+    private static Query byAddress(String authId, String addressId) {
+        return Query.query(Criteria.where("authId").is(authId).and(ADDRESSES + "." + ADDRESS_ID).is(addressId));
+    }
+}
@@ -1,6 +1,7 @@
 package com.grambasket.userservice.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grambasket.identity.TrustedIdentityVerifier;
 import com.grambasket.userservice.dto.ErrorResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -21,6 +22,7 @@ import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
@@ -39,11 +41,14 @@ public class SecurityConfig {
 
     private final String jwtSecret;
     private final ObjectMapper objectMapper;
+    private final TrustedIdentityVerifier trustedIdentityVerifier;
 
-    public SecurityConfig(@Value("${spring.security.oauth2.resourceserver.jwt.secret-key}") String jwtSecret, ObjectMapper objectMapper
+    public SecurityConfig(@Value("${spring.security.oauth2.resourceserver.jwt.secret-key}") String jwtSecret, ObjectMapper objectMapper,
+                          TrustedIdentityVerifier trustedIdentityVerifier
     ) {
         this.jwtSecret = jwtSecret;
         this.objectMapper = objectMapper;
+        this.trustedIdentityVerifier = trustedIdentityVerifier;
     }
 
     @Bean
@@ -64,6 +69,11 @@ public class SecurityConfig {
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
                                 "/api/user-service/users/internal/create",
+                                "/api/user-service/users/internal/create/batch",
+                                // Authenticated by a service signature over the body, see ServiceSignatureVerifyingAdvice.
+                                "/api/user-service/users/internal/lookup",
+                                // Authenticated by an HMAC signature over the body, see PeerCacheInvalidator.
+                                "/api/user-service/internal/cache/invalidations",
                                 "/api/user-service/users/ping"
                         ).permitAll()
                         .anyRequest().authenticated()
@@ -74,6 +84,11 @@ public class SecurityConfig {
                         .authenticationEntryPoint(customAuthenticationEntryPoint())
                 );
 
+        if (trustedIdentityVerifier.isEnabled()) {
+            log.info("Trusted gateway identity headers enabled; bearer tokens remain accepted for direct calls.");
+            http.addFilterBefore(new TrustedIdentityFilter(trustedIdentityVerifier), BearerTokenAuthenticationFilter.class);
+        }
+
         return http.build();
     }
 
@@ -0,0 +1,61 @@
+package com.grambasket.userservice.security;
+
+import com.grambasket.identity.ServiceRequestSignatures;
+import com.grambasket.identity.TrustedIdentityProperties;
+import com.grambasket.userservice.exception.InvalidServiceSignatureException;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.time.Duration;
+
+/**
+ * Verifies the service signature of {@link SignedServiceRequest} endpoints before their body is deserialized, so
+ * the endpoints keep their {@code @Valid @RequestBody} parameters. These endpoints are {@code permitAll()} in the
+ * security chain; the signature over the raw body is their only credential.
+ */
+@ControllerAdvice
+public class ServiceSignatureVerifyingAdvice extends RequestBodyAdviceAdapter {
+
+    private final ServiceRequestSignatures signatures;
+    private final Duration maxAge;
+
+    public ServiceSignatureVerifyingAdvice(TrustedIdentityProperties properties) {
+        this.signatures = new ServiceRequestSignatures(properties.getSigningKey());
+        this.maxAge = properties.getServiceRequests().getMaxAge();
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return methodParameter.hasMethodAnnotation(SignedServiceRequest.class);
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) throws IOException {
+        byte[] body = inputMessage.getBody().readAllBytes();
+        HttpHeaders headers = inputMessage.getHeaders();
+        if (!signatures.verify(headers.getFirst(ServiceRequestSignatures.TIMESTAMP), headers.getFirst(ServiceRequestSignatures.SIGNATURE),
+                body, maxAge)) {
+            throw new InvalidServiceSignatureException("Missing, invalid or expired service signature.");
+        }
+        return new HttpInputMessage() {
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(body);
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package com.grambasket.userservice.security;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an internal endpoint whose request body must carry a valid service signature, see
+ * {@link ServiceSignatureVerifyingAdvice}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SignedServiceRequest {
+}
@@ -0,0 +1,53 @@
+package com.grambasket.userservice.security;
+
+import com.grambasket.identity.TrustedIdentityVerifier;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authenticates requests from the gateway's signed identity headers. The resulting principal name is the
+ * auth id and roles get the same {@code ROLE_} prefix as the JWT converter, so controllers behave identically
+ * in both modes. Requests without identity headers fall through to bearer-token authentication.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class TrustedIdentityFilter extends OncePerRequestFilter {
+
+    private static final String AUTHORITY_PREFIX = "ROLE_";
+
+    private final TrustedIdentityVerifier trustedIdentityVerifier;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            trustedIdentityVerifier.resolve(request::getHeader).ifPresent(identity -> {
+                List<SimpleGrantedAuthority> authorities = identity.getRoles().stream()
+                        .map(role -> new SimpleGrantedAuthority(AUTHORITY_PREFIX + role))
+                        .toList();
+                UsernamePasswordAuthenticationToken authToken =
+                        new UsernamePasswordAuthenticationToken(identity.getUserId(), null, authorities);
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+                log.debug("Authenticated authId: {} from gateway identity headers.", identity.getUserId());
+            });
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -1,14 +1,23 @@
 package com.grambasket.userservice.service;
 
+import com.grambasket.userservice.dto.CursorPage;
 import com.grambasket.userservice.dto.UserResponse;
+import com.grambasket.userservice.dto.UserSummaryResponse;
 import com.grambasket.userservice.dto.UserUpdateRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 public interface AdminService {
     Page<UserResponse> findAllUsers(Pageable pageable, Boolean active);
+    Page<UserSummaryResponse> findAllUserSummaries(Pageable pageable, Boolean active);
     Page<UserResponse> findUserByEmail(String email, Pageable pageable, Boolean active);
+    CursorPage<UserResponse> findUsersAfter(String cursor, int size, Boolean active);
+    void exportUsers(Boolean active, OutputStream outputStream) throws IOException;
     UserResponse getUserProfileById(String userId);
+    UserSummaryResponse getUserSummaryById(String userId);
     UserResponse updateUserProfile(String userId, UserUpdateRequest updateRequest);
     void hardDeleteUserProfile(String userId);
 }
\ No newline at end of file
@@ -1,14 +1,23 @@
 package com.grambasket.userservice.service;
 
+import com.grambasket.userservice.dto.BatchCreateUserResponse;
+import com.grambasket.userservice.dto.BatchLookupResponse;
+import com.grambasket.userservice.dto.InternalCreateUserRequest;
 import com.grambasket.userservice.dto.UserResponse;
+import com.grambasket.userservice.dto.UserSummaryResponse;
 import com.grambasket.userservice.dto.UserUpdateRequest;
 import com.grambasket.userservice.model.CommunicationPreferences;
 
+import java.util.List;
+
 public interface UserService {
     UserResponse createUserProfile(String authId, String email);
+    BatchCreateUserResponse createUserProfiles(List<InternalCreateUserRequest> requests);
     UserResponse getUserProfileByAuthId(String authId);
-    UserResponse updateUserProfile(String authId, UserUpdateRequest updateRequest);
+    UserSummaryResponse getUserSummaryByAuthId(String authId);
+    BatchLookupResponse getUserProfilesByAuthIds(List<String> authIds);
+    UserResponse updateUserProfile(String authId, UserUpdateRequest updateRequest, String ifMatch);
     void deleteUserProfile(String authId);
     void deactivateUserProfile(String authId);
-    UserResponse updateCommunicationPreferences(String authId, CommunicationPreferences preferences);
+    UserResponse updateCommunicationPreferences(String authId, CommunicationPreferences preferences, String ifMatch);
 }
\ No newline at end of file
@@ -3,7 +3,6 @@ package com.grambasket.userservice.service.impl;
 import com.grambasket.userservice.dto.UserResponse;
 import com.grambasket.userservice.exception.AddressNotFoundException;
 import com.grambasket.userservice.exception.UserNotFoundException;
-import com.grambasket.userservice.mapper.AddressMapper;
 import com.grambasket.userservice.mapper.UserMapper;
 import com.grambasket.userservice.model.Address;
 import com.grambasket.userservice.model.UserProfile;
@@ -13,101 +12,61 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
-import java.util.List;
 import java.util.UUID;
 
+/**
+ * Address changes are single atomic updates on the embedded array (see {@link UserRepository}), so concurrent
+ * edits to different addresses of the same profile no longer overwrite each other.
+ */
 @Service
 @RequiredArgsConstructor
 public class AddressServiceImpl implements AddressService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
-    private final AddressMapper addressMapper;
 
     @Override
-    @Transactional
     @CachePut(value = UserServiceImpl.USER_PROFILE_CACHE, key = "#authId")
     public UserResponse addAddress(String authId, Address newAddress) {
-        UserProfile userProfile = findUserByAuthIdInternal(authId);
-        List<Address> addresses = userProfile.getAddresses();
         newAddress.setId(UUID.randomUUID().toString());
-
-        if (newAddress.isDefault() || addresses.isEmpty()) {
-            addresses.forEach(addr -> addr.setDefault(false));
-            newAddress.setDefault(true);
-        }
-
-        addresses.add(newAddress);
-        userProfile.setUpdatedAt(LocalDateTime.now());
-        UserProfile savedProfile = userRepository.save(userProfile);
+        UserProfile savedProfile = userRepository.pushAddress(authId, newAddress)
+                .orElseThrow(() -> userNotFound(authId));
         return userMapper.toUserResponse(savedProfile);
     }
 
     @Override
-    @Transactional
     @CachePut(value = UserServiceImpl.USER_PROFILE_CACHE, key = "#authId")
     public UserResponse updateAddress(String authId, String addressId, Address updatedAddress) {
-        UserProfile userProfile = findUserByAuthIdInternal(authId);
-        Address addressToUpdate = findAddressByIdInternal(userProfile, addressId);
-
-        addressMapper.updateAddressFromModel(updatedAddress, addressToUpdate);
-
-        if (updatedAddress.isDefault()) {
-            userProfile.getAddresses().forEach(addr -> {
-                if (!addr.getId().equals(addressId)) {
-                    addr.setDefault(false);
-                }
-            });
-            addressToUpdate.setDefault(true);
-        }
-        userProfile.setUpdatedAt(LocalDateTime.now());
-        UserProfile savedProfile = userRepository.save(userProfile);
+        UserProfile savedProfile = userRepository.updateAddress(authId, addressId, updatedAddress)
+                .orElseThrow(() -> notFound(authId, addressId));
         return userMapper.toUserResponse(savedProfile);
     }
 
     @Override
-    @Transactional
     @CacheEvict(value = UserServiceImpl.USER_PROFILE_CACHE, key = "#authId")
     public void deleteAddress(String authId, String addressId) {
-        UserProfile userProfile = findUserByAuthIdInternal(authId);
-        Address addressToDelete = findAddressByIdInternal(userProfile, addressId);
-
-        boolean wasDefault = addressToDelete.isDefault();
-        userProfile.getAddresses().remove(addressToDelete);
-
-        if (wasDefault && !userProfile.getAddresses().isEmpty()) {
-            userProfile.getAddresses().get(0).setDefault(true);
-        }
-        userProfile.setUpdatedAt(LocalDateTime.now());
-        userRepository.save(userProfile);
+        userRepository.pullAddress(authId, addressId)
+                .orElseThrow(() -> notFound(authId, addressId));
     }
 
     @Override
-    @Transactional
     @CachePut(value = UserServiceImpl.USER_PROFILE_CACHE, key = "#authId")
     public UserResponse setDefaultAddress(String authId, String addressId) {
-        UserProfile userProfile = findUserByAuthIdInternal(authId);
-        Address newDefaultAddress = findAddressByIdInternal(userProfile, addressId);
-
-        userProfile.getAddresses().forEach(addr -> addr.setDefault(false));
-        newDefaultAddress.setDefault(true);
-        userProfile.setUpdatedAt(LocalDateTime.now());
-        UserProfile savedProfile = userRepository.save(userProfile);
+        UserProfile savedProfile = userRepository.setDefaultAddress(authId, addressId)
+                .orElseThrow(() -> notFound(authId, addressId));
         return userMapper.toUserResponse(savedProfile);
     }
 
-    private UserProfile findUserByAuthIdInternal(String authId) {
-        return userRepository.findByAuthId(authId)
-                .orElseThrow(() -> new UserNotFoundException("User not found for authId: " + authId));
+    // Only reached when the atomic update matched nothing, so the extra lookup is off the happy path.
+    private RuntimeException notFound(String authId, String addressId) {
+        if (!userRepository.existsByAuthId(authId)) {
+            return userNotFound(authId);
+        }
+        return new AddressNotFoundException("Address not found with id: " + addressId);
     }
 
-    private Address findAddressByIdInternal(UserProfile userProfile, String addressId) {
-        return userProfile.getAddresses().stream()
-                .filter(address -> address.getId().equals(addressId))
-                .findFirst()
-                .orElseThrow(() -> new AddressNotFoundException("Address not found with id: " + addressId));
+    private static UserNotFoundException userNotFound(String authId) {
+        return new UserNotFoundException("User not found for authId: " + authId);
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,15 @@
 package com.grambasket.userservice.service.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.grambasket.userservice.config.AdminSearchProperties;
+import com.grambasket.userservice.dto.CursorPage;
 import com.grambasket.userservice.dto.UserResponse;
+import com.grambasket.userservice.dto.UserSummaryResponse;
 import com.grambasket.userservice.dto.UserUpdateRequest;
+import com.grambasket.userservice.exception.InvalidCursorException;
 import com.grambasket.userservice.exception.UserNotFoundException;
 import com.grambasket.userservice.mapper.UserMapper;
 import com.grambasket.userservice.model.UserProfile;
@@ -10,44 +18,98 @@ import com.grambasket.userservice.service.AdminService;
 import com.grambasket.userservice.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AdminServiceImpl implements AdminService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 500;
+    private static final int EXPORT_BATCH_SIZE = 500;
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final UserService userService;
+    private final AdminSearchProperties searchProperties;
+    private final ObjectMapper objectMapper;
 
     @Override
     @Transactional(readOnly = true)
     public Page<UserResponse> findAllUsers(Pageable pageable, Boolean active) {
         log.info("ADMIN: Fetching users for page: {}, active status: {}", pageable.getPageNumber(), active);
-        Page<UserProfile> userPage;
-        if (active == null) {
-            userPage = userRepository.findAll(pageable);
-        } else {
-            userPage = userRepository.findAllByActive(active, pageable);
-        }
-        return userPage.map(userMapper::toUserResponse);
+        return userRepository.findAllProfiles(active, pageable, searchProperties.getCountLimit())
+                .map(userMapper::toUserResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<UserSummaryResponse> findAllUserSummaries(Pageable pageable, Boolean active) {
+        log.info("ADMIN: Fetching user summaries for page: {}, active status: {}", pageable.getPageNumber(), active);
+        return userRepository.findAllProfileSummaries(active, pageable, searchProperties.getCountLimit())
+                .map(userMapper::toUserSummaryResponse);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<UserResponse> findUserByEmail(String email, Pageable pageable, Boolean active) {
         log.info("ADMIN: Searching for users with email containing: {}, active status: {}", email, active);
-        Page<UserProfile> userPage;
-        if (active == null) {
-            userPage = userRepository.findByEmailContainingIgnoreCase(email, pageable);
-        } else {
-            userPage = userRepository.findByEmailContainingIgnoreCaseAndActive(email, active, pageable);
+        return userRepository.searchByEmail(email, active, pageable, searchProperties.getCountLimit())
+                .map(userMapper::toUserResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponse> findUsersAfter(String cursor, int size, Boolean active) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        log.info("ADMIN: Fetching {} users after cursor: {}, active status: {}", pageSize, cursor, active);
+        // One extra document tells whether there is a next page without a count.
+        List<UserProfile> profiles = userRepository.findProfilesAfter(decodeCursor(cursor), active, pageSize + 1);
+        boolean hasNext = profiles.size() > pageSize;
+        List<UserProfile> page = hasNext ? profiles.subList(0, pageSize) : profiles;
+        return CursorPage.<UserResponse>builder()
+                .content(page.stream().map(userMapper::toUserResponse).toList())
+                .size(page.size())
+                .nextCursor(hasNext ? encodeCursor(page.get(page.size() - 1).getId()) : null)
+                .build();
+    }
+
+    /**
+     * Writes every matching profile as one JSON line. Documents are pulled from a Mongo cursor one batch at a
+     * time and written straight to the response, so memory stays flat and a slow client slows the cursor down.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportUsers(Boolean active, OutputStream outputStream) throws IOException {
+        log.info("ADMIN: Starting NDJSON export of users, active status: {}", active);
+        // Flushing is batched below instead of after every document.
+        ObjectWriter writer = objectMapper.writerFor(UserResponse.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long exported = 0;
+        try (Stream<UserProfile> profiles = userRepository.streamProfiles(active, EXPORT_BATCH_SIZE);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            Iterator<UserProfile> iterator = profiles.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, userMapper.toUserResponse(iterator.next()));
+                generator.writeRaw('\n');
+                if (++exported % EXPORT_BATCH_SIZE == 0) {
+                    generator.flush();
+                }
+            }
         }
-        return userPage.map(userMapper::toUserResponse);
+        log.info("ADMIN: NDJSON export finished after {} user(s).", exported);
     }
 
     @Override
@@ -59,13 +121,22 @@ public class AdminServiceImpl implements AdminService {
         return userMapper.toUserResponse(userProfile);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public UserSummaryResponse getUserSummaryById(String userId) {
+        log.info("ADMIN: Fetching user profile summary by internal id: {}", userId);
+        return userRepository.findSummaryById(userId)
+                .map(userMapper::toUserSummaryResponse)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
+    }
+
     @Override
     @Transactional
     public UserResponse updateUserProfile(String userId, UserUpdateRequest updateRequest) {
         log.info("ADMIN: Updating user profile for internal id: {}", userId);
         UserProfile userProfile = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
-        return userService.updateUserProfile(userProfile.getAuthId(), updateRequest);
+        return userService.updateUserProfile(userProfile.getAuthId(), updateRequest, null);
     }
 
     @Override
@@ -77,4 +148,24 @@ public class AdminServiceImpl implements AdminService {
 
         userService.deleteUserProfile(userProfile.getAuthId());
     }
-}
\ No newline at end of file
+
+    // Cursors are the last returned id, encoded so that clients treat them as opaque.
+    private static String encodeCursor(String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String id = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (ObjectId.isValid(id)) {
+                return id;
+            }
+        } catch (IllegalArgumentException e) {
+            // Fall through to the error below.
+        }
+        throw new InvalidCursorException("Invalid pagination cursor: " + cursor);
+    }
+}
@@ -0,0 +1,172 @@
+package com.grambasket.userservice.service.impl;
+
+import com.grambasket.userservice.config.CredentialDeletionProperties;
+import com.grambasket.userservice.delegate.AuthServiceDelegate;
+import com.grambasket.userservice.model.CredentialDeletionStatus;
+import com.grambasket.userservice.model.CredentialDeletionTask;
+import feign.FeignException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Deletes the auth-service credentials of deleted profiles in the background. Tasks are claimed with an
+ * atomic find-and-modify lease, so several user-service instances can work the queue concurrently. Failed
+ * deletions are retried with exponential backoff; credentials that are already gone count as deleted. Calls
+ * rejected by the open circuit breaker never reached auth-service, so they are put back without using up an
+ * attempt.
+ */
+@Service
+@Slf4j
+public class CredentialDeletionWorker {
+
+    private final MongoTemplate mongoTemplate;
+    private final AuthServiceDelegate authServiceDelegate;
+    private final CredentialDeletionProperties credentialDeletionProperties;
+    private final Counter failedCounter;
+
+    public CredentialDeletionWorker(MongoTemplate mongoTemplate, AuthServiceDelegate authServiceDelegate,
+                                    CredentialDeletionProperties credentialDeletionProperties, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.authServiceDelegate = authServiceDelegate;
+        this.credentialDeletionProperties = credentialDeletionProperties;
+        this.failedCounter = Counter.builder("user.credential.deletion.failed")
+                .description("Credential deletions that used up their attempts and were marked FAILED")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${user-service.credential-deletion.poll-interval:2s}")
+    public void processPendingTasks() {
+        if (!credentialDeletionProperties.isWorkerEnabled()) {
+            return;
+        }
+        try {
+            String claimId = UUID.randomUUID().toString();
+            List<CredentialDeletionTask> batch = claimBatch(claimId);
+            if (!batch.isEmpty()) {
+                log.info("CREDENTIAL DELETION: Deleting credentials for {} authId(s) in auth-service.", batch.size());
+                process(batch, claimId);
+            }
+        } catch (Exception e) {
+            log.error("CREDENTIAL DELETION: Worker run failed: {}", e.getMessage());
+        }
+    }
+
+    private List<CredentialDeletionTask> claimBatch(String claimId) {
+        Instant now = Instant.now();
+        // FAILED tasks stay claimable: they are retried every max-backoff until auth-service accepts the deletion.
+        Query claimable = new Query(new Criteria().orOperator(
+                Criteria.where("status").in(CredentialDeletionStatus.PENDING, CredentialDeletionStatus.FAILED).and("nextAttemptAt").lte(now),
+                Criteria.where("status").is(CredentialDeletionStatus.IN_FLIGHT).and("lockedUntil").lte(now)
+        )).with(Sort.by(Sort.Direction.ASC, "nextAttemptAt"));
+        Update claim = new Update()
+                .set("status", CredentialDeletionStatus.IN_FLIGHT)
+                .set("lockedUntil", now.plus(credentialDeletionProperties.getLease()))
+                .set("claimId", claimId)
+                .inc("attempts", 1);
+
+        List<CredentialDeletionTask> batch = new ArrayList<>();
+        for (int i = 0; i < credentialDeletionProperties.getBatchSize(); i++) {
+            CredentialDeletionTask task = mongoTemplate.findAndModify(claimable, claim,
+                    FindAndModifyOptions.options().returnNew(true), CredentialDeletionTask.class);
+            if (task == null) {
+                break;
+            }
+            batch.add(task);
+        }
+        return batch;
+    }
+
+    private void process(List<CredentialDeletionTask> batch, String claimId) {
+        List<String> completed = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            CredentialDeletionTask task = batch.get(i);
+            if (!renewLease(task, claimId)) {
+                log.info("CREDENTIAL DELETION: Lease on authId {} expired and was claimed elsewhere; skipping it.", task.getAuthId());
+                continue;
+            }
+            try {
+                authServiceDelegate.deleteUserCredentials(task.getAuthId());
+                completed.add(task.getId());
+            } catch (CallNotPermittedException e) {
+                // auth-service is not taking calls right now; leave this and the rest of the batch for later.
+                release(batch.subList(i, batch.size()), claimId, e.getMessage());
+                break;
+            } catch (FeignException e) {
+                markFailedAttempt(task, claimId, "HTTP " + e.status() + ": " + e.getMessage());
+            } catch (Exception e) {
+                markFailedAttempt(task, claimId, e.getMessage());
+            }
+        }
+        if (!completed.isEmpty()) {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").in(completed).and("claimId").is(claimId)), CredentialDeletionTask.class);
+            log.info("CREDENTIAL DELETION: Credentials deleted for {} authId(s).", completed.size());
+        }
+    }
+
+    private boolean renewLease(CredentialDeletionTask task, String claimId) {
+        Update renew = new Update().set("lockedUntil", Instant.now().plus(credentialDeletionProperties.getLease()));
+        return mongoTemplate.updateFirst(claimed(task.getId(), claimId), renew, CredentialDeletionTask.class).getMatchedCount() > 0;
+    }
+
+    private void release(List<CredentialDeletionTask> tasks, String claimId, String reason) {
+        Instant nextAttempt = Instant.now().plus(credentialDeletionProperties.getRejectedRetryDelay());
+        List<String> ids = tasks.stream().map(CredentialDeletionTask::getId).toList();
+        Update update = new Update()
+                .set("status", CredentialDeletionStatus.PENDING)
+                .set("nextAttemptAt", nextAttempt)
+                .set("lastError", reason)
+                .unset("lockedUntil")
+                .inc("attempts", -1);
+        mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(ids).and("claimId").is(claimId)), update, CredentialDeletionTask.class);
+        log.warn("CREDENTIAL DELETION: auth-service rejected the call ({}). Retrying {} authId(s) at {} without using an attempt.",
+                reason, ids.size(), nextAttempt);
+    }
+
+    private void markFailedAttempt(CredentialDeletionTask task, String claimId, String error) {
+        Update update = new Update().set("lastError", error).unset("lockedUntil");
+        int attempts = task.getAttempts();
+        Instant nextAttempt = Instant.now().plus(backoff(attempts));
+        if (attempts >= credentialDeletionProperties.getMaxAttempts()) {
+            update.set("status", CredentialDeletionStatus.FAILED).set("nextAttemptAt", nextAttempt);
+            if (attempts == credentialDeletionProperties.getMaxAttempts()) {
+                failedCounter.increment();
+                log.error("CREDENTIAL DELETION: Deleting credentials for authId {} failed {} times; marked FAILED, retrying every {}. Last error: {}",
+                        task.getAuthId(), attempts, credentialDeletionProperties.getMaxBackoff(), error);
+            } else {
+                log.warn("CREDENTIAL DELETION: FAILED deletion for authId {} failed again (attempt {}). Retrying at {}. Error: {}",
+                        task.getAuthId(), attempts, nextAttempt, error);
+            }
+        } else {
+            update.set("status", CredentialDeletionStatus.PENDING).set("nextAttemptAt", nextAttempt);
+            log.warn("CREDENTIAL DELETION: Deleting credentials for authId {} failed (attempt {}). Retrying at {}. Error: {}",
+                    task.getAuthId(), attempts, nextAttempt, error);
+        }
+        mongoTemplate.updateFirst(claimed(task.getId(), claimId), update, CredentialDeletionTask.class);
+    }
+
+    private static Query claimed(String taskId, String claimId) {
+        return Query.query(Criteria.where("_id").is(taskId).and("claimId").is(claimId));
+    }
+
+    private Duration backoff(int attempts) {
+        long multiplier = 1L << Math.min(attempts - 1, 20);
+        Duration backoff = credentialDeletionProperties.getInitialBackoff().multipliedBy(multiplier);
+        return backoff.compareTo(credentialDeletionProperties.getMaxBackoff()) > 0 ? credentialDeletionProperties.getMaxBackoff() : backoff;
+    }
+}
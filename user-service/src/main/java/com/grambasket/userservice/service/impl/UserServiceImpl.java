@@ -1,23 +1,50 @@
 package com.grambasket.userservice.service.impl;
 
-import com.grambasket.userservice.delegate.AuthServiceDelegate;
+import com.grambasket.mongorouting.ReadFromPrimary;
+import com.grambasket.userservice.cache.VersionedBroadcastingCache;
+import com.grambasket.userservice.dto.BatchCreateUserResponse;
+import com.grambasket.userservice.dto.BatchCreateUserResponse.ConflictingKey;
+import com.grambasket.userservice.dto.BatchCreateUserResponse.ItemResult;
+import com.grambasket.userservice.dto.BatchCreateUserResponse.ItemStatus;
+import com.grambasket.userservice.dto.BatchLookupResponse;
+import com.grambasket.userservice.dto.InternalCreateUserRequest;
 import com.grambasket.userservice.dto.UserResponse;
+import com.grambasket.userservice.dto.UserSummaryResponse;
 import com.grambasket.userservice.dto.UserUpdateRequest;
+import com.grambasket.userservice.exception.PreconditionFailedException;
 import com.grambasket.userservice.exception.UserNotFoundException;
 import com.grambasket.userservice.mapper.UserMapper;
 import com.grambasket.userservice.model.CommunicationPreferences;
+import com.grambasket.userservice.model.CredentialDeletionTask;
 import com.grambasket.userservice.model.UserProfile;
+import com.grambasket.userservice.repository.CredentialDeletionTaskRepository;
 import com.grambasket.userservice.repository.UserRepository;
 import com.grambasket.userservice.service.UserService;
+import com.mongodb.bulk.BulkWriteError;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.ETag;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -25,9 +52,13 @@ import java.time.LocalDateTime;
 public class UserServiceImpl implements UserService {
 
     public static final String USER_PROFILE_CACHE = "userProfiles";
+    private static final int DUPLICATE_KEY_ERROR_CODE = 11000;
     private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
     private final UserMapper userMapper;
-    private final AuthServiceDelegate authServiceDelegate;
+    private final CredentialDeletionTaskRepository credentialDeletionTaskRepository;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     @Transactional
@@ -45,27 +76,168 @@ public class UserServiceImpl implements UserService {
         return userMapper.toUserResponse(savedProfile);
     }
 
+    /**
+     * Inserts all profiles in a single unordered bulk write. There is no read-before-write: duplicates are
+     * detected by the unique authId and email indexes and reported per item, and one failing item does not
+     * prevent the rest of the batch from being written. Only duplicates are looked up afterwards, to report
+     * whether the authId (already created) or only the email (held by another profile) conflicted.
+     */
+    @Override
+    public BatchCreateUserResponse createUserProfiles(List<InternalCreateUserRequest> requests) {
+        log.info("Batch creating {} user profile(s).", requests.size());
+        List<UserProfile> profiles = requests.stream()
+                .map(request -> UserProfile.builder()
+                        .id(new ObjectId().toHexString())
+                        .authId(request.getAuthId())
+                        .email(request.getEmail())
+                        .build())
+                .toList();
+
+        Map<Integer, BulkWriteError> errorsByIndex = new HashMap<>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserProfile.class)
+                    .insert(profiles)
+                    .execute();
+        } catch (BulkOperationException e) {
+            if (e.getErrors().isEmpty()) {
+                // Write concern failure: the outcome of the individual inserts is unknown, so let the caller retry.
+                throw e;
+            }
+            e.getErrors().forEach(error -> errorsByIndex.put(error.getIndex(), error));
+        }
+
+        Map<String, String> existingIdsByAuthId = existingProfileIds(profiles, errorsByIndex);
+        List<ItemResult> results = new ArrayList<>(profiles.size());
+        int created = 0;
+        int alreadyExists = 0;
+        for (int i = 0; i < profiles.size(); i++) {
+            UserProfile profile = profiles.get(i);
+            BulkWriteError error = errorsByIndex.get(i);
+            if (error == null) {
+                created++;
+                results.add(ItemResult.builder().authId(profile.getAuthId()).status(ItemStatus.CREATED).id(profile.getId()).build());
+            } else if (error.getCode() == DUPLICATE_KEY_ERROR_CODE && existingIdsByAuthId.containsKey(profile.getAuthId())) {
+                alreadyExists++;
+                results.add(ItemResult.builder().authId(profile.getAuthId()).status(ItemStatus.ALREADY_EXISTS)
+                        .conflictingKey(ConflictingKey.AUTH_ID).id(existingIdsByAuthId.get(profile.getAuthId()))
+                        .error("A user with this authId already exists.").build());
+            } else if (error.getCode() == DUPLICATE_KEY_ERROR_CODE) {
+                log.warn("Batch insert for authId {} conflicts with another profile's email.", profile.getAuthId());
+                results.add(ItemResult.builder().authId(profile.getAuthId()).status(ItemStatus.CONFLICT)
+                        .conflictingKey(ConflictingKey.EMAIL)
+                        .error("A user with this email already exists.").build());
+            } else {
+                log.warn("Batch insert failed for authId {}: {}", profile.getAuthId(), error.getMessage());
+                results.add(ItemResult.builder().authId(profile.getAuthId()).status(ItemStatus.FAILED)
+                        .error(error.getMessage()).build());
+            }
+        }
+
+        int failed = profiles.size() - created - alreadyExists;
+        log.info("Batch create finished: {} created, {} already existed, {} failed.", created, alreadyExists, failed);
+        return BatchCreateUserResponse.builder()
+                .created(created)
+                .alreadyExists(alreadyExists)
+                .failed(failed)
+                .results(results)
+                .build();
+    }
+
+    private Map<String, String> existingProfileIds(List<UserProfile> profiles, Map<Integer, BulkWriteError> errorsByIndex) {
+        List<String> duplicateAuthIds = errorsByIndex.entrySet().stream()
+                .filter(entry -> entry.getValue().getCode() == DUPLICATE_KEY_ERROR_CODE)
+                .map(entry -> profiles.get(entry.getKey()).getAuthId())
+                .toList();
+        if (duplicateAuthIds.isEmpty()) {
+            return Map.of();
+        }
+        return userRepository.findByAuthIdIn(duplicateAuthIds).stream()
+                .collect(Collectors.toMap(UserProfile::getAuthId, UserProfile::getId, (first, second) -> first));
+    }
+
+    // Populates the shared profile cache and serves /me right after the user's own writes, so it reads from the primary.
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = USER_PROFILE_CACHE, key = "#authId")
+    @ReadFromPrimary
+    @Cacheable(value = USER_PROFILE_CACHE, key = "#authId", sync = true)
     public UserResponse getUserProfileByAuthId(String authId) {
         log.info("CACHE MISS: Fetching user profile from DB for authId: {}", authId);
         UserProfile userProfile = findUserByAuthIdInternal(authId);
         return userMapper.toUserResponse(userProfile);
     }
 
+    /**
+     * Resolves cache hits with one multi-get on the profile cache and all misses with one {@code $in} query,
+     * then caches the loaded profiles. The result keeps the order of the requested authIds.
+     */
+    @Override
+    public BatchLookupResponse getUserProfilesByAuthIds(List<String> authIds) {
+        Set<String> requested = new LinkedHashSet<>(authIds);
+        Cache cache = cacheManager.getCache(USER_PROFILE_CACHE);
+        Map<String, UserResponse> found = new HashMap<>();
+        if (cache instanceof VersionedBroadcastingCache versioned) {
+            versioned.getAllPresent(requested).forEach((key, value) -> found.put((String) key, (UserResponse) value));
+        }
+
+        List<String> misses = requested.stream().filter(authId -> !found.containsKey(authId)).toList();
+        if (!misses.isEmpty()) {
+            for (UserProfile profile : userRepository.findByAuthIdIn(misses)) {
+                UserResponse response = userMapper.toUserResponse(profile);
+                found.put(profile.getAuthId(), response);
+                if (cache instanceof VersionedBroadcastingCache versioned) {
+                    versioned.putLoaded(profile.getAuthId(), response);
+                } else if (cache != null) {
+                    cache.put(profile.getAuthId(), response);
+                }
+            }
+        }
+        int hits = requested.size() - misses.size();
+        log.info("Batch lookup of {} authId(s): {} cache hit(s), {} loaded from DB.", requested.size(), hits, found.size() - hits);
+
+        List<UserResponse> profiles = new ArrayList<>(found.size());
+        List<String> notFound = new ArrayList<>();
+        for (String authId : requested) {
+            UserResponse response = found.get(authId);
+            if (response != null) {
+                profiles.add(response);
+            } else {
+                notFound.add(authId);
+            }
+        }
+        return BatchLookupResponse.builder().profiles(profiles).notFound(notFound).build();
+    }
+
+    // The summary is a subset of the cached full profile, so a cache hit avoids the projection query.
+    @Override
+    public UserSummaryResponse getUserSummaryByAuthId(String authId) {
+        Cache cache = cacheManager.getCache(USER_PROFILE_CACHE);
+        UserResponse cached = cache != null ? cache.get(authId, UserResponse.class) : null;
+        if (cached != null) {
+            return userMapper.toUserSummaryResponse(cached);
+        }
+        log.info("Fetching user profile summary for authId: {}", authId);
+        return userRepository.findSummaryByAuthId(authId)
+                .map(userMapper::toUserSummaryResponse)
+                .orElseThrow(() -> new UserNotFoundException("User not found for authId: " + authId));
+    }
+
     @Override
     @Transactional
     @CachePut(value = USER_PROFILE_CACHE, key = "#authId")
-    public UserResponse updateUserProfile(String authId, UserUpdateRequest updateRequest) {
+    public UserResponse updateUserProfile(String authId, UserUpdateRequest updateRequest, String ifMatch) {
         log.info("CACHE UPDATE on user profile update for authId: {}", authId);
         UserProfile userProfile = findUserByAuthIdInternal(authId);
+        LocalDateTime readVersion = checkIfMatch(userProfile, ifMatch);
         userMapper.updateUserFromDto(updateRequest, userProfile);
-        userProfile.setUpdatedAt(LocalDateTime.now());
-        UserProfile savedProfile = userRepository.save(userProfile);
-        return userMapper.toUserResponse(savedProfile);
+        return userMapper.toUserResponse(save(userProfile, readVersion, ifMatch));
     }
 
+    /**
+     * Deletes the profile and queues the deletion of the user's credentials in auth-service, which the
+     * {@link CredentialDeletionWorker} carries out in the background. The task and the deletion are written in
+     * one transaction, so a profile is never gone while its credentials are left behind without a pending cleanup,
+     * and no cleanup is queued for a profile that is still there.
+     */
     @Override
     @Transactional
     @CacheEvict(value = USER_PROFILE_CACHE, key = "#authId")
@@ -73,9 +245,11 @@ public class UserServiceImpl implements UserService {
         log.warn("CACHE EVICT on user profile deletion for authId: {}", authId);
         UserProfile userProfile = findUserByAuthIdInternal(authId);
 
-        authServiceDelegate.deleteUserCredentials(authId);
-        userRepository.delete(userProfile);
-        log.info("Successfully deleted user profile from user-db for authId: {}", authId);
+        transactionTemplate.executeWithoutResult(status -> {
+            credentialDeletionTaskRepository.save(CredentialDeletionTask.forAuthId(authId));
+            userRepository.delete(userProfile);
+        });
+        log.info("Successfully deleted user profile from user-db for authId: {}; credential deletion queued.", authId);
     }
 
     @Override
@@ -86,23 +260,48 @@ public class UserServiceImpl implements UserService {
         UserProfile userProfile = findUserByAuthIdInternal(authId);
         userProfile.setActive(false);
         userProfile.setDeactivatedAt(LocalDateTime.now());
+        userProfile.setUpdatedAt(userProfile.getDeactivatedAt());
         userRepository.save(userProfile);
     }
 
     @Override
     @Transactional
     @CachePut(value = USER_PROFILE_CACHE, key = "#authId")
-    public UserResponse updateCommunicationPreferences(String authId, CommunicationPreferences preferences) {
+    public UserResponse updateCommunicationPreferences(String authId, CommunicationPreferences preferences, String ifMatch) {
         log.info("CACHE UPDATE on preference update for authId: {}", authId);
         UserProfile userProfile = findUserByAuthIdInternal(authId);
+        LocalDateTime readVersion = checkIfMatch(userProfile, ifMatch);
         userProfile.setCommunicationPreferences(preferences);
-        userProfile.setUpdatedAt(LocalDateTime.now());
-        UserProfile savedProfile = userRepository.save(userProfile);
-        return userMapper.toUserResponse(savedProfile);
+        return userMapper.toUserResponse(save(userProfile, readVersion, ifMatch));
     }
 
     private UserProfile findUserByAuthIdInternal(String authId) {
         return userRepository.findByAuthId(authId)
                 .orElseThrow(() -> new UserNotFoundException("User not found for authId: " + authId));
     }
+
+    /**
+     * Compares an If-Match header with the stored profile using strong comparison and returns the version
+     * that was read, so the write can be made conditional on it.
+     */
+    private LocalDateTime checkIfMatch(UserProfile userProfile, String ifMatch) {
+        if (ifMatch != null) {
+            ETag current = ETag.create(userMapper.etag(userProfile));
+            boolean matches = ETag.parse(ifMatch).stream().anyMatch(tag -> tag.isWildcard() || tag.compare(current, true));
+            if (!matches) {
+                throw new PreconditionFailedException("The user profile has been modified since it was last read.");
+            }
+        }
+        return userProfile.getUpdatedAt();
+    }
+
+    // With If-Match the write only succeeds if nobody else wrote the profile after it was read.
+    private UserProfile save(UserProfile userProfile, LocalDateTime readVersion, String ifMatch) {
+        userProfile.setUpdatedAt(LocalDateTime.now());
+        if (ifMatch == null) {
+            return userRepository.save(userProfile);
+        }
+        return userRepository.replaceIfUnmodified(userProfile, readVersion)
+                .orElseThrow(() -> new PreconditionFailedException("The user profile has been modified since it was last read."));
+    }
 }
\ No newline at end of file
@@ -3,7 +3,10 @@ package com.grambasket.userservice;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+        "user-service.mongo.ensure-indexes=false",
+        "user-service.credential-deletion.worker-enabled=false"
+})
 class UserServiceApplicationTests {
 
     @Test
@@ -0,0 +1,126 @@
+package com.grambasket.userservice.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grambasket.identity.TrustedIdentityProperties;
+import com.grambasket.userservice.config.CacheInvalidationProperties;
+import com.grambasket.userservice.dto.CacheInvalidationBatch;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PeerCacheInvalidatorTest {
+
+    private static final String SIGNING_KEY = "identity-signing-key-identity-signing-key";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final CacheInvalidationProperties properties = new CacheInvalidationProperties();
+    private final DiscoveryClient discoveryClient = mock(DiscoveryClient.class);
+    private PeerCacheInvalidator invalidator;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        TrustedIdentityProperties identityProperties = new TrustedIdentityProperties();
+        identityProperties.setSigningKey(SIGNING_KEY);
+        ObjectProvider<CacheManager> cacheManager = mock(ObjectProvider.class);
+        when(cacheManager.getObject()).thenReturn(mock(CacheManager.class));
+        invalidator = new PeerCacheInvalidator(properties, identityProperties, discoveryClient,
+                mock(ObjectProvider.class), cacheManager, objectMapper, "user-service");
+    }
+
+    @AfterEach
+    void tearDown() {
+        invalidator.destroy();
+    }
+
+    @Test
+    void acceptsFreshSignedBatches() throws Exception {
+        byte[] body = batch(Instant.now());
+
+        assertTrue(invalidator.receive(body, sign(body)));
+        assertFalse(invalidator.receive(body, sign(batch(Instant.now().plusSeconds(1)))));
+    }
+
+    @Test
+    void rejectsReplayedAndUntimestampedBatches() throws Exception {
+        byte[] replayed = batch(Instant.now().minusSeconds(60));
+        byte[] untimestamped = batch(null);
+
+        assertFalse(invalidator.receive(replayed, sign(replayed)));
+        assertFalse(invalidator.receive(untimestamped, sign(untimestamped)));
+    }
+
+    @Test
+    void overflowingQueueCollapsesIntoClearingTheCache() throws Exception {
+        properties.setMaxPending(2);
+        BlockingQueue<byte[]> received = new LinkedBlockingQueue<>();
+        HttpServer peer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        peer.createContext(PeerCacheInvalidator.INVALIDATION_PATH, exchange -> {
+            received.add(exchange.getRequestBody().readAllBytes());
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        peer.start();
+        try {
+            when(discoveryClient.getInstances("user-service")).thenReturn(List.of(
+                    new DefaultServiceInstance("peer-1", "user-service", "localhost", peer.getAddress().getPort(), false)));
+
+            for (int i = 0; i < 3; i++) {
+                invalidator.publish("userProfiles", "auth-" + i, LocalDateTime.now());
+            }
+            invalidator.flush();
+            List<CacheInvalidationBatch.Invalidation> overflowed = invalidations(received.poll(5, TimeUnit.SECONDS));
+
+            invalidator.publish("userProfiles", "auth-3", null);
+            invalidator.flush();
+            List<CacheInvalidationBatch.Invalidation> next = invalidations(received.poll(5, TimeUnit.SECONDS));
+
+            assertEquals(1, overflowed.size());
+            assertEquals("userProfiles", overflowed.get(0).getCacheName());
+            assertNull(overflowed.get(0).getKey());
+            assertEquals(List.of("auth-3"), next.stream().map(CacheInvalidationBatch.Invalidation::getKey).toList());
+        } finally {
+            peer.stop(0);
+        }
+    }
+
+    private List<CacheInvalidationBatch.Invalidation> invalidations(byte[] body) throws Exception {
+        return objectMapper.readValue(body, CacheInvalidationBatch.class).getInvalidations();
+    }
+
+    private byte[] batch(Instant sentAt) throws Exception {
+        CacheInvalidationBatch.Invalidation invalidation = new CacheInvalidationBatch.Invalidation("userProfiles", "auth-1", LocalDateTime.now());
+        return objectMapper.writeValueAsBytes(new CacheInvalidationBatch("peer-1", sentAt, List.of(invalidation)));
+    }
+
+    private static String sign(byte[] body) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SIGNING_KEY.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(body));
+    }
+}
@@ -0,0 +1,82 @@
+package com.grambasket.userservice.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class VersionedBroadcastingCacheTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private VersionedBroadcastingCache instanceA;
+    private VersionedBroadcastingCache instanceB;
+
+    @BeforeEach
+    void setUp() {
+        // Two "instances" whose publishers deliver straight to each other, standing in for the HTTP fan-out.
+        VersionedBroadcastingCache[] peers = new VersionedBroadcastingCache[2];
+        instanceA = newCache((name, key, version) -> peers[1].applyRemoteInvalidation(key, version));
+        instanceB = newCache((name, key, version) -> peers[0].applyRemoteInvalidation(key, version));
+        peers[0] = instanceA;
+        peers[1] = instanceB;
+    }
+
+    @Test
+    void writeOnOneInstanceEvictsThePeerCopy() {
+        instanceB.get("auth-1", () -> new Profile("old", T0));
+
+        instanceA.put("auth-1", new Profile("new", T0.plusSeconds(10)));
+
+        assertNull(instanceB.get("auth-1"));
+        assertEquals("new", ((Profile) instanceA.get("auth-1").get()).name());
+    }
+
+    @Test
+    void reorderedOlderInvalidationDoesNotEvictNewerEntry() {
+        instanceB.get("auth-1", () -> new Profile("current", T0.plusMinutes(5)));
+
+        instanceB.applyRemoteInvalidation("auth-1", T0);
+
+        assertNotNull(instanceB.get("auth-1"));
+    }
+
+    @Test
+    void staleLoadThatRacedAnInvalidationIsNotCached() {
+        Profile loaded = instanceB.get("auth-1", () -> {
+            // The document was read before instance A's write, which is announced while the load is in flight.
+            instanceB.applyRemoteInvalidation("auth-1", T0.plusSeconds(10));
+            return new Profile("stale", T0);
+        });
+
+        assertEquals("stale", loaded.name());
+        assertNull(instanceB.get("auth-1"));
+    }
+
+    @Test
+    void batchLoadedValuesAreCachedUnlessAPeerWroteANewerVersion() {
+        instanceB.applyRemoteInvalidation("auth-2", T0.plusSeconds(10));
+
+        instanceB.putLoaded("auth-1", new Profile("fresh", T0));
+        instanceB.putLoaded("auth-2", new Profile("stale", T0));
+
+        assertEquals(Set.of("auth-1"), instanceB.getAllPresent(List.of("auth-1", "auth-2")).keySet());
+    }
+
+    private static VersionedBroadcastingCache newCache(CacheInvalidationPublisher publisher) {
+        return new VersionedBroadcastingCache(new ConcurrentMapCache("userProfiles"), publisher,
+                value -> value instanceof Profile profile ? profile.updatedAt() : null,
+                Duration.ofMinutes(1), Duration.ofSeconds(1));
+    }
+
+    private record Profile(String name, LocalDateTime updatedAt) {
+    }
+}
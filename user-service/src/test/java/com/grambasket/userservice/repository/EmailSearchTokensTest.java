@@ -0,0 +1,29 @@
+package com.grambasket.userservice.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmailSearchTokensTest {
+
+    @Test
+    void normalizesCaseAndSurroundingWhitespace() {
+        assertEquals("jane.doe@grambasket.com", EmailSearchTokens.normalize("  Jane.Doe@GramBasket.com "));
+    }
+
+    @Test
+    void trigramsAreDistinctAndInOrder() {
+        assertEquals(List.of("aaa", "aab", "abc"), EmailSearchTokens.trigrams("aaaabc"));
+    }
+
+    @Test
+    void everyTrigramOfASubstringIsATrigramOfTheEmail() {
+        List<String> emailTrigrams = EmailSearchTokens.trigrams(EmailSearchTokens.normalize("Jane.Doe@GramBasket.com"));
+
+        assertTrue(emailTrigrams.containsAll(EmailSearchTokens.trigrams(EmailSearchTokens.normalize("DOE@gram"))));
+        assertEquals(List.of(), EmailSearchTokens.trigrams("do"));
+    }
+}
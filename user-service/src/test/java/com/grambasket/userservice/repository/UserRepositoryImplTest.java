@@ -0,0 +1,98 @@
+package com.grambasket.userservice.repository;
+
+import com.grambasket.userservice.model.Address;
+import com.grambasket.userservice.model.UserProfile;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserRepositoryImplTest {
+
+    private MongoTemplate mongoTemplate;
+    private UserRepositoryImpl repository;
+    private MappingMongoConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        repository = new UserRepositoryImpl(mongoTemplate);
+    }
+
+    @Test
+    void embeddedAddressIdIsStoredAsUnderscoreId() {
+        // The raw array filters and pipeline expressions rely on this mapping.
+        Document stored = (Document) converter.convertToMongoType(Address.builder().id("a-1").isDefault(true).build());
+
+        assertEquals("a-1", stored.get("_id"));
+        assertEquals(true, stored.get("isDefault"));
+    }
+
+    @Test
+    void setDefaultAddressIsOneUpdateWithArrayFilters() {
+        repository.setDefaultAddress("auth-1", "a-1");
+
+        UpdateDefinition update = captureUpdate();
+        Document set = update.getUpdateObject().get("$set", Document.class);
+        assertEquals(true, set.get("addresses.$[target].isDefault"));
+        assertEquals(false, set.get("addresses.$[other].isDefault"));
+        assertEquals(List.of(new Document("target._id", "a-1"), new Document("other._id", new Document("$ne", "a-1"))),
+                update.getArrayFilters().stream().map(UpdateDefinition.ArrayFilter::asDocument).toList());
+    }
+
+    @Test
+    void updateAddressOnlySetsSuppliedFields() {
+        repository.updateAddress("auth-1", "a-1", Address.builder().city("Mumbai").build());
+
+        Document set = captureUpdate().getUpdateObject().get("$set", Document.class);
+        assertEquals("Mumbai", set.get("addresses.$[target].city"));
+        assertFalse(set.containsKey("addresses.$[target].street"));
+        assertFalse(set.containsKey("addresses.$[other].isDefault"));
+        assertTrue(set.containsKey("updatedAt"));
+    }
+
+    @Test
+    void summaryReadProjectsOnlyTheDefaultAddress() {
+        repository.findSummaryByAuthId("auth-1");
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findOne(query.capture(), eq(UserProfile.class));
+        Document fields = query.getValue().getFieldsObject();
+        assertEquals(1, fields.get("email"));
+        assertFalse(fields.containsKey("phoneNumbers"));
+        assertEquals(new Document("$elemMatch", new Document("isDefault", true)), fields.get("addresses"));
+    }
+
+    private UpdateDefinition captureUpdate() {
+        ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class), eq(UserProfile.class));
+        return update.getValue();
+    }
+}
@@ -0,0 +1,78 @@
+package com.grambasket.userservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grambasket.userservice.config.AdminSearchProperties;
+import com.grambasket.userservice.dto.CursorPage;
+import com.grambasket.userservice.dto.UserResponse;
+import com.grambasket.userservice.exception.InvalidCursorException;
+import com.grambasket.userservice.mapper.UserMapperImpl;
+import com.grambasket.userservice.model.UserProfile;
+import com.grambasket.userservice.repository.UserRepository;
+import com.grambasket.userservice.service.UserService;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AdminServiceImplTest {
+
+    private final List<UserProfile> profiles = IntStream.range(0, 3)
+            .mapToObj(i -> UserProfile.builder().id(new ObjectId().toHexString()).authId("auth-" + i)
+                    .email("user" + i + "@grambasket.com").build())
+            .toList();
+
+    private UserRepository userRepository;
+    private AdminServiceImpl adminService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        adminService = new AdminServiceImpl(userRepository, new UserMapperImpl(), mock(UserService.class),
+                new AdminSearchProperties(), new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    void cursorOfOnePageLeadsToTheNext() {
+        when(userRepository.findProfilesAfter(isNull(), isNull(), eq(3))).thenReturn(profiles);
+        when(userRepository.findProfilesAfter(eq(profiles.get(1).getId()), isNull(), eq(3))).thenReturn(profiles.subList(2, 3));
+
+        CursorPage<UserResponse> first = adminService.findUsersAfter(null, 2, null);
+        CursorPage<UserResponse> second = adminService.findUsersAfter(first.getNextCursor(), 2, null);
+
+        assertEquals(2, first.getSize());
+        assertEquals("auth-2", second.getContent().get(0).getAuthId());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThrows(InvalidCursorException.class, () -> adminService.findUsersAfter("not-a-cursor", 2, null));
+    }
+
+    @Test
+    void exportWritesOneJsonDocumentPerLine() throws Exception {
+        when(userRepository.streamProfiles(any(), anyInt())).thenReturn(Stream.of(profiles.toArray(UserProfile[]::new)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        adminService.exportUsers(null, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("user1@grambasket.com", new ObjectMapper().readTree(lines[1]).get("email").asText());
+    }
+}
@@ -0,0 +1,154 @@
+package com.grambasket.userservice.service.impl;
+
+import com.grambasket.userservice.client.AuthServiceClient;
+import com.grambasket.userservice.config.CredentialDeletionProperties;
+import com.grambasket.userservice.delegate.AuthServiceDelegate;
+import com.grambasket.userservice.model.CredentialDeletionStatus;
+import com.grambasket.userservice.model.CredentialDeletionTask;
+import com.mongodb.client.result.UpdateResult;
+import feign.FeignException;
+import feign.Request;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CredentialDeletionWorkerTest {
+
+    private final CredentialDeletionProperties properties = new CredentialDeletionProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MongoTemplate mongoTemplate;
+    private AuthServiceClient authServiceClient;
+    private CredentialDeletionWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        authServiceClient = mock(AuthServiceClient.class);
+        worker = new CredentialDeletionWorker(mongoTemplate, new AuthServiceDelegate(authServiceClient), properties, meterRegistry);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(CredentialDeletionTask.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+    }
+
+    @Test
+    void failedAttemptIsRetriedWithExponentialBackoff() {
+        claims(task("auth-1", 3));
+        when(authServiceClient.deleteUserCredentials("auth-1")).thenThrow(new RuntimeException("connection refused"));
+
+        Instant before = Instant.now();
+        worker.processPendingTasks();
+
+        Document set = lastStatusUpdate().get("$set", Document.class);
+        assertEquals(CredentialDeletionStatus.PENDING, set.get("status"));
+        assertRetriedAfter(before, set, Duration.ofSeconds(8));
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(CredentialDeletionTask.class));
+    }
+
+    @Test
+    void lastAttemptMarksTaskFailedButKeepsRetryingAtMaxBackoff() {
+        claims(task("auth-1", properties.getMaxAttempts()));
+        when(authServiceClient.deleteUserCredentials("auth-1")).thenThrow(new RuntimeException("connection refused"));
+
+        Instant before = Instant.now();
+        worker.processPendingTasks();
+
+        Document set = lastStatusUpdate().get("$set", Document.class);
+        assertEquals(CredentialDeletionStatus.FAILED, set.get("status"));
+        assertRetriedAfter(before, set, properties.getMaxBackoff());
+        assertEquals(1.0, meterRegistry.get("user.credential.deletion.failed").counter().count());
+    }
+
+    @Test
+    void credentialsAlreadyGoneCountAsDeleted() {
+        claims(task("auth-1", 1));
+        Request request = Request.create(Request.HttpMethod.DELETE, "/api/auth-service/internal/users/auth-1",
+                Map.of(), null, StandardCharsets.UTF_8, null);
+        when(authServiceClient.deleteUserCredentials("auth-1"))
+                .thenThrow(new FeignException.NotFound("Not Found", request, null, Map.of()));
+
+        worker.processPendingTasks();
+
+        verify(mongoTemplate).remove(any(Query.class), eq(CredentialDeletionTask.class));
+        // Only the lease renewal; the task is never rescheduled.
+        verify(mongoTemplate, times(1)).updateFirst(any(Query.class), any(Update.class), eq(CredentialDeletionTask.class));
+    }
+
+    @Test
+    void rejectedCallsReleaseTheBatchWithoutUsingAnAttempt() {
+        claims(task("auth-1", 2), task("auth-2", 1));
+        when(authServiceClient.deleteUserCredentials(anyString()))
+                .thenThrow(CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("authService")));
+
+        worker.processPendingTasks();
+
+        ArgumentCaptor<Update> released = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(any(Query.class), released.capture(), eq(CredentialDeletionTask.class));
+        Document update = released.getValue().getUpdateObject();
+        assertEquals(CredentialDeletionStatus.PENDING, update.get("$set", Document.class).get("status"));
+        assertEquals(-1, update.get("$inc", Document.class).get("attempts"));
+        verify(authServiceClient, times(1)).deleteUserCredentials(anyString());
+    }
+
+    @Test
+    void taskClaimedElsewhereAfterItsLeaseExpiredIsSkipped() {
+        claims(task("auth-1", 1));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(CredentialDeletionTask.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        worker.processPendingTasks();
+
+        verify(authServiceClient, never()).deleteUserCredentials(anyString());
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(CredentialDeletionTask.class));
+    }
+
+    private void claims(CredentialDeletionTask... tasks) {
+        CredentialDeletionTask[] rest = new CredentialDeletionTask[tasks.length];
+        System.arraycopy(tasks, 1, rest, 0, tasks.length - 1);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(CredentialDeletionTask.class)))
+                .thenReturn(tasks[0], rest);
+    }
+
+    private Document lastStatusUpdate() {
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).updateFirst(any(Query.class), updates.capture(), eq(CredentialDeletionTask.class));
+        List<Update> values = updates.getAllValues();
+        return values.get(values.size() - 1).getUpdateObject();
+    }
+
+    private static void assertRetriedAfter(Instant before, Document set, Duration backoff) {
+        Instant nextAttemptAt = (Instant) set.get("nextAttemptAt");
+        assertTrue(!nextAttemptAt.isBefore(before.plus(backoff)) && nextAttemptAt.isBefore(Instant.now().plus(backoff).plusMillis(1)),
+                "expected a retry " + backoff + " from now but got " + nextAttemptAt);
+    }
+
+    private static CredentialDeletionTask task(String authId, int attempts) {
+        CredentialDeletionTask task = CredentialDeletionTask.forAuthId(authId);
+        task.setStatus(CredentialDeletionStatus.IN_FLIGHT);
+        task.setAttempts(attempts);
+        return task;
+    }
+}
@@ -0,0 +1,173 @@
+package com.grambasket.userservice.service.impl;
+
+import com.grambasket.userservice.dto.BatchCreateUserResponse;
+import com.grambasket.userservice.dto.BatchCreateUserResponse.ConflictingKey;
+import com.grambasket.userservice.dto.BatchCreateUserResponse.ItemStatus;
+import com.grambasket.userservice.dto.InternalCreateUserRequest;
+import com.grambasket.userservice.dto.UserResponse;
+import com.grambasket.userservice.dto.UserSummaryResponse;
+import com.grambasket.userservice.dto.UserUpdateRequest;
+import com.grambasket.userservice.exception.PreconditionFailedException;
+import com.grambasket.userservice.mapper.UserMapperImpl;
+import com.grambasket.userservice.model.Address;
+import com.grambasket.userservice.model.CredentialDeletionTask;
+import com.grambasket.userservice.model.UserProfile;
+import com.grambasket.userservice.repository.CredentialDeletionTaskRepository;
+import com.grambasket.userservice.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceImplTest {
+
+    private static final LocalDateTime STORED_VERSION = LocalDateTime.of(2025, 1, 1, 12, 0, 0, 123_000_000);
+
+    private final UserMapperImpl userMapper = new UserMapperImpl();
+    private UserRepository userRepository;
+    private MongoTemplate mongoTemplate;
+    private CacheManager cacheManager;
+    private CredentialDeletionTaskRepository credentialDeletionTaskRepository;
+    private PlatformTransactionManager transactionManager;
+    private UserServiceImpl userService;
+    private UserProfile stored;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        mongoTemplate = mock(MongoTemplate.class);
+        cacheManager = mock(CacheManager.class);
+        credentialDeletionTaskRepository = mock(CredentialDeletionTaskRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        userService = new UserServiceImpl(userRepository, mongoTemplate, userMapper,
+                credentialDeletionTaskRepository, cacheManager, new TransactionTemplate(transactionManager));
+        stored = UserProfile.builder().id("p-1").authId("auth-1").email("user@grambasket.com").updatedAt(STORED_VERSION).build();
+        when(userRepository.findByAuthId("auth-1")).thenReturn(Optional.of(stored));
+    }
+
+    @Test
+    void profileDeletionAndItsCredentialDeletionTaskCommitTogether() {
+        TransactionStatus transaction = mock(TransactionStatus.class);
+        when(transactionManager.getTransaction(any())).thenReturn(transaction);
+
+        userService.deleteUserProfile("auth-1");
+
+        InOrder inOrder = inOrder(transactionManager, credentialDeletionTaskRepository, userRepository);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(credentialDeletionTaskRepository).save(any(CredentialDeletionTask.class));
+        inOrder.verify(userRepository).delete(stored);
+        inOrder.verify(transactionManager).commit(transaction);
+    }
+
+    @Test
+    void etagIgnoresSubMillisecondPrecision() {
+        UserProfile unsaved = UserProfile.builder().updatedAt(STORED_VERSION.plusNanos(456_789)).build();
+
+        assertEquals(userMapper.etag(stored), userMapper.etag(unsaved));
+        assertNotEquals(userMapper.etag(stored), userMapper.etag(UserProfile.builder().updatedAt(STORED_VERSION.plusNanos(1_000_000)).build()));
+    }
+
+    @Test
+    void matchingIfMatchWritesConditionallyOnTheReadVersion() {
+        String etag = userMapper.etag(stored);
+        when(userRepository.replaceIfUnmodified(any(), eq(STORED_VERSION))).thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
+
+        UserResponse response = userService.updateUserProfile("auth-1", new UserUpdateRequest(), etag);
+
+        assertNotEquals(etag, response.getEtag());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void staleIfMatchIsRejectedWithoutWriting() {
+        assertThrows(PreconditionFailedException.class,
+                () -> userService.updateUserProfile("auth-1", new UserUpdateRequest(), "\"stale\""));
+        verify(userRepository, never()).replaceIfUnmodified(any(), any());
+    }
+
+    @Test
+    void concurrentWriteAfterTheCheckIsRejected() {
+        when(userRepository.replaceIfUnmodified(any(), any())).thenReturn(Optional.empty());
+
+        assertThrows(PreconditionFailedException.class,
+                () -> userService.updateUserProfile("auth-1", new UserUpdateRequest(), userMapper.etag(stored)));
+    }
+
+    @Test
+    void summaryIsDerivedFromTheCachedProfile() {
+        Address home = Address.builder().street("1 Main St").isDefault(true).build();
+        stored.setAddresses(List.of(Address.builder().street("2 Side St").build(), home));
+        ConcurrentMapCache cache = new ConcurrentMapCache(UserServiceImpl.USER_PROFILE_CACHE);
+        cache.put("auth-1", userMapper.toUserResponse(stored));
+        when(cacheManager.getCache(UserServiceImpl.USER_PROFILE_CACHE)).thenReturn(cache);
+
+        UserSummaryResponse summary = userService.getUserSummaryByAuthId("auth-1");
+
+        assertEquals("user@grambasket.com", summary.getEmail());
+        assertEquals(home, summary.getDefaultAddress());
+        verify(userRepository, never()).findSummaryByAuthId(any());
+    }
+
+    @Test
+    void batchCreateReportsWhichUniqueKeyConflicted() {
+        BulkOperations bulkOperations = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserProfile.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        List<BulkWriteError> errors = List.of(
+                new BulkWriteError(11000, "E11000 duplicate key error index: authId", new BsonDocument(), 1),
+                new BulkWriteError(11000, "E11000 duplicate key error index: email", new BsonDocument(), 2));
+        when(bulkOperations.execute()).thenThrow(new BulkOperationException("duplicates", new MongoBulkWriteException(
+                BulkWriteResult.unacknowledged(), errors, null, new ServerAddress(), Set.of())));
+        when(userRepository.findByAuthIdIn(List.of("auth-1", "auth-3"))).thenReturn(List.of(stored));
+
+        BatchCreateUserResponse response = userService.createUserProfiles(List.of(
+                createRequest("auth-2", "new@grambasket.com"),
+                createRequest("auth-1", "user@grambasket.com"),
+                createRequest("auth-3", "user@grambasket.com")));
+
+        assertEquals(ItemStatus.CREATED, response.getResults().get(0).getStatus());
+        assertEquals(ItemStatus.ALREADY_EXISTS, response.getResults().get(1).getStatus());
+        assertEquals(ConflictingKey.AUTH_ID, response.getResults().get(1).getConflictingKey());
+        assertEquals("p-1", response.getResults().get(1).getId());
+        assertEquals(ItemStatus.CONFLICT, response.getResults().get(2).getStatus());
+        assertEquals(ConflictingKey.EMAIL, response.getResults().get(2).getConflictingKey());
+        assertEquals(1, response.getAlreadyExists());
+        assertEquals(1, response.getFailed());
+    }
+
+    private static InternalCreateUserRequest createRequest(String authId, String email) {
+        InternalCreateUserRequest request = new InternalCreateUserRequest();
+        request.setAuthId(authId);
+        request.setEmail(email);
+        return request;
+    }
+}